@@ -16,6 +16,7 @@ export const speechTrackerAPI = {
   register: (userData) => api.post('/api/auth/register', userData),
   logout: () => api.post('/api/auth/logout'),
   getCurrentUser: () => api.get('/api/auth/me'),
+  deleteAccount: () => api.delete('/api/auth/me'),
 
   // Children endpoints
   getChildren: () => api.get('/api/children'),
@@ -23,35 +24,48 @@ export const speechTrackerAPI = {
   addChild: (childData) => api.post('/api/children', childData),
   updateChild: (childId, childData) => api.put(`/api/children/${childId}`, childData),
   deleteChild: (childId) => api.delete(`/api/children/${childId}`),
+  deleteChildAsync: (childId) => api.delete(`/api/children/${childId}`, { params: { async: true } }),
+  getDeletionProgress: (jobId) => api.get(`/api/children/deletions/${jobId}`),
 
   // Word endpoints
   getWords: (childId) => api.get(`/api/data/children/${childId}/words`),
   addWord: (childId, wordData) => api.post(`/api/data/children/${childId}/words`, wordData),
   updateWord: (childId, wordId, wordData) => api.put(`/api/data/children/${childId}/words/${wordId}`, wordData),
+  patchWord: (childId, wordId, changes) => api.patch(`/api/data/children/${childId}/words/${wordId}`, changes),
   deleteWord: (childId, wordId) => api.delete(`/api/data/children/${childId}/words/${wordId}`),
 
   // Phrase endpoints
   getPhrases: (childId) => api.get(`/api/data/children/${childId}/phrases`),
   addPhrase: (childId, phraseData) => api.post(`/api/data/children/${childId}/phrases`, phraseData),
   updatePhrase: (childId, phraseId, phraseData) => api.put(`/api/data/children/${childId}/phrases/${phraseId}`, phraseData),
+  patchPhrase: (childId, phraseId, changes) => api.patch(`/api/data/children/${childId}/phrases/${phraseId}`, changes),
   deletePhrase: (childId, phraseId) => api.delete(`/api/data/children/${childId}/phrases/${phraseId}`),
 
   // Song endpoints
   getSongs: (childId) => api.get(`/api/data/children/${childId}/songs`),
   addSong: (childId, songData) => api.post(`/api/data/children/${childId}/songs`, songData),
   updateSong: (childId, songId, songData) => api.put(`/api/data/children/${childId}/songs/${songId}`, songData),
+  patchSong: (childId, songId, changes) => api.patch(`/api/data/children/${childId}/songs/${songId}`, changes),
   deleteSong: (childId, songId) => api.delete(`/api/data/children/${childId}/songs/${songId}`),
 
   // Letter endpoints
   getLetters: (childId) => api.get(`/api/data/children/${childId}/letters`),
   addLetter: (childId, letterData) => api.post(`/api/data/children/${childId}/letters`, letterData),
   updateLetter: (childId, letterId, letterData) => api.put(`/api/data/children/${childId}/letters/${letterId}`, letterData),
+  patchLetter: (childId, letterId, changes) => api.patch(`/api/data/children/${childId}/letters/${letterId}`, changes),
   deleteLetter: (childId, letterId) => api.delete(`/api/data/children/${childId}/letters/${letterId}`),
 
+  // Batch endpoint: operations = [{ op: 'create' | 'update' | 'delete', type: 'word', id, data }]
+  applyBatch: (childId, operations) => api.post(`/api/data/children/${childId}/batch`, operations),
+
   // Existing Google Sheets endpoints
   fetchFromGoogleSheets: () => api.post('/api/fetch'),
   syncToDatabase: () => api.post('/api/sync'),
   testConnection: () => api.get('/api/test-connection'),
+
+  // Sync run history
+  getSyncRuns: (childId, limit = 50) => api.get(`/api/children/${childId}/sync-runs`, { params: { limit } }),
+  getSyncTrends: (childId, days = 30) => api.get(`/api/children/${childId}/sync-runs/trends`, { params: { days } }),
 };
 
 api.interceptors.response.use(
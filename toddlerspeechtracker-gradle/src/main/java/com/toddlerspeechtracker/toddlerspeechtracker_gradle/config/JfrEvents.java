@@ -0,0 +1,97 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.config;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Application events for Java Flight Recorder, shown under "Toddler Speech Tracker"
+ * in JDK Mission Control. Each is a duration event: call begin() before the work and
+ * commit() after it. They are cheap when no recording is running, since commit()
+ * returns immediately unless the event is enabled.
+ */
+public final class JfrEvents {
+
+    private static final String CATEGORY = "Toddler Speech Tracker";
+
+    private JfrEvents() {
+    }
+
+    @Name("toddlerspeechtracker.SyncStage")
+    @Label("Sync Stage")
+    @Description("One stage of a fetch, sync or file import: auth, a tab read, parse or upsert")
+    @Category({CATEGORY, "Sync"})
+    @StackTrace(false)
+    public static class SyncStage extends Event {
+        @Label("Child ID")
+        public long childId;
+
+        @Label("Run Kind")
+        public String kind;
+
+        @Label("Stage")
+        public String stage;
+
+        @Label("Rows")
+        public int rows;
+    }
+
+    @Name("toddlerspeechtracker.UpsertBatch")
+    @Label("Upsert Batch")
+    @Description("Upsert of one chunk of sheet rows into an entry table")
+    @Category({CATEGORY, "Sync"})
+    @StackTrace(false)
+    public static class UpsertBatch extends Event {
+        @Label("Child ID")
+        public long childId;
+
+        @Label("Tab")
+        public String tab;
+
+        @Label("Rows")
+        public int rows;
+
+        @Label("Inserted")
+        public int inserted;
+
+        @Label("Updated")
+        public int updated;
+
+        @Label("Skipped")
+        public int skipped;
+
+        @Label("Failed")
+        public int failed;
+    }
+
+    @Name("toddlerspeechtracker.OwnershipCheck")
+    @Label("Ownership Check")
+    @Description("Verification that a child belongs to the requesting user")
+    @Category({CATEGORY, "Data Access"})
+    public static class OwnershipCheck extends Event {
+        @Label("Child ID")
+        public long childId;
+
+        @Label("User ID")
+        public long userId;
+
+        @Label("Granted")
+        public boolean granted;
+    }
+
+    @Name("toddlerspeechtracker.PasswordHash")
+    @Label("Password Hash")
+    @Description("BCrypt hashing of a password at registration or login")
+    @Category({CATEGORY, "Auth"})
+    @StackTrace(false)
+    public static class PasswordHash extends Event {
+        @Label("Operation")
+        public String operation;
+
+        @Label("Matched")
+        public boolean matched;
+    }
+}
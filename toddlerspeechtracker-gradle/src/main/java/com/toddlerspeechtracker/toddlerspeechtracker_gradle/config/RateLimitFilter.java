@@ -0,0 +1,163 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Per-caller admission control for /api/**. Each caller (session user, else session,
+ * else remote address) gets separate token buckets for reads, writes and expensive
+ * operations such as a Sheets sync, plus a cap on in-flight requests. Expensive
+ * operations also share a global concurrency cap so they cannot exhaust the
+ * connection pool. Rejected requests get 429 with Retry-After.
+ */
+@Log4j2
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    /** Matched against the whole request URI */
+    private static final List<Pattern> EXPENSIVE_PATHS = List.of(
+            Pattern.compile("/api/(fetch|sync|test-connection)"),
+            Pattern.compile("/api/data/children/[^/]+/batch"),
+            Pattern.compile("/api/admin/jfr/.+"),
+            Pattern.compile("/api/admin/partitioning/start"));
+    private static final int SWEEP_INTERVAL = 10_000;
+
+    enum Budget { READ, WRITE, EXPENSIVE }
+
+    @Value("${ratelimit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ratelimit.read.capacity:120}")
+    private double readCapacity;
+
+    @Value("${ratelimit.read.refillPerSecond:20}")
+    private double readRefill;
+
+    @Value("${ratelimit.write.capacity:60}")
+    private double writeCapacity;
+
+    @Value("${ratelimit.write.refillPerSecond:10}")
+    private double writeRefill;
+
+    @Value("${ratelimit.expensive.capacity:3}")
+    private double expensiveCapacity;
+
+    @Value("${ratelimit.expensive.refillPerSecond:0.05}")
+    private double expensiveRefill;
+
+    @Value("${ratelimit.maxConcurrentPerCaller:4}")
+    private int maxConcurrentPerCaller;
+
+    @Value("${ratelimit.expensive.maxConcurrent:2}")
+    private int maxConcurrentExpensive;
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+    private final AtomicInteger expensiveInFlight = new AtomicInteger();
+    private final AtomicLong requestCount = new AtomicLong();
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/")
+                || "OPTIONS".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (requestCount.incrementAndGet() % SWEEP_INTERVAL == 0) {
+            buckets.values().removeIf(TokenBucket::isFull);
+        }
+
+        String caller = callerKey(request);
+        Budget budget = budgetFor(request);
+
+        long waitNanos = buckets.computeIfAbsent(caller + ":" + budget, k -> newBucket(budget)).tryConsume();
+        if (waitNanos > 0) {
+            reject(response, caller, budget, Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1));
+            return;
+        }
+
+        AtomicInteger callerInFlight = inFlight.computeIfAbsent(caller, k -> new AtomicInteger());
+        if (callerInFlight.incrementAndGet() > maxConcurrentPerCaller) {
+            callerInFlight.decrementAndGet();
+            reject(response, caller, budget, 1);
+            return;
+        }
+
+        boolean expensive = budget == Budget.EXPENSIVE;
+        if (expensive && expensiveInFlight.incrementAndGet() > maxConcurrentExpensive) {
+            expensiveInFlight.decrementAndGet();
+            callerInFlight.decrementAndGet();
+            reject(response, caller, budget, 5);
+            return;
+        }
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (expensive) {
+                expensiveInFlight.decrementAndGet();
+            }
+            if (callerInFlight.decrementAndGet() == 0) {
+                inFlight.remove(caller, callerInFlight);
+            }
+        }
+    }
+
+    private String callerKey(HttpServletRequest request) {
+        HttpSession session = request.getSession(false);
+        if (session != null) {
+            Object userId = session.getAttribute("userId");
+            return userId != null ? "user:" + userId : "session:" + session.getId();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private Budget budgetFor(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        for (Pattern path : EXPENSIVE_PATHS) {
+            if (path.matcher(uri).matches()) {
+                return Budget.EXPENSIVE;
+            }
+        }
+        String method = request.getMethod();
+        return "GET".equals(method) || "HEAD".equals(method) ? Budget.READ : Budget.WRITE;
+    }
+
+    private TokenBucket newBucket(Budget budget) {
+        return switch (budget) {
+            case READ -> new TokenBucket(readCapacity, readRefill);
+            case WRITE -> new TokenBucket(writeCapacity, writeRefill);
+            case EXPENSIVE -> new TokenBucket(expensiveCapacity, expensiveRefill);
+        };
+    }
+
+    private void reject(HttpServletResponse response, String caller, Budget budget, long retryAfterSeconds)
+            throws IOException {
+        log.debug("Rate limited {} on {} budget", caller, budget);
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"Too many requests\"}");
+    }
+}
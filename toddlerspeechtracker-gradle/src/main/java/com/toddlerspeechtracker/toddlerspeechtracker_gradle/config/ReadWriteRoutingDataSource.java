@@ -0,0 +1,105 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.config;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to a healthy replica (round-robin) and everything
+ * else to the primary. Must be wrapped in a LazyConnectionDataSourceProxy so the
+ * connection is fetched after the transaction's read-only flag has been set.
+ */
+@Log4j2
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private static final ThreadLocal<Boolean> FORCE_PRIMARY = new ThreadLocal<>();
+
+    private final Map<String, DataSource> replicas;
+    private final List<String> replicaKeys;
+    private final Map<String, Boolean> healthy = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final double maxLagSeconds;
+
+    public ReadWriteRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, double maxLagSeconds) {
+        this.replicas = replicas;
+        this.replicaKeys = new ArrayList<>(replicas.keySet());
+        this.maxLagSeconds = maxLagSeconds;
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+
+        replicaKeys.forEach(key -> healthy.put(key, true));
+    }
+
+    /**
+     * Pins the current thread to the primary, e.g. for reads that follow a write in the same session.
+     */
+    public static void forcePrimary(boolean force) {
+        if (force) {
+            FORCE_PRIMARY.set(Boolean.TRUE);
+        } else {
+            FORCE_PRIMARY.remove();
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || Boolean.TRUE.equals(FORCE_PRIMARY.get())) {
+            return PRIMARY;
+        }
+
+        for (int attempt = 0; attempt < replicaKeys.size(); attempt++) {
+            String key = replicaKeys.get(Math.floorMod(next.getAndIncrement(), replicaKeys.size()));
+            if (healthy.get(key)) {
+                return key;
+            }
+        }
+        return PRIMARY;
+    }
+
+    /**
+     * Marks replicas that fail to answer or lag by more than the configured limit as
+     * unhealthy, so reads fall back to the primary until they catch up.
+     */
+    public void checkReplicas() {
+        for (String key : replicaKeys) {
+            boolean ok;
+            try {
+                Double lag = new JdbcTemplate(replicas.get(key)).queryForObject(
+                        "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+                                + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END",
+                        Double.class);
+                ok = lag != null && lag <= maxLagSeconds;
+                if (!ok) {
+                    log.warn("Replica {} lagging by {}s, routing reads to primary", key, lag);
+                }
+            } catch (Exception e) {
+                log.warn("Replica {} health check failed: {}", key, e.getMessage());
+                ok = false;
+            }
+
+            Boolean previous = healthy.put(key, ok);
+            if (ok && Boolean.FALSE.equals(previous)) {
+                log.info("Replica {} healthy again", key);
+            }
+        }
+    }
+
+    public Map<String, Boolean> getReplicaHealth() {
+        return Map.copyOf(healthy);
+    }
+}
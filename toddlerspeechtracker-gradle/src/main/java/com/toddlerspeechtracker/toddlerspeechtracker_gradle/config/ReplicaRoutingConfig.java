@@ -0,0 +1,129 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Routes @Transactional(readOnly = true) work to PostgreSQL read replicas.
+ * Only active when datasource.replica.urls is set; otherwise Spring Boot's
+ * single primary datasource is used unchanged.
+ * <p>
+ * A session that has just written is pinned to the primary for
+ * datasource.replica.stickySeconds so it always reads its own writes.
+ */
+@Log4j2
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "datasource.replica.urls")
+public class ReplicaRoutingConfig implements WebMvcConfigurer {
+
+    private static final String LAST_WRITE_ATTRIBUTE = "lastWriteMillis";
+
+    @Value("${datasource.replica.urls}")
+    private List<String> replicaUrls;
+
+    @Value("${datasource.replica.maxLagSeconds:5}")
+    private double maxLagSeconds;
+
+    @Value("${datasource.replica.stickySeconds:5}")
+    private long stickySeconds;
+
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    /**
+     * The primary pool, bound to spring.datasource.hikari.* as Spring Boot binds its own.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(HikariDataSource primaryDataSource) {
+        // Replicas get the primary's pool settings and credentials, with their own URL
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            // Configured rather than constructed from a HikariConfig, so the pool starts lazily
+            HikariDataSource replica = new HikariDataSource();
+            primaryDataSource.copyStateTo(replica);
+            replica.setJdbcUrl(replicaUrls.get(i).trim());
+            replica.setPoolName("replica-" + i);
+            replicas.put("replica-" + i, replica);
+        }
+
+        log.info("Routing read-only transactions across {} replica(s)", replicas.size());
+        routingDataSource = new ReadWriteRoutingDataSource(primaryDataSource, replicas, maxLagSeconds);
+        return routingDataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.healthCheckMillis:10000}")
+    public void checkReplicas() {
+        if (routingDataSource != null) {
+            routingDataSource.checkReplicas();
+        }
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ReadYourWritesInterceptor()).addPathPatterns("/api/**");
+    }
+
+    private class ReadYourWritesInterceptor implements HandlerInterceptor {
+
+        @Override
+        public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+            HttpSession session = request.getSession(false);
+            if (session == null) {
+                return true;
+            }
+
+            long now = System.currentTimeMillis();
+            if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+                session.setAttribute(LAST_WRITE_ATTRIBUTE, now);
+                return true;
+            }
+
+            Long lastWrite = (Long) session.getAttribute(LAST_WRITE_ATTRIBUTE);
+            if (lastWrite != null && now - lastWrite < stickySeconds * 1000) {
+                ReadWriteRoutingDataSource.forcePrimary(true);
+            }
+            return true;
+        }
+
+        @Override
+        public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                    Object handler, Exception ex) {
+            ReadWriteRoutingDataSource.forcePrimary(false);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.config;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free token bucket. State is an immutable snapshot swapped with CAS, so
+ * concurrent requests for the same key never block each other.
+ */
+public class TokenBucket {
+
+    private final double capacity;
+    private final double refillPerNano;
+    private final AtomicReference<State> state;
+
+    public TokenBucket(double capacity, double refillPerSecond) {
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / 1_000_000_000d;
+        this.state = new AtomicReference<>(new State(capacity, System.nanoTime()));
+    }
+
+    /**
+     * @return 0 if a token was taken, otherwise the nanoseconds until one is available
+     */
+    public long tryConsume() {
+        while (true) {
+            long now = System.nanoTime();
+            State current = state.get();
+            double tokens = Math.min(capacity, current.tokens + (now - current.updatedAt) * refillPerNano);
+
+            if (tokens < 1) {
+                return (long) Math.ceil((1 - tokens) / refillPerNano);
+            }
+            if (state.compareAndSet(current, new State(tokens - 1, now))) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * A bucket that has refilled completely carries no state worth keeping.
+     */
+    public boolean isFull() {
+        State current = state.get();
+        return current.tokens + (System.nanoTime() - current.updatedAt) * refillPerNano >= capacity;
+    }
+
+    private record State(double tokens, long updatedAt) {
+    }
+}
@@ -0,0 +1,122 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.log4j.Log4j2;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Keeps the most recent finished traces in memory for the debug endpoint and writes
+ * sampled ones to the {@code tracing.spans} logger, which log4j2-spring.xml sends to a
+ * rolling file. Each line is one trace as a Zipkin v2 JSON span array, so the file can
+ * be loaded into Zipkin or Jaeger as-is.
+ * <p>
+ * Sampling is decided when the trace ends: a trace is written if it was slower than
+ * tracing.slowThresholdMillis, or else with probability tracing.sampleRate.
+ */
+@Log4j2
+@Component
+public class TraceStore {
+
+    private static final Logger spanLog = LogManager.getLogger("tracing.spans");
+    private static final String SERVICE_NAME = "toddler-speech-tracker";
+
+    private final ObjectMapper objectMapper;
+    private final Deque<Tracer.Trace> recent = new ArrayDeque<>();
+
+    @Value("${tracing.sampleRate:0.01}")
+    private double sampleRate;
+
+    @Value("${tracing.slowThresholdMillis:500}")
+    private long slowThresholdMillis;
+
+    @Value("${tracing.recentTraces:200}")
+    private int recentCapacity;
+
+    public TraceStore(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public void record(Tracer.Trace trace) {
+        synchronized (recent) {
+            recent.addLast(trace);
+            while (recent.size() > recentCapacity) {
+                recent.removeFirst();
+            }
+        }
+
+        boolean slow = trace.getDurationMicros() >= slowThresholdMillis * 1000;
+        if ((slow || ThreadLocalRandom.current().nextDouble() < sampleRate) && spanLog.isInfoEnabled()) {
+            try {
+                spanLog.info(objectMapper.writeValueAsString(toZipkin(trace)));
+            } catch (JsonProcessingException e) {
+                log.warn("Could not serialize trace {}: {}", trace.traceId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * The slowest of the recently finished traces, slowest first.
+     */
+    public List<Map<String, Object>> getSlowest(int limit) {
+        List<Tracer.Trace> traces;
+        synchronized (recent) {
+            traces = new ArrayList<>(recent);
+        }
+        traces.sort(Comparator.comparingLong(Tracer.Trace::getDurationMicros).reversed());
+
+        List<Map<String, Object>> out = new ArrayList<>();
+        for (Tracer.Trace trace : traces.subList(0, Math.min(limit, traces.size()))) {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("traceId", trace.traceId);
+            summary.put("name", trace.root.name);
+            summary.put("startedAt", Instant.ofEpochMilli(trace.startEpochMicros / 1000).toString());
+            summary.put("durationMillis", trace.getDurationMicros() / 1000.0);
+            summary.put("droppedSpans", trace.droppedSpans.get());
+            summary.put("spans", toZipkin(trace));
+            out.add(summary);
+        }
+        return out;
+    }
+
+    private List<Map<String, Object>> toZipkin(Tracer.Trace trace) {
+        List<Map<String, Object>> spans = new ArrayList<>();
+        for (Tracer.Span span : trace.snapshotSpans()) {
+            if (span.durationMicros < 0) {
+                continue; // still open, e.g. a cancelled prefetch
+            }
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("traceId", trace.traceId);
+            json.put("id", span.id);
+            if (span.parent != null) {
+                json.put("parentId", span.parent.id);
+            }
+            json.put("name", span.name);
+            if (span.kind != null) {
+                json.put("kind", span.kind);
+            }
+            json.put("timestamp", span.startEpochMicros());
+            json.put("duration", span.durationMicros);
+            json.put("localEndpoint", Map.of("serviceName", SERVICE_NAME));
+            Map<String, String> tags = span.tags();
+            if (!tags.isEmpty()) {
+                json.put("tags", tags);
+            }
+            spans.add(json);
+        }
+        return spans;
+    }
+}
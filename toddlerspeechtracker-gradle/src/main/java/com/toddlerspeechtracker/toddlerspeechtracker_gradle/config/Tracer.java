@@ -0,0 +1,191 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimal in-process tracer. {@link TracingFilter} opens a trace per API request;
+ * code on the request thread opens child spans with {@link #start(String, String)}
+ * in a try-with-resources block. Outside a trace, {@code start} returns a shared
+ * no-op span, so instrumented code costs one ThreadLocal read when tracing is off.
+ */
+public final class Tracer {
+
+    public static final String SERVER = "SERVER";
+    public static final String CLIENT = "CLIENT";
+    public static final String INTERNAL = null;
+
+    private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+    private static final Span NOOP = new Span(null, null, null, null);
+
+    private Tracer() {
+    }
+
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    public static String currentTraceId() {
+        Span current = CURRENT.get();
+        return current == null ? null : current.trace.traceId;
+    }
+
+    /**
+     * Opens a child of the current span, or returns a no-op span outside a trace.
+     *
+     * @param kind {@link #CLIENT} for calls leaving the process, {@link #INTERNAL} otherwise
+     */
+    public static Span start(String name, String kind) {
+        Span parent = CURRENT.get();
+        if (parent == null) {
+            return NOOP;
+        }
+        Trace trace = parent.trace;
+        if (trace.spans.size() >= trace.maxSpans) {
+            trace.droppedSpans.incrementAndGet();
+            return NOOP;
+        }
+        Span span = new Span(trace, parent, name, kind);
+        CURRENT.set(span);
+        return span;
+    }
+
+    /**
+     * Opens a new trace with a root span on this thread. Package-private: only the
+     * request filter starts traces.
+     */
+    static Span startTrace(String name, int maxSpans) {
+        Trace trace = new Trace(randomHex(16), maxSpans);
+        Span root = new Span(trace, null, name, SERVER);
+        CURRENT.set(root);
+        return root;
+    }
+
+    /**
+     * Carries the current span into a task run on another thread, so spans opened
+     * there (e.g. Sheets fetches on a prefetch thread) land in the same trace.
+     */
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        Span captured = CURRENT.get();
+        if (captured == null) {
+            return task;
+        }
+        return () -> {
+            Span previous = CURRENT.get();
+            CURRENT.set(captured);
+            try {
+                return task.call();
+            } finally {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    private static String randomHex(int bytes) {
+        StringBuilder out = new StringBuilder(bytes * 2);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < bytes; i++) {
+            int b = random.nextInt(256);
+            out.append(Character.forDigit(b >> 4, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return out.toString();
+    }
+
+    public static final class Trace {
+        public final String traceId;
+        final long startEpochMicros = System.currentTimeMillis() * 1000;
+        final long startNanos = System.nanoTime();
+        final int maxSpans;
+        final List<Span> spans = Collections.synchronizedList(new ArrayList<>());
+        final AtomicInteger droppedSpans = new AtomicInteger();
+        volatile Span root;
+
+        private Trace(String traceId, int maxSpans) {
+            this.traceId = traceId;
+            this.maxSpans = maxSpans;
+        }
+
+        public long getDurationMicros() {
+            return root.durationMicros;
+        }
+
+        public List<Span> snapshotSpans() {
+            synchronized (spans) {
+                return new ArrayList<>(spans);
+            }
+        }
+    }
+
+    public static final class Span implements AutoCloseable {
+        final Trace trace;
+        final Span parent;
+        final String id;
+        volatile String name;
+        final String kind;
+        final long startNanos = System.nanoTime();
+        volatile long durationMicros = -1;
+        private Map<String, String> tags;
+
+        private Span(Trace trace, Span parent, String name, String kind) {
+            this.trace = trace;
+            this.parent = parent;
+            this.name = name;
+            this.kind = kind;
+            this.id = trace == null ? null : randomHex(8);
+            if (trace != null) {
+                if (parent == null) {
+                    trace.root = this;
+                }
+                trace.spans.add(this);
+            }
+        }
+
+        public Span tag(String key, String value) {
+            if (trace != null && value != null) {
+                synchronized (this) {
+                    if (tags == null) {
+                        tags = new LinkedHashMap<>(4);
+                    }
+                    tags.put(key, value);
+                }
+            }
+            return this;
+        }
+
+        public Span rename(String newName) {
+            if (trace != null) {
+                name = newName;
+            }
+            return this;
+        }
+
+        public Trace getTrace() {
+            return trace;
+        }
+
+        long startEpochMicros() {
+            return trace.startEpochMicros + (startNanos - trace.startNanos) / 1000;
+        }
+
+        synchronized Map<String, String> tags() {
+            return tags == null ? Map.of() : new LinkedHashMap<>(tags);
+        }
+
+        @Override
+        public void close() {
+            if (trace == null) {
+                return;
+            }
+            durationMicros = Math.max(1, (System.nanoTime() - startNanos) / 1000);
+            if (CURRENT.get() == this) {
+                CURRENT.set(parent);
+            }
+        }
+    }
+}
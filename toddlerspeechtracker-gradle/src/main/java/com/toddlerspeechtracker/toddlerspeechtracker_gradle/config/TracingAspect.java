@@ -0,0 +1,66 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Opens a span around controller handlers, the data-entry and child services, and
+ * repository calls (Spring Data and JDBC). Does nothing outside a traced request.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "tracing.enabled", havingValue = "true", matchIfMissing = true)
+public class TracingAspect {
+
+    private static final String BASE_PACKAGE = "com.toddlerspeechtracker.toddlerspeechtracker_gradle";
+
+    @Around("@within(org.springframework.web.bind.annotation.RestController)")
+    public Object traceController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, "controller");
+    }
+
+    @Around("within(com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.DataEntryService)"
+            + " || within(com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.ChildService)")
+    public Object traceService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, "service");
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))"
+            + " || @within(org.springframework.stereotype.Repository)")
+    public Object traceRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, "repository");
+    }
+
+    private Object trace(ProceedingJoinPoint joinPoint, String layer) throws Throwable {
+        if (!Tracer.isActive()) {
+            return joinPoint.proceed();
+        }
+
+        try (Tracer.Span span = Tracer.start(typeName(joinPoint) + "." + joinPoint.getSignature().getName(),
+                Tracer.INTERNAL)) {
+            span.tag("layer", layer);
+            try {
+                return joinPoint.proceed();
+            } catch (Throwable t) {
+                span.tag("error", t.getClass().getSimpleName());
+                throw t;
+            }
+        }
+    }
+
+    /**
+     * Spring Data methods are often declared on CrudRepository; name them after the
+     * application's repository interface instead.
+     */
+    private static String typeName(ProceedingJoinPoint joinPoint) {
+        for (Class<?> type : joinPoint.getThis().getClass().getInterfaces()) {
+            if (type.getName().startsWith(BASE_PACKAGE)) {
+                return type.getSimpleName();
+            }
+        }
+        return joinPoint.getSignature().getDeclaringType().getSimpleName();
+    }
+}
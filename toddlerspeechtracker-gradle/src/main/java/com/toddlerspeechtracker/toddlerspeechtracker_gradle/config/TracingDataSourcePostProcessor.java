@@ -0,0 +1,112 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Wraps the primary DataSource so every JDBC statement executed during a traced
+ * request (Hibernate's and our JdbcTemplate repositories' alike) becomes a CLIENT span
+ * tagged with its SQL. Connections taken outside a trace are returned unwrapped.
+ */
+@Component
+public class TracingDataSourcePostProcessor implements BeanPostProcessor {
+
+    private static final int MAX_SQL_LENGTH = 500;
+
+    private final boolean enabled;
+
+    public TracingDataSourcePostProcessor(@Value("${tracing.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (enabled && "dataSource".equals(beanName) && bean instanceof DataSource dataSource
+                && !(bean instanceof TracingDataSource)) {
+            return new TracingDataSource(dataSource);
+        }
+        return bean;
+    }
+
+    static class TracingDataSource extends DelegatingDataSource {
+
+        TracingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return wrap(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return wrap(super.getConnection(username, password));
+        }
+
+        private Connection wrap(Connection connection) {
+            if (!Tracer.isActive()) {
+                return connection;
+            }
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, new ConnectionHandler(connection));
+        }
+    }
+
+    private record ConnectionHandler(Connection target) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = invokeTarget(target, method, args);
+            if (result instanceof Statement statement) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                        : statement instanceof PreparedStatement ? PreparedStatement.class
+                        : Statement.class;
+                return Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[]{type},
+                        new StatementHandler(statement, sql));
+            }
+            return result;
+        }
+    }
+
+    private record StatementHandler(Statement target, String preparedSql) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!method.getName().startsWith("execute")) {
+                return invokeTarget(target, method, args);
+            }
+
+            String sql = preparedSql != null ? preparedSql
+                    : args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+            try (Tracer.Span span = Tracer.start("sql " + method.getName(), Tracer.CLIENT)) {
+                if (sql != null) {
+                    span.tag("sql", sql.length() > MAX_SQL_LENGTH ? sql.substring(0, MAX_SQL_LENGTH) + "..." : sql);
+                }
+                return invokeTarget(target, method, args);
+            }
+        }
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.logging.log4j.ThreadContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Opens a trace for every /api/** request. The root span covers the whole request,
+ * including JSON serialization after the controller returns, so its self time (root
+ * duration minus child spans) is mostly serialization and filter work. The trace ID
+ * is returned in X-Trace-Id and put in the log context as traceId.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class TracingFilter extends OncePerRequestFilter {
+
+    public static final String TRACE_HEADER = "X-Trace-Id";
+
+    private final TraceStore traceStore;
+
+    @Value("${tracing.enabled:true}")
+    private boolean enabled;
+
+    @Value("${tracing.maxSpansPerTrace:2000}")
+    private int maxSpansPerTrace;
+
+    public TracingFilter(TraceStore traceStore) {
+        this.traceStore = traceStore;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/")
+                || "OPTIONS".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Tracer.Span root = Tracer.startTrace(request.getMethod() + " " + request.getRequestURI(), maxSpansPerTrace);
+        String traceId = root.getTrace().traceId;
+        response.setHeader(TRACE_HEADER, traceId);
+        ThreadContext.put("traceId", traceId);
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            // Name the trace by route (GET /api/data/children/{childId}/words) so traces group well
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (pattern != null) {
+                root.rename(request.getMethod() + " " + pattern);
+            }
+            root.tag("http.method", request.getMethod())
+                    .tag("http.path", request.getRequestURI())
+                    .tag("http.status_code", String.valueOf(response.getStatus()));
+            int dropped = root.getTrace().droppedSpans.get();
+            if (dropped > 0) {
+                root.tag("droppedSpans", String.valueOf(dropped));
+            }
+            root.close();
+            ThreadContext.remove("traceId");
+            traceStore.record(root.getTrace());
+        }
+    }
+}
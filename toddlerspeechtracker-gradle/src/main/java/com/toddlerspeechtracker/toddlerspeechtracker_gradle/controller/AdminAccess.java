@@ -0,0 +1,34 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.controller;
+
+import jakarta.servlet.http.HttpSession;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The admin gate shared by the operator endpoints. Each feature names its admins in
+ * its own property; an empty list refuses everyone.
+ */
+final class AdminAccess {
+
+    private AdminAccess() {
+    }
+
+    /**
+     * @return the 401/403 response to send, or null when the session user is an admin
+     */
+    static ResponseEntity<?> check(HttpSession session, List<String> adminUsers) {
+        String username = (String) session.getAttribute("username");
+        if (username == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("error", "Not authenticated"));
+        }
+        if (!adminUsers.contains(username)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("error", "Admin access required"));
+        }
+        return null;
+    }
+}
@@ -24,7 +24,7 @@ public class AuthController {
 
     @PostMapping("/register")
     public ResponseEntity<?> register(@RequestBody RegisterRequest request) {
-        log.info("Registration attempt for username: " + request.getUsername());
+        log.info("Registration attempt for username: {}", request.getUsername());
 
         try {
             User user = authService.register(
@@ -40,7 +40,7 @@ public class AuthController {
 
             return ResponseEntity.ok(response);
         } catch (IllegalArgumentException e) {
-            log.warn("Registration failed: " + e.getMessage());
+            log.warn("Registration failed: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
@@ -52,7 +52,7 @@ public class AuthController {
 
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody LoginRequest request, HttpSession session) {
-        log.info("Login attempt for username: " + request.getUsername());
+        log.info("Login attempt for username: {}", request.getUsername());
 
         try {
             User user = authService.login(request.getUsername(), request.getPassword());
@@ -67,10 +67,10 @@ public class AuthController {
             response.put("username", user.getUsername());
             response.put("email", user.getEmail());
 
-            log.info("User logged in successfully: " + user.getUsername());
+            log.info("User logged in successfully: {}", user.getUsername());
             return ResponseEntity.ok(response);
         } catch (IllegalArgumentException e) {
-            log.warn("Login failed: " + e.getMessage());
+            log.warn("Login failed: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
@@ -83,7 +83,7 @@ public class AuthController {
     @PostMapping("/logout")
     public ResponseEntity<?> logout(HttpSession session) {
         String username = (String) session.getAttribute("username");
-        log.info("Logout request for user: " + username);
+        log.info("Logout request for user: {}", username);
 
         session.invalidate();
 
@@ -115,6 +115,29 @@ public class AuthController {
         }
     }
 
+    @DeleteMapping("/me")
+    public ResponseEntity<?> deleteAccount(HttpSession session) {
+        Long userId = (Long) session.getAttribute("userId");
+
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("error", "Not authenticated"));
+        }
+
+        try {
+            authService.deleteAccount(userId);
+            session.invalidate();
+            return ResponseEntity.ok(Map.of("message", "Account deleted successfully"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error deleting account", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Error deleting account"));
+        }
+    }
+
     // Request DTOs
     public static class LoginRequest {
         private String username;
@@ -0,0 +1,67 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.controller;
+
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.ChangeFeedService;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.ChildAccessDeniedException;
+import jakarta.servlet.http.HttpSession;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@Log4j2
+@RestController
+@RequestMapping("/api")
+public class ChangeFeedController {
+
+    private final ChangeFeedService changeFeedService;
+
+    public ChangeFeedController(ChangeFeedService changeFeedService) {
+        this.changeFeedService = changeFeedService;
+    }
+
+    /**
+     * Changes to every child of the logged-in user since the cursor.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<?> getChanges(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            HttpSession session) {
+        return changes(null, cursor, limit, session);
+    }
+
+    @GetMapping("/children/{childId}/changes")
+    public ResponseEntity<?> getChildChanges(
+            @PathVariable Long childId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            HttpSession session) {
+        return changes(childId, cursor, limit, session);
+    }
+
+    private ResponseEntity<?> changes(Long childId, String cursor, Integer limit, HttpSession session) {
+        Long userId = (Long) session.getAttribute("userId");
+
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("error", "Not authenticated"));
+        }
+
+        try {
+            return ResponseEntity.ok(changeFeedService.getChanges(userId, childId, cursor, limit));
+        } catch (ChildAccessDeniedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("error", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            // Invalid cursor or limit
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error fetching changes", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Error fetching changes"));
+        }
+    }
+}
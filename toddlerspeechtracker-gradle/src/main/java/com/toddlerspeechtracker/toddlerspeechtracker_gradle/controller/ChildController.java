@@ -1,6 +1,8 @@
 package com.toddlerspeechtracker.toddlerspeechtracker_gradle.controller;
 
 import com.toddlerspeechtracker.toddlerspeechtracker_gradle.model.Child;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.ChildDeletionService;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.ChildDeletionService.DeletionProgress;
 import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.ChildService;
 import jakarta.servlet.http.HttpSession;
 import lombok.extern.log4j.Log4j2;
@@ -19,9 +21,11 @@ import java.util.Map;
 public class ChildController {
 
     private final ChildService childService;
+    private final ChildDeletionService childDeletionService;
 
-    public ChildController(ChildService childService) {
+    public ChildController(ChildService childService, ChildDeletionService childDeletionService) {
         this.childService = childService;
+        this.childDeletionService = childDeletionService;
     }
 
     @GetMapping
@@ -74,7 +78,7 @@ public class ChildController {
                     .body(Map.of("error", "Not authenticated"));
         }
 
-        log.info("Adding child for user: " + userId);
+        log.info("Adding child for user: {}", userId);
 
         try {
             Child child = childService.addChild(
@@ -130,7 +134,10 @@ public class ChildController {
     }
 
     @DeleteMapping("/{childId}")
-    public ResponseEntity<?> deleteChild(@PathVariable Long childId, HttpSession session) {
+    public ResponseEntity<?> deleteChild(
+            @PathVariable Long childId,
+            @RequestParam(defaultValue = "false") boolean async,
+            HttpSession session) {
         Long userId = (Long) session.getAttribute("userId");
 
         if (userId == null) {
@@ -139,6 +146,11 @@ public class ChildController {
         }
 
         try {
+            if (async) {
+                DeletionProgress progress = childService.deleteChildAsync(childId, userId);
+                return ResponseEntity.status(HttpStatus.ACCEPTED).body(progress);
+            }
+
             childService.deleteChild(childId, userId);
             return ResponseEntity.ok(Map.of("message", "Child deleted successfully"));
         } catch (IllegalArgumentException e) {
@@ -151,6 +163,23 @@ public class ChildController {
         }
     }
 
+    @GetMapping("/deletions/{jobId}")
+    public ResponseEntity<?> getDeletionProgress(@PathVariable String jobId, HttpSession session) {
+        Long userId = (Long) session.getAttribute("userId");
+
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("error", "Not authenticated"));
+        }
+
+        try {
+            return ResponseEntity.ok(childDeletionService.getProgress(jobId, userId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
     // Request DTOs
     public static class AddChildRequest {
         private String childName;
@@ -1,10 +1,22 @@
 package com.toddlerspeechtracker.toddlerspeechtracker_gradle.controller;
 
 import com.toddlerspeechtracker.toddlerspeechtracker_gradle.model.*;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.ChildAccessDeniedException;
 import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.DataEntryService;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.DomainEventBus;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.EntryBatchService;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.EntryBatchService.BatchOperation;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.EntryBatchService.OperationResult;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.EntryListCache;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.InvalidationBus;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.LivePushService;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.SingleFlight;
+import jakarta.persistence.EntityNotFoundException;
 import jakarta.servlet.http.HttpSession;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -17,9 +29,49 @@ import java.util.Map;
 public class DataEntryController {
 
     private final DataEntryService dataEntryService;
-
-    public DataEntryController(DataEntryService dataEntryService) {
+    private final EntryBatchService entryBatchService;
+    private final SingleFlight singleFlight;
+    private final EntryListCache listCache;
+    private final InvalidationBus invalidationBus;
+    private final DomainEventBus events;
+    private final LivePushService livePush;
+
+    @Value("${metrics.adminUsers:}")
+    private List<String> metricsAdminUsers;
+
+    public DataEntryController(DataEntryService dataEntryService, EntryBatchService entryBatchService,
+                               SingleFlight singleFlight, EntryListCache listCache,
+                               InvalidationBus invalidationBus, DomainEventBus events,
+                               LivePushService livePush) {
         this.dataEntryService = dataEntryService;
+        this.entryBatchService = entryBatchService;
+        this.singleFlight = singleFlight;
+        this.listCache = listCache;
+        this.invalidationBus = invalidationBus;
+        this.events = events;
+        this.livePush = livePush;
+    }
+
+    /**
+     * Read-path counters: how many list reads ran, how many were served by joining
+     * an identical read already in flight, how the list cache is doing, how far
+     * behind other nodes' invalidations arrive, how far behind each domain event
+     * subscriber is, and how many live push connections are open. Restricted to
+     * metrics.adminUsers, like the sheets client's metrics.
+     */
+    @GetMapping("/metrics")
+    public ResponseEntity<?> getMetrics(HttpSession session) {
+        ResponseEntity<?> denied = AdminAccess.check(session, metricsAdminUsers);
+        if (denied != null) {
+            return denied;
+        }
+
+        return ResponseEntity.ok(Map.of(
+                "singleFlight", singleFlight.getMetrics(),
+                "listCache", listCache.getMetrics(),
+                "invalidationBus", invalidationBus.getMetrics(),
+                "events", events.getMetrics(),
+                "push", livePush.getMetrics()));
     }
 
     // ========== WORD ENDPOINTS ==========
@@ -33,8 +85,8 @@ public class DataEntryController {
         }
 
         try {
-            List<Word> words = dataEntryService.getWords(childId, userId);
-            return ResponseEntity.ok(words);
+            byte[] words = dataEntryService.getEntriesJson(EntryType.WORD, childId, userId);
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(words);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(Map.of("error", e.getMessage()));
@@ -94,6 +146,34 @@ public class DataEntryController {
         }
     }
 
+    @PatchMapping("/children/{childId}/words/{wordId}")
+    public ResponseEntity<?> patchWord(
+            @PathVariable Long childId,
+            @PathVariable Long wordId,
+            @RequestBody Map<String, Object> changes,
+            HttpSession session) {
+        Long userId = (Long) session.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("error", "Not authenticated"));
+        }
+
+        try {
+            dataEntryService.patchEntry(EntryType.WORD, wordId, childId, userId, changes);
+            return ResponseEntity.ok(Map.of("message", "Word updated successfully"));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("error", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error updating word", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Error updating word"));
+        }
+    }
+
     @DeleteMapping("/children/{childId}/words/{wordId}")
     public ResponseEntity<?> deleteWord(
             @PathVariable Long childId,
@@ -108,6 +188,9 @@ public class DataEntryController {
         try {
             dataEntryService.deleteWord(wordId, childId, userId);
             return ResponseEntity.ok(Map.of("message", "Word deleted successfully"));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("error", e.getMessage()));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(Map.of("error", e.getMessage()));
@@ -129,8 +212,8 @@ public class DataEntryController {
         }
 
         try {
-            List<Phrase> phrases = dataEntryService.getPhrases(childId, userId);
-            return ResponseEntity.ok(phrases);
+            byte[] phrases = dataEntryService.getEntriesJson(EntryType.PHRASE, childId, userId);
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(phrases);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(Map.of("error", e.getMessage()));
@@ -190,6 +273,34 @@ public class DataEntryController {
         }
     }
 
+    @PatchMapping("/children/{childId}/phrases/{phraseId}")
+    public ResponseEntity<?> patchPhrase(
+            @PathVariable Long childId,
+            @PathVariable Long phraseId,
+            @RequestBody Map<String, Object> changes,
+            HttpSession session) {
+        Long userId = (Long) session.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("error", "Not authenticated"));
+        }
+
+        try {
+            dataEntryService.patchEntry(EntryType.PHRASE, phraseId, childId, userId, changes);
+            return ResponseEntity.ok(Map.of("message", "Phrase updated successfully"));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("error", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error updating phrase", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Error updating phrase"));
+        }
+    }
+
     @DeleteMapping("/children/{childId}/phrases/{phraseId}")
     public ResponseEntity<?> deletePhrase(
             @PathVariable Long childId,
@@ -204,6 +315,9 @@ public class DataEntryController {
         try {
             dataEntryService.deletePhrase(phraseId, childId, userId);
             return ResponseEntity.ok(Map.of("message", "Phrase deleted successfully"));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("error", e.getMessage()));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(Map.of("error", e.getMessage()));
@@ -225,8 +339,8 @@ public class DataEntryController {
         }
 
         try {
-            List<Song> songs = dataEntryService.getSongs(childId, userId);
-            return ResponseEntity.ok(songs);
+            byte[] songs = dataEntryService.getEntriesJson(EntryType.SONG, childId, userId);
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(songs);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(Map.of("error", e.getMessage()));
@@ -286,6 +400,34 @@ public class DataEntryController {
         }
     }
 
+    @PatchMapping("/children/{childId}/songs/{songId}")
+    public ResponseEntity<?> patchSong(
+            @PathVariable Long childId,
+            @PathVariable Long songId,
+            @RequestBody Map<String, Object> changes,
+            HttpSession session) {
+        Long userId = (Long) session.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("error", "Not authenticated"));
+        }
+
+        try {
+            dataEntryService.patchEntry(EntryType.SONG, songId, childId, userId, changes);
+            return ResponseEntity.ok(Map.of("message", "Song updated successfully"));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("error", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error updating song", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Error updating song"));
+        }
+    }
+
     @DeleteMapping("/children/{childId}/songs/{songId}")
     public ResponseEntity<?> deleteSong(
             @PathVariable Long childId,
@@ -300,6 +442,9 @@ public class DataEntryController {
         try {
             dataEntryService.deleteSong(songId, childId, userId);
             return ResponseEntity.ok(Map.of("message", "Song deleted successfully"));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("error", e.getMessage()));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(Map.of("error", e.getMessage()));
@@ -321,8 +466,8 @@ public class DataEntryController {
         }
 
         try {
-            List<Letter> letters = dataEntryService.getLetters(childId, userId);
-            return ResponseEntity.ok(letters);
+            byte[] letters = dataEntryService.getEntriesJson(EntryType.LETTER, childId, userId);
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(letters);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(Map.of("error", e.getMessage()));
@@ -382,6 +527,34 @@ public class DataEntryController {
         }
     }
 
+    @PatchMapping("/children/{childId}/letters/{letterId}")
+    public ResponseEntity<?> patchLetter(
+            @PathVariable Long childId,
+            @PathVariable Long letterId,
+            @RequestBody Map<String, Object> changes,
+            HttpSession session) {
+        Long userId = (Long) session.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("error", "Not authenticated"));
+        }
+
+        try {
+            dataEntryService.patchEntry(EntryType.LETTER, letterId, childId, userId, changes);
+            return ResponseEntity.ok(Map.of("message", "Letter updated successfully"));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("error", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error updating letter", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Error updating letter"));
+        }
+    }
+
     @DeleteMapping("/children/{childId}/letters/{letterId}")
     public ResponseEntity<?> deleteLetter(
             @PathVariable Long childId,
@@ -396,6 +569,9 @@ public class DataEntryController {
         try {
             dataEntryService.deleteLetter(letterId, childId, userId);
             return ResponseEntity.ok(Map.of("message", "Letter deleted successfully"));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("error", e.getMessage()));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(Map.of("error", e.getMessage()));
@@ -405,4 +581,33 @@ public class DataEntryController {
                     .body(Map.of("error", "Error deleting letter"));
         }
     }
-}
\ No newline at end of file
+
+    // ========== BATCH ENDPOINT ==========
+
+    @PostMapping("/children/{childId}/batch")
+    public ResponseEntity<?> applyBatch(
+            @PathVariable Long childId,
+            @RequestBody List<BatchOperation> operations,
+            HttpSession session) {
+        Long userId = (Long) session.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("error", "Not authenticated"));
+        }
+
+        try {
+            List<OperationResult> results = entryBatchService.apply(childId, userId, operations);
+            return ResponseEntity.ok(Map.of("results", results));
+        } catch (ChildAccessDeniedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("error", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error applying batch", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Error applying batch"));
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.controller;
+
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.config.TraceStore;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Diagnostics for operators. Disabled unless tracing.debug.enabled=true, and then
+ * only for users listed in tracing.debug.adminUsers, since traces include other
+ * users' request paths.
+ */
+@RestController
+@RequestMapping("/api/debug")
+public class DebugController {
+
+    private final TraceStore traceStore;
+
+    @Value("${tracing.debug.enabled:false}")
+    private boolean enabled;
+
+    @Value("${tracing.debug.adminUsers:}")
+    private List<String> adminUsers;
+
+    public DebugController(TraceStore traceStore) {
+        this.traceStore = traceStore;
+    }
+
+    @GetMapping("/traces/slowest")
+    public ResponseEntity<?> slowestTraces(@RequestParam(defaultValue = "20") int limit, HttpSession session) {
+        if (!enabled) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        ResponseEntity<?> denied = AdminAccess.check(session, adminUsers);
+        if (denied != null) {
+            return denied;
+        }
+
+        return ResponseEntity.ok(traceStore.getSlowest(Math.min(Math.max(limit, 1), 100)));
+    }
+}
@@ -0,0 +1,46 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.controller;
+
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.LivePushService;
+import jakarta.servlet.http.HttpSession;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@Log4j2
+@RestController
+@RequestMapping("/api")
+public class LivePushController {
+
+    private final LivePushService livePushService;
+
+    public LivePushController(LivePushService livePushService) {
+        this.livePushService = livePushService;
+    }
+
+    /**
+     * Server-sent events for the logged-in user. Errors have no body because an
+     * EventSource cannot read one.
+     */
+    @GetMapping(value = "/push", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> push(HttpSession session) {
+        Long userId = (Long) session.getAttribute("userId");
+
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        try {
+            return ResponseEntity.ok(livePushService.connect(userId));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (Exception e) {
+            log.error("Error opening push connection", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.controller;
+
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.PartitionMigrationService;
+import jakarta.servlet.http.HttpSession;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Online migration of the entry tables to hash partitions on child_id, and a check
+ * that repository statements read a single partition. Only users listed in
+ * partitioning.adminUsers may use it; with the list empty every call is refused.
+ */
+@Log4j2
+@RestController
+@RequestMapping("/api/admin/partitioning")
+public class PartitioningController {
+
+    private final PartitionMigrationService migrationService;
+
+    @Value("${partitioning.adminUsers:}")
+    private List<String> adminUsers;
+
+    public PartitioningController(PartitionMigrationService migrationService) {
+        this.migrationService = migrationService;
+    }
+
+    @GetMapping
+    public ResponseEntity<?> status(HttpSession session) {
+        ResponseEntity<?> denied = AdminAccess.check(session, adminUsers);
+        if (denied != null) {
+            return denied;
+        }
+
+        try {
+            return ResponseEntity.ok(migrationService.getStatus());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error reading partitioning status", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Error reading partitioning status: " + e.getMessage()));
+        }
+    }
+
+    @PostMapping("/start")
+    public ResponseEntity<?> start(HttpSession session) {
+        ResponseEntity<?> denied = AdminAccess.check(session, adminUsers);
+        if (denied != null) {
+            return denied;
+        }
+
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(migrationService.start());
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error starting partition migration", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Error starting partition migration: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Partitions each repository statement would read, from EXPLAIN.
+     */
+    @GetMapping("/pruning")
+    public ResponseEntity<?> pruning(HttpSession session) {
+        ResponseEntity<?> denied = AdminAccess.check(session, adminUsers);
+        if (denied != null) {
+            return denied;
+        }
+
+        try {
+            return ResponseEntity.ok(migrationService.checkPruning());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error checking partition pruning", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Error checking partition pruning: " + e.getMessage()));
+        }
+    }
+}
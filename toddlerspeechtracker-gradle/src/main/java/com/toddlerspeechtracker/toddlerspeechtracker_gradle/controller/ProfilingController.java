@@ -0,0 +1,99 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.controller;
+
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.ProfilingService;
+import jakarta.servlet.http.HttpSession;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * On-demand JFR recordings. Only users listed in profiling.adminUsers may use it;
+ * with the list empty (the default) every call is refused.
+ */
+@Log4j2
+@RestController
+@RequestMapping("/api/admin/jfr")
+public class ProfilingController {
+
+    private final ProfilingService profilingService;
+
+    @Value("${profiling.adminUsers:}")
+    private List<String> adminUsers;
+
+    public ProfilingController(ProfilingService profilingService) {
+        this.profilingService = profilingService;
+    }
+
+    @GetMapping
+    public ResponseEntity<?> status(HttpSession session) {
+        ResponseEntity<?> denied = AdminAccess.check(session, adminUsers);
+        if (denied != null) {
+            return denied;
+        }
+
+        return ResponseEntity.ok(profilingService.getStatus());
+    }
+
+    @PostMapping("/start")
+    public ResponseEntity<?> start(@RequestParam(defaultValue = "0") long durationSeconds, HttpSession session) {
+        ResponseEntity<?> denied = AdminAccess.check(session, adminUsers);
+        if (denied != null) {
+            return denied;
+        }
+
+        try {
+            return ResponseEntity.ok(profilingService.start(durationSeconds));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error starting JFR recording", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Error starting recording: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Stops the recording and returns it as a .jfr file for JDK Mission Control.
+     */
+    @PostMapping("/stop")
+    public ResponseEntity<?> stop(HttpSession session) {
+        ResponseEntity<?> denied = AdminAccess.check(session, adminUsers);
+        if (denied != null) {
+            return denied;
+        }
+
+        try {
+            Path file = profilingService.stop();
+            StreamingResponseBody body = out -> {
+                try {
+                    Files.copy(file, out);
+                } finally {
+                    Files.deleteIfExists(file);
+                }
+            };
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .contentLength(Files.size(file))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getFileName() + "\"")
+                    .body(body);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error stopping JFR recording", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Error stopping recording: " + e.getMessage()));
+        }
+    }
+}
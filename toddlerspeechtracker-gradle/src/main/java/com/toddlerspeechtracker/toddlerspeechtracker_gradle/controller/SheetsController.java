@@ -1,37 +1,49 @@
 package com.toddlerspeechtracker.toddlerspeechtracker_gradle.controller;
 
 import lombok.extern.log4j.Log4j2;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.CircuitOpenException;
 import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.GoogleSheetsService;
 import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.GoogleSheetsService.SyncResult;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.SheetsApiClient;
+import jakarta.servlet.http.HttpSession;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @Log4j2
 @RestController
 public class SheetsController {
 
     private final GoogleSheetsService sheetsService;
+    private final SheetsApiClient sheetsClient;
 
     @Value("${sheets.defaultChildId:1}")
     private Long defaultChildId;
 
-    public SheetsController(GoogleSheetsService sheetsService) {
+    @Value("${metrics.adminUsers:}")
+    private List<String> metricsAdminUsers;
+
+    public SheetsController(GoogleSheetsService sheetsService, SheetsApiClient sheetsClient) {
         this.sheetsService = sheetsService;
+        this.sheetsClient = sheetsClient;
     }
 
     @PostMapping("/api/fetch")
     @ResponseBody
     public ResponseEntity<?> fetchSheets() {
-        log.info("In SheetsController.fetchSheets for default childId: " + defaultChildId);
+        log.info("In SheetsController.fetchSheets for default childId: {}", defaultChildId);
 
         try {
             SyncResult result = sheetsService.fetchDataOnly(defaultChildId);
-            log.info("Successfully fetched data - Words: " + result.words.size() +
-                    ", Phrases: " + result.phrases.size() +
-                    ", Songs: " + result.songs.size() +
-                    ", Letters: " + result.letters.size());
+            log.info("Successfully fetched data - Words: {}, Phrases: {}, Songs: {}, Letters: {}",
+                    result.wordCount, result.phraseCount, result.songCount, result.letterCount);
             return ResponseEntity.ok(result);
+        } catch (CircuitOpenException ex) {
+            log.warn("Fetching sheets skipped: {}", ex.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Error fetching sheets: " + ex.getMessage());
         } catch (Exception ex) {
             log.error("Error fetching sheets", ex);
             return ResponseEntity.status(500).body("Error fetching sheets: " + ex.getMessage());
@@ -41,15 +53,16 @@ public class SheetsController {
     @PostMapping("/api/sync")
     @ResponseBody
     public ResponseEntity<?> syncSheets() {
-        log.info("In SheetsController.syncSheets for default childId: " + defaultChildId);
+        log.info("In SheetsController.syncSheets for default childId: {}", defaultChildId);
 
         try {
             SyncResult result = sheetsService.fetchAndSaveAll(defaultChildId);
-            log.info("Successfully synced data - Words: " + result.words.size() +
-                    ", Phrases: " + result.phrases.size() +
-                    ", Songs: " + result.songs.size() +
-                    ", Letters: " + result.letters.size());
+            log.info("Successfully synced data - Words: {}, Phrases: {}, Songs: {}, Letters: {}",
+                    result.wordCount, result.phraseCount, result.songCount, result.letterCount);
             return ResponseEntity.ok(result);
+        } catch (CircuitOpenException ex) {
+            log.warn("Syncing sheets skipped: {}", ex.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Error syncing sheets: " + ex.getMessage());
         } catch (Exception ex) {
             log.error("Error syncing sheets", ex);
             return ResponseEntity.status(500).body("Error syncing sheets: " + ex.getMessage());
@@ -64,9 +77,25 @@ public class SheetsController {
         try {
             String result = sheetsService.testConnection();
             return ResponseEntity.ok(result);
+        } catch (CircuitOpenException ex) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Error: " + ex.getMessage());
         } catch (Exception ex) {
             log.error("Error testing connection", ex);
             return ResponseEntity.status(500).body("Error: " + ex.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Rate limiter, retry and circuit breaker state of the Sheets client, for
+     * metrics.adminUsers only.
+     */
+    @GetMapping("/api/sheets/metrics")
+    @ResponseBody
+    public ResponseEntity<?> sheetsMetrics(HttpSession session) {
+        ResponseEntity<?> denied = AdminAccess.check(session, metricsAdminUsers);
+        if (denied != null) {
+            return denied;
+        }
+        return ResponseEntity.ok(sheetsClient.getMetrics());
+    }
+}
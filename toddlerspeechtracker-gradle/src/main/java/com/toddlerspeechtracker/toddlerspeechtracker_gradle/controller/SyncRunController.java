@@ -0,0 +1,70 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.controller;
+
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.SyncRunRecorder;
+import jakarta.servlet.http.HttpSession;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@Log4j2
+@RestController
+@RequestMapping("/api/children/{childId}/sync-runs")
+public class SyncRunController {
+
+    private final SyncRunRecorder runRecorder;
+
+    public SyncRunController(SyncRunRecorder runRecorder) {
+        this.runRecorder = runRecorder;
+    }
+
+    @GetMapping
+    public ResponseEntity<?> getRuns(
+            @PathVariable Long childId,
+            @RequestParam(defaultValue = "50") int limit,
+            HttpSession session) {
+        Long userId = (Long) session.getAttribute("userId");
+
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("error", "Not authenticated"));
+        }
+
+        try {
+            return ResponseEntity.ok(runRecorder.getRecentRuns(childId, userId, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error fetching sync runs", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Error fetching sync runs"));
+        }
+    }
+
+    @GetMapping("/trends")
+    public ResponseEntity<?> getTrends(
+            @PathVariable Long childId,
+            @RequestParam(defaultValue = "30") int days,
+            HttpSession session) {
+        Long userId = (Long) session.getAttribute("userId");
+
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("error", "Not authenticated"));
+        }
+
+        try {
+            return ResponseEntity.ok(runRecorder.getTrends(childId, userId, days));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error fetching sync trends", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Error fetching sync trends"));
+        }
+    }
+}
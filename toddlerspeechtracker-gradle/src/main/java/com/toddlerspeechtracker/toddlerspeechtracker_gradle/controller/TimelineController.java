@@ -0,0 +1,60 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.controller;
+
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.ChildAccessDeniedException;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.TimelineService;
+import jakarta.servlet.http.HttpSession;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@Log4j2
+@RestController
+@RequestMapping("/api/children")
+public class TimelineController {
+
+    private final TimelineService timelineService;
+
+    public TimelineController(TimelineService timelineService) {
+        this.timelineService = timelineService;
+    }
+
+    /**
+     * Milestones across all entry types, newest first; ?from=2025-03-01&to=2025-03-31
+     * for a month.
+     */
+    @GetMapping("/{childId}/timeline")
+    public ResponseEntity<?> getTimeline(
+            @PathVariable Long childId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            HttpSession session) {
+        Long userId = (Long) session.getAttribute("userId");
+
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("error", "Not authenticated"));
+        }
+
+        try {
+            return ResponseEntity.ok(timelineService.getTimeline(childId, userId, from, to, cursor, limit));
+        } catch (ChildAccessDeniedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("error", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            // Invalid cursor, limit or date range
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error fetching timeline", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Error fetching timeline"));
+        }
+    }
+}
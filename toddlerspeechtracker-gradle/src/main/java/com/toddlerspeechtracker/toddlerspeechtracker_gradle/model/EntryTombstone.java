@@ -0,0 +1,39 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * Records a deleted entry (or a deleted child, with entryType CHILD) so the change
+ * feed can tell clients to drop it. Ids are plain columns so tombstones outlive the
+ * rows they describe; they are pruned after changefeed.tombstoneRetentionDays.
+ */
+@Data
+@Entity
+@Table(name = "entry_tombstone", indexes = {
+        @Index(name = "idx_entry_tombstone_child_deleted", columnList = "child_id, deleted_at"),
+        @Index(name = "idx_entry_tombstone_user_deleted", columnList = "user_id, deleted_at"),
+        @Index(name = "idx_entry_tombstone_deleted", columnList = "deleted_at")})
+public class EntryTombstone {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "tombstone_id")
+    private Long tombstoneId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "child_id", nullable = false)
+    private Long childId;
+
+    /** An {@link EntryType} name, or CHILD */
+    @Column(name = "entry_type", nullable = false, length = 20)
+    private String entryType;
+
+    @Column(name = "entry_id", nullable = false)
+    private Long entryId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+}
@@ -0,0 +1,143 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The four kinds of speech entries tracked per child, with the table metadata
+ * needed by the statements that bypass entity loading (PATCH, bulk delete, batch).
+ * Column maps are whitelists: only the properties listed here can be written.
+ */
+public enum EntryType {
+    WORD("Word", "word", "word_id", "word",
+            columns("word", "word",
+                    "signed", "signed",
+                    "signedDate", "signed_date",
+                    "verbal", "verbal",
+                    "verbalDate", "verbal_date",
+                    "actualPronunciation", "actual_pronunciation",
+                    "notes", "notes",
+                    "learningSource", "learning_source"),
+            Set.of("signed", "verbal")),
+
+    PHRASE("Phrase", "phrase", "phrase_id", "phrase",
+            columns("phrase", "phrase",
+                    "dateSaid", "date_said",
+                    "funnyRating", "funny_rating",
+                    "cuteRating", "cute_rating",
+                    "learningSource", "learning_source",
+                    "notes", "notes"),
+            Set.of()),
+
+    SONG("Song", "song", "song_id", "songTitle",
+            columns("songTitle", "song_title",
+                    "dateFirstSang", "date_first_sang",
+                    "source", "source",
+                    "notes", "notes"),
+            Set.of()),
+
+    LETTER("Letter", "letter", "letter_id", "letters",
+            columns("letters", "letters",
+                    "recognized", "recognized",
+                    "recognizedDate", "recognized_date",
+                    "soundItOut", "sound_it_out",
+                    "soundItOutDate", "sound_it_out_date"),
+            Set.of());
+
+    private final String label;
+    private final String table;
+    private final String idColumn;
+    private final String keyProperty;
+    private final Map<String, String> columns;
+    private final Set<String> booleanProperties;
+
+    EntryType(String label, String table, String idColumn, String keyProperty,
+              Map<String, String> columns, Set<String> booleanProperties) {
+        this.label = label;
+        this.table = table;
+        this.idColumn = idColumn;
+        this.keyProperty = keyProperty;
+        this.columns = columns;
+        this.booleanProperties = booleanProperties;
+    }
+
+    public String getLabel() { return label; }
+    public String getTable() { return table; }
+    public String getIdColumn() { return idColumn; }
+    public String getKeyProperty() { return keyProperty; }
+    public Map<String, String> getColumns() { return columns; }
+
+    public boolean isBoolean(String property) {
+        return booleanProperties.contains(property);
+    }
+
+    /**
+     * Checks client-supplied changes against the column whitelist and coerces them to
+     * the values written to the database: booleans stay Boolean (null becomes false),
+     * everything else is stored as text.
+     */
+    public Map<String, Object> toColumnValues(Map<String, Object> changes) {
+        if (changes == null || changes.isEmpty()) {
+            throw new IllegalArgumentException("No fields to update");
+        }
+
+        Map<String, Object> values = new HashMap<>();
+        for (Map.Entry<String, Object> change : changes.entrySet()) {
+            String property = change.getKey();
+            Object value = change.getValue();
+
+            if (!columns.containsKey(property)) {
+                throw new IllegalArgumentException("Unknown field: " + property);
+            }
+
+            if (isBoolean(property)) {
+                if (value != null && !(value instanceof Boolean)) {
+                    throw new IllegalArgumentException(property + " must be true or false");
+                }
+                values.put(property, value == null ? Boolean.FALSE : value);
+            } else {
+                values.put(property, value == null ? null : value.toString());
+            }
+        }
+
+        if (values.containsKey(keyProperty)) {
+            Object key = values.get(keyProperty);
+            if (key == null || key.toString().trim().isEmpty()) {
+                throw new IllegalArgumentException(label + " is required");
+            }
+        }
+
+        return values;
+    }
+
+    /**
+     * Accepts "WORD", "word" or "words" so request bodies can use the URL segment names.
+     */
+    @JsonCreator
+    public static EntryType fromName(String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("Entry type is required");
+        }
+        String normalized = name.trim().toUpperCase(Locale.ROOT);
+        for (EntryType type : values()) {
+            if (type.name().equals(normalized) || (type.name() + "S").equals(normalized)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown entry type: " + name);
+    }
+
+    private static Map<String, String> columns(String... pairs) {
+        Map<String, String> map = new LinkedHashMap<>();
+        for (int i = 0; i < pairs.length; i += 2) {
+            map.put(pairs[i], pairs[i + 1]);
+        }
+        return Collections.unmodifiableMap(map);
+    }
+}
@@ -3,11 +3,14 @@ package com.toddlerspeechtracker.toddlerspeechtracker_gradle.model;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.PartitionKey;
 import java.time.LocalDateTime;
 
 @Data
 @Entity
-@Table(name = "letter")
+@Table(name = "letter", indexes = {
+        @Index(name = "idx_letter_child_updated", columnList = "child_id, updated_timestamp"),
+        @Index(name = "idx_letter_updated", columnList = "updated_timestamp")})
 public class Letter {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -19,6 +22,12 @@ public class Letter {
     @JoinColumn(name = "child_id", nullable = false)
     private Child child;
 
+    /** Partition key; see Word.childId */
+    @JsonIgnore
+    @PartitionKey
+    @Column(name = "child_id", insertable = false, updatable = false)
+    private Long childId;
+
     @Column(length = 50)
     private String letters;
 
@@ -42,6 +51,7 @@ public class Letter {
 
     @PrePersist
     protected void onCreate() {
+        childId = child.getChildId();
         createdTimestamp = LocalDateTime.now();
         updatedTimestamp = LocalDateTime.now();
     }
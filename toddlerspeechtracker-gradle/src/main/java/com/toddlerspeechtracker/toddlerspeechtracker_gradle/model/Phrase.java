@@ -3,11 +3,14 @@ package com.toddlerspeechtracker.toddlerspeechtracker_gradle.model;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.PartitionKey;
 import java.time.LocalDateTime;
 
 @Data
 @Entity
-@Table(name = "phrase")
+@Table(name = "phrase", indexes = {
+        @Index(name = "idx_phrase_child_updated", columnList = "child_id, updated_timestamp"),
+        @Index(name = "idx_phrase_updated", columnList = "updated_timestamp")})
 public class Phrase {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -19,6 +22,12 @@ public class Phrase {
     @JoinColumn(name = "child_id", nullable = false)
     private Child child;
 
+    /** Partition key; see Word.childId */
+    @JsonIgnore
+    @PartitionKey
+    @Column(name = "child_id", insertable = false, updatable = false)
+    private Long childId;
+
     @Column(length = 1024)
     private String phrase;
 
@@ -45,6 +54,7 @@ public class Phrase {
 
     @PrePersist
     protected void onCreate() {
+        childId = child.getChildId();
         createdTimestamp = LocalDateTime.now();
         updatedTimestamp = LocalDateTime.now();
     }
@@ -3,11 +3,14 @@ package com.toddlerspeechtracker.toddlerspeechtracker_gradle.model;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.PartitionKey;
 import java.time.LocalDateTime;
 
 @Data
 @Entity
-@Table(name = "song")
+@Table(name = "song", indexes = {
+        @Index(name = "idx_song_child_updated", columnList = "child_id, updated_timestamp"),
+        @Index(name = "idx_song_updated", columnList = "updated_timestamp")})
 public class Song {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -19,6 +22,12 @@ public class Song {
     @JoinColumn(name = "child_id", nullable = false)
     private Child child;
 
+    /** Partition key; see Word.childId */
+    @JsonIgnore
+    @PartitionKey
+    @Column(name = "child_id", insertable = false, updatable = false)
+    private Long childId;
+
     @Column(name = "song_title", length = 255)
     private String songTitle;
 
@@ -39,6 +48,7 @@ public class Song {
 
     @PrePersist
     protected void onCreate() {
+        childId = child.getChildId();
         createdTimestamp = LocalDateTime.now();
         updatedTimestamp = LocalDateTime.now();
     }
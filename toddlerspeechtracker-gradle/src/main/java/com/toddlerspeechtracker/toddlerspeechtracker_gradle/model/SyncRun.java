@@ -0,0 +1,63 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * One fetch, sync or file import. childId is a plain column rather than a relation
+ * so runs are written without loading the child and survive its deletion for trends.
+ */
+@Data
+@Entity
+@Table(name = "sync_run", indexes = @Index(name = "idx_sync_run_child_started", columnList = "child_id, started_at"))
+public class SyncRun {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "sync_run_id")
+    private Long syncRunId;
+
+    @Column(name = "child_id", nullable = false)
+    private Long childId;
+
+    @Column(name = "spreadsheet_id", length = 1024)
+    private String spreadsheetId;
+
+    @Column(nullable = false, length = 20)
+    private String kind;
+
+    @Column(nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at", nullable = false)
+    private LocalDateTime finishedAt;
+
+    @Column(name = "duration_millis", nullable = false)
+    private Long durationMillis;
+
+    /** JSON object of stage name ("auth", "fetch.Words", "parse.Words", "upsert.Words", ...) to millis */
+    @Column(name = "stage_millis", columnDefinition = "text")
+    private String stageMillis;
+
+    @Column(name = "rows_inserted", nullable = false)
+    private Integer inserted = 0;
+
+    @Column(name = "rows_updated", nullable = false)
+    private Integer updated = 0;
+
+    @Column(name = "rows_skipped", nullable = false)
+    private Integer skipped = 0;
+
+    @Column(name = "rows_failed", nullable = false)
+    private Integer failed = 0;
+
+    /** JSON array of sampled {tab, row, error} objects */
+    @Column(name = "row_errors", columnDefinition = "text")
+    private String rowErrors;
+
+    @Column(length = 2048)
+    private String error;
+}
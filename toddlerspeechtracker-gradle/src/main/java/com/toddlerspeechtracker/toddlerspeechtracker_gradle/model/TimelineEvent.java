@@ -0,0 +1,44 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDate;
+
+/**
+ * One dated milestone of an entry (a word first signed, a song first sung, ...), so
+ * a child's timeline across all entry types is a single range scan of
+ * idx_timeline_child_date. Derived from the entry tables by TimelineIndexer; ids are
+ * plain columns so the index never blocks deleting entries or children.
+ */
+@Data
+@Entity
+@Table(name = "timeline_event",
+        indexes = @Index(name = "idx_timeline_child_date", columnList = "child_id, event_date, event_id"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_timeline_entry_milestone",
+                columnNames = {"entry_type", "entry_id", "milestone"}))
+public class TimelineEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Column(name = "child_id", nullable = false)
+    private Long childId;
+
+    @Column(name = "event_date", nullable = false)
+    private LocalDate eventDate;
+
+    /** An {@link EntryType} name */
+    @Column(name = "entry_type", nullable = false, length = 10)
+    private String entryType;
+
+    @Column(name = "entry_id", nullable = false)
+    private Long entryId;
+
+    /** SIGNED, VERBAL, SAID, FIRST_SANG, RECOGNIZED, SOUND_IT_OUT, or ADDED when the entry has no dated milestone */
+    @Column(nullable = false, length = 20)
+    private String milestone;
+
+    @Column(length = 255)
+    private String label;
+}
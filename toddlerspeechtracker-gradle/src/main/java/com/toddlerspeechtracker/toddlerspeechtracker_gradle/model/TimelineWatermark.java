@@ -0,0 +1,29 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * How far TimelineIndexer's reconciliation pass has compared the entry tables with
+ * timeline_event: entries updated or deleted after reconciledTo are checked on the
+ * next pass. A single row shared by every node, written with plain SQL; the lease
+ * columns let one node at a time run the pass.
+ */
+@Data
+@Entity
+@Table(name = "timeline_watermark")
+public class TimelineWatermark {
+    @Id
+    @Column(length = 20)
+    private String name;
+
+    @Column(name = "reconciled_to", nullable = false)
+    private LocalDateTime reconciledTo;
+
+    @Column(name = "lease_owner", length = 36)
+    private String leaseOwner;
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+}
@@ -3,11 +3,14 @@ package com.toddlerspeechtracker.toddlerspeechtracker_gradle.model;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.PartitionKey;
 import java.time.LocalDateTime;
 
 @Data
 @Entity
-@Table(name = "word")
+@Table(name = "word", indexes = {
+        @Index(name = "idx_word_child_updated", columnList = "child_id, updated_timestamp"),
+        @Index(name = "idx_word_updated", columnList = "updated_timestamp")})
 public class Word {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -19,6 +22,15 @@ public class Word {
     @JoinColumn(name = "child_id", nullable = false)
     private Child child;
 
+    /**
+     * The child_id column again, read-only, so Hibernate adds it to the WHERE clause of
+     * entity updates and deletes and the table can be hash-partitioned on it.
+     */
+    @JsonIgnore
+    @PartitionKey
+    @Column(name = "child_id", insertable = false, updatable = false)
+    private Long childId;
+
     @Column(length = 255)
     private String word;
 
@@ -51,6 +63,7 @@ public class Word {
 
     @PrePersist
     protected void onCreate() {
+        childId = child.getChildId();
         createdTimestamp = LocalDateTime.now();
         updatedTimestamp = LocalDateTime.now();
         if (signed == null) signed = false;
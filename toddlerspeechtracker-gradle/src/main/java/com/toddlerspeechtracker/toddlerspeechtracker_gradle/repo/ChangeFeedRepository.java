@@ -0,0 +1,126 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.repo;
+
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.model.EntryType;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads entries and tombstones changed after a position, in position order, using the
+ * (child_id, updated_timestamp) and (child_id|user_id, deleted_at) indexes. A position
+ * orders changes by time, then kind (entry type ordinal, tombstones last), then id, so
+ * rows written in the same instant are neither skipped nor repeated.
+ */
+@Repository
+public class ChangeFeedRepository {
+
+    public static final String CHILD = "CHILD";
+    public static final int TOMBSTONE_KIND = EntryType.values().length;
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public ChangeFeedRepository(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public record Position(LocalDateTime at, int kind, long id) {
+    }
+
+    /**
+     * @param entryType an {@link EntryType} name or {@link #CHILD}
+     * @param data      property values for entries, null for tombstones
+     */
+    public record FeedRow(Position position, String entryType, Long entryId, Long childId,
+                          LocalDateTime createdAt, Map<String, Object> data) {
+    }
+
+    /**
+     * Entries of one type for a single child, or for all of a user's children when
+     * childId is null.
+     */
+    public List<FeedRow> findEntries(EntryType type, Long userId, Long childId, Position after, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource().addValue("limit", limit);
+        StringBuilder sql = new StringBuilder("SELECT ").append(type.getIdColumn())
+                .append(" AS entry_id, child_id, created_timestamp, updated_timestamp");
+        type.getColumns().values().forEach(column -> sql.append(", ").append(column));
+        sql.append(" FROM ").append(type.getTable()).append(" WHERE ").append(scope("child_id", userId, childId, params));
+        sql.append(after(after, type.ordinal(), "updated_timestamp", type.getIdColumn(), params));
+        sql.append(" ORDER BY updated_timestamp, ").append(type.getIdColumn()).append(" LIMIT :limit");
+
+        return jdbc.query(sql.toString(), params, (rs, rowNum) -> {
+            Map<String, Object> data = new LinkedHashMap<>();
+            for (Map.Entry<String, String> column : type.getColumns().entrySet()) {
+                data.put(column.getKey(), rs.getObject(column.getValue()));
+            }
+            LocalDateTime updated = rs.getTimestamp("updated_timestamp").toLocalDateTime();
+            long entryId = rs.getLong("entry_id");
+            return new FeedRow(new Position(updated, type.ordinal(), entryId), type.name(), entryId,
+                    rs.getLong("child_id"), rs.getTimestamp("created_timestamp").toLocalDateTime(), data);
+        });
+    }
+
+    public List<FeedRow> findTombstones(Long userId, Long childId, Position after, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource().addValue("limit", limit);
+        String scope = childId == null ? "user_id = :userId" : "child_id = :childId";
+        params.addValue("userId", userId).addValue("childId", childId);
+        String sql = "SELECT tombstone_id, child_id, entry_type, entry_id, deleted_at FROM entry_tombstone WHERE "
+                + scope + after(after, TOMBSTONE_KIND, "deleted_at", "tombstone_id", params)
+                + " ORDER BY deleted_at, tombstone_id LIMIT :limit";
+
+        return jdbc.query(sql, params, (rs, rowNum) -> new FeedRow(
+                new Position(rs.getTimestamp("deleted_at").toLocalDateTime(), TOMBSTONE_KIND, rs.getLong("tombstone_id")),
+                rs.getString("entry_type"), rs.getLong("entry_id"), rs.getLong("child_id"), null, null));
+    }
+
+    public void recordTombstones(Long userId, Long childId, String entryType, List<Long> entryIds) {
+        LocalDateTime now = LocalDateTime.now();
+        SqlParameterSource[] batch = entryIds.stream()
+                .map(entryId -> new MapSqlParameterSource()
+                        .addValue("userId", userId)
+                        .addValue("childId", childId)
+                        .addValue("entryType", entryType)
+                        .addValue("entryId", entryId)
+                        .addValue("deletedAt", now))
+                .toArray(SqlParameterSource[]::new);
+        jdbc.batchUpdate("INSERT INTO entry_tombstone (user_id, child_id, entry_type, entry_id, deleted_at) "
+                + "VALUES (:userId, :childId, :entryType, :entryId, :deletedAt)", batch);
+    }
+
+    public int pruneTombstones(LocalDateTime before) {
+        return jdbc.update("DELETE FROM entry_tombstone WHERE deleted_at < :before", Map.of("before", before));
+    }
+
+    private static String scope(String column, Long userId, Long childId, MapSqlParameterSource params) {
+        if (childId != null) {
+            params.addValue("childId", childId);
+            return column + " = :childId";
+        }
+        params.addValue("userId", userId);
+        return column + " IN (SELECT child_id FROM children WHERE user_id = :userId)";
+    }
+
+    /**
+     * Rows of this kind that come after the position: later in time, or at the same
+     * time but of a later kind, or the same kind and a higher id.
+     */
+    private static String after(Position after, int kind, String timeColumn, String idColumn,
+                                MapSqlParameterSource params) {
+        if (after == null) {
+            return "";
+        }
+        params.addValue("afterAt", after.at()).addValue("afterId", after.id());
+        if (kind > after.kind()) {
+            return " AND " + timeColumn + " >= :afterAt";
+        }
+        if (kind < after.kind()) {
+            return " AND " + timeColumn + " > :afterAt";
+        }
+        return " AND (" + timeColumn + " > :afterAt OR (" + timeColumn + " = :afterAt AND " + idColumn + " > :afterId))";
+    }
+}
@@ -0,0 +1,57 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.repo;
+
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.model.EntryType;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Set-based deletes used when removing a child or a user, so the entry
+ * collections mapped on Child never have to be loaded into memory.
+ */
+@Repository
+public class ChildDeletionRepository {
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public ChildDeletionRepository(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * Deletes at most {@code limit} entries of one type for the child.
+     *
+     * @return rows deleted; fewer than {@code limit} means the table is done for this child
+     */
+    public int deleteEntryChunk(EntryType type, Long childId, int limit) {
+        // child_id on the outer DELETE too, so a partitioned table only touches one partition
+        String sql = "DELETE FROM " + type.getTable() + " WHERE child_id = :childId AND " + type.getIdColumn() + " IN ("
+                + "SELECT " + type.getIdColumn() + " FROM " + type.getTable()
+                + " WHERE child_id = :childId LIMIT :limit)";
+        return jdbc.update(sql, new MapSqlParameterSource()
+                .addValue("childId", childId)
+                .addValue("limit", limit));
+    }
+
+    public int deleteChild(Long childId) {
+        return jdbc.update("DELETE FROM children WHERE child_id = :childId",
+                Map.of("childId", childId));
+    }
+
+    /**
+     * Plain JDBC, so callers on a long-lived request never bind a pooled connection
+     * to the request's open-in-view EntityManager.
+     */
+    public List<Long> findChildIds(Long userId) {
+        return jdbc.queryForList("SELECT child_id FROM children WHERE user_id = :userId",
+                Map.of("userId", userId), Long.class);
+    }
+
+    public int deleteUser(Long userId) {
+        return jdbc.update("DELETE FROM users WHERE user_id = :userId",
+                Map.of("userId", userId));
+    }
+}
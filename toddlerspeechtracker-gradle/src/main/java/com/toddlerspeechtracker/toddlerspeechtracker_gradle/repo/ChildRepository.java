@@ -8,4 +8,5 @@ import java.util.Optional;
 public interface ChildRepository extends JpaRepository<Child, Long> {
     List<Child> findByUser_UserId(Long userId);
     Optional<Child> findByChildIdAndUser_UserId(Long childId, Long userId);
+    boolean existsByChildIdAndUser_UserId(Long childId, Long userId);
 }
\ No newline at end of file
@@ -0,0 +1,113 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.repo;
+
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.model.EntryType;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * JDBC batch statements for the batch mutation endpoint. Callers verify child
+ * ownership once up front, so these statements only scope rows by child_id.
+ */
+@Repository
+public class EntryBatchRepository {
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public EntryBatchRepository(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * Inserts all rows in one JDBC batch.
+     *
+     * @return generated ids, in the same order as {@code rows}
+     */
+    public List<Long> insertAll(EntryType type, Long childId, List<Map<String, Object>> rows) {
+        StringBuilder columns = new StringBuilder("child_id, created_timestamp, updated_timestamp");
+        StringBuilder values = new StringBuilder(":childId, :now, :now");
+        for (Map.Entry<String, String> column : type.getColumns().entrySet()) {
+            columns.append(", ").append(column.getValue());
+            values.append(", :").append(column.getKey());
+        }
+        String sql = "INSERT INTO " + type.getTable() + " (" + columns + ") VALUES (" + values + ")";
+
+        LocalDateTime now = LocalDateTime.now();
+        SqlParameterSource[] batch = new SqlParameterSource[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("childId", childId)
+                    .addValue("now", now);
+            for (String property : type.getColumns().keySet()) {
+                Object value = rows.get(i).get(property);
+                if (value == null && type.isBoolean(property)) {
+                    value = Boolean.FALSE;
+                }
+                params.addValue(property, value);
+            }
+            batch[i] = params;
+        }
+
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbc.batchUpdate(sql, batch, keys, new String[]{type.getIdColumn()});
+
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (Map<String, Object> key : keys.getKeyList()) {
+            ids.add(((Number) key.get(type.getIdColumn())).longValue());
+        }
+        return ids;
+    }
+
+    /**
+     * Applies the same set of changed properties to several entries in one JDBC batch.
+     *
+     * @param properties the properties present in every element of {@code changes}
+     * @return affected row count per entry, 0 when the entry is missing or belongs to another child
+     */
+    public int[] updateAll(EntryType type, Long childId, Set<String> properties,
+                           List<Long> entryIds, List<Map<String, Object>> changes) {
+        StringBuilder sql = new StringBuilder("UPDATE ").append(type.getTable()).append(" SET ");
+        for (Map.Entry<String, String> column : type.getColumns().entrySet()) {
+            if (properties.contains(column.getKey())) {
+                sql.append(column.getValue()).append(" = :").append(column.getKey()).append(", ");
+            }
+        }
+        sql.append("updated_timestamp = :now WHERE ").append(type.getIdColumn())
+                .append(" = :entryId AND child_id = :childId");
+
+        LocalDateTime now = LocalDateTime.now();
+        SqlParameterSource[] batch = new SqlParameterSource[entryIds.size()];
+        for (int i = 0; i < entryIds.size(); i++) {
+            batch[i] = new MapSqlParameterSource(changes.get(i))
+                    .addValue("entryId", entryIds.get(i))
+                    .addValue("childId", childId)
+                    .addValue("now", now);
+        }
+        return jdbc.batchUpdate(sql.toString(), batch);
+    }
+
+    /**
+     * @return affected row count per entry, 0 when the entry is missing or belongs to another child
+     */
+    public int[] deleteAll(EntryType type, Long childId, List<Long> entryIds) {
+        String sql = "DELETE FROM " + type.getTable() + " WHERE " + type.getIdColumn()
+                + " = :entryId AND child_id = :childId";
+
+        SqlParameterSource[] batch = new SqlParameterSource[entryIds.size()];
+        for (int i = 0; i < entryIds.size(); i++) {
+            batch[i] = new MapSqlParameterSource()
+                    .addValue("entryId", entryIds.get(i))
+                    .addValue("childId", childId);
+        }
+        return jdbc.batchUpdate(sql, batch);
+    }
+}
@@ -0,0 +1,50 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.repo;
+
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.model.EntryType;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Partial updates written as a single UPDATE with the ownership check folded into
+ * the WHERE clause, so a one-field change never loads the child or the entry.
+ */
+@Repository
+public class EntryPatchRepository {
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public EntryPatchRepository(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * @param changes entity property name to new value; properties must already be
+     *                validated against {@link EntryType#getColumns()}
+     * @return number of rows updated, 0 when the entry does not exist or is not owned by the user
+     */
+    public int patch(EntryType type, Long entryId, Long childId, Long userId, Map<String, Object> changes) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("entryId", entryId)
+                .addValue("childId", childId)
+                .addValue("userId", userId)
+                .addValue("updatedTimestamp", LocalDateTime.now());
+
+        StringBuilder sql = new StringBuilder("UPDATE ").append(type.getTable()).append(" SET ");
+        for (Map.Entry<String, String> column : type.getColumns().entrySet()) {
+            if (changes.containsKey(column.getKey())) {
+                sql.append(column.getValue()).append(" = :").append(column.getKey()).append(", ");
+                params.addValue(column.getKey(), changes.get(column.getKey()));
+            }
+        }
+        sql.append("updated_timestamp = :updatedTimestamp")
+                .append(" WHERE ").append(type.getIdColumn()).append(" = :entryId")
+                .append(" AND child_id = :childId")
+                .append(" AND EXISTS (SELECT 1 FROM children c WHERE c.child_id = :childId AND c.user_id = :userId)");
+
+        return jdbc.update(sql.toString(), params);
+    }
+}
@@ -2,10 +2,19 @@ package com.toddlerspeechtracker.toddlerspeechtracker_gradle.repo;
 
 import com.toddlerspeechtracker.toddlerspeechtracker_gradle.model.Letter;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
 import java.util.Optional;
 
 public interface LetterRepository extends JpaRepository<Letter, Long> {
     Optional<Letter> findByChild_ChildIdAndLetters(Long childId, String letters);
     List<Letter> findByChild_ChildId(Long childId);
+    Optional<Letter> findByLetterIdAndChild_ChildId(Long letterId, Long childId);
+
+    @Modifying
+    @Query("delete from Letter l where l.letterId = :letterId and l.child.childId = :childId " +
+            "and exists (select c from Child c where c.childId = :childId and c.user.userId = :userId)")
+    int deleteOwned(@Param("letterId") Long letterId, @Param("childId") Long childId, @Param("userId") Long userId);
 }
\ No newline at end of file
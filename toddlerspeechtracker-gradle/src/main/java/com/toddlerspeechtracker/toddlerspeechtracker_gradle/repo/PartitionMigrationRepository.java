@@ -0,0 +1,213 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.repo;
+
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.model.EntryType;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * PostgreSQL DDL and copy statements for moving an entry table to a copy that is
+ * hash-partitioned on child_id. For table {@code word} the copy is {@code word_p}
+ * with partitions {@code word_part_0..n-1}; after cutover the copy is renamed to
+ * {@code word} and the original is kept as {@code word_unpartitioned}.
+ * <p>
+ * PostgreSQL requires the partition key in every unique constraint, so the copy's
+ * primary key is (id, child_id), and ids come from a plain sequence because identity
+ * columns on partitioned tables need PostgreSQL 17.
+ */
+@Repository
+public class PartitionMigrationRepository {
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public PartitionMigrationRepository(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public static String shadowTable(EntryType type) {
+        return type.getTable() + "_p";
+    }
+
+    public static String partitionTable(EntryType type, int remainder) {
+        return type.getTable() + "_part_" + remainder;
+    }
+
+    public static String retiredTable(EntryType type) {
+        return type.getTable() + "_unpartitioned";
+    }
+
+    public boolean tableExists(String table) {
+        return Boolean.TRUE.equals(jdbc.queryForObject("SELECT to_regclass(:table) IS NOT NULL",
+                Map.of("table", table), Boolean.class));
+    }
+
+    /**
+     * @return the number of hash partitions of the table, 0 when it is not partitioned
+     */
+    public int partitionCount(String table) {
+        Integer count = jdbc.queryForObject("SELECT count(*) FROM pg_inherits i "
+                + "JOIN pg_partitioned_table p ON p.partrelid = i.inhparent "
+                + "WHERE i.inhparent = to_regclass(:table)", Map.of("table", table), Integer.class);
+        return count == null ? 0 : count;
+    }
+
+    public long maxId(EntryType type, String table) {
+        Long max = jdbc.queryForObject("SELECT COALESCE(MAX(" + type.getIdColumn() + "), 0) FROM " + table,
+                Map.of(), Long.class);
+        return max == null ? 0 : max;
+    }
+
+    /**
+     * Creates the partitioned copy, empty, with the same columns, defaults and checks
+     * as the original, its own id sequence, the (child_id, updated_timestamp) and
+     * updated_timestamp indexes and the foreign key to children. Runs in the caller's transaction.
+     */
+    public void createShadow(EntryType type, int partitions) {
+        String table = type.getTable();
+        String shadow = shadowTable(type);
+        String id = type.getIdColumn();
+        String sequence = shadow + "_id_seq";
+
+        execute("CREATE SEQUENCE " + sequence);
+        execute("CREATE TABLE " + shadow + " (LIKE " + table + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)"
+                + " PARTITION BY HASH (child_id)");
+        execute("ALTER TABLE " + shadow + " ALTER COLUMN " + id + " SET DEFAULT nextval('" + sequence + "')");
+        execute("ALTER SEQUENCE " + sequence + " OWNED BY " + shadow + "." + id);
+        execute("ALTER TABLE " + shadow + " ADD CONSTRAINT " + shadow + "_pkey PRIMARY KEY (" + id + ", child_id)");
+        for (int i = 0; i < partitions; i++) {
+            execute("CREATE TABLE " + partitionTable(type, i) + " PARTITION OF " + shadow
+                    + " FOR VALUES WITH (MODULUS " + partitions + ", REMAINDER " + i + ")");
+        }
+        execute("CREATE INDEX " + shadow + "_child_updated ON " + shadow + " (child_id, updated_timestamp)");
+        execute("CREATE INDEX " + shadow + "_updated ON " + shadow + " (updated_timestamp)");
+        execute("ALTER TABLE " + shadow + " ADD CONSTRAINT " + shadow + "_child_fk"
+                + " FOREIGN KEY (child_id) REFERENCES children (child_id)");
+    }
+
+    /**
+     * Removes a copy left behind by an interrupted migration, with its trigger and sequence.
+     */
+    public void dropShadow(EntryType type) {
+        String table = type.getTable();
+        execute("DROP TRIGGER IF EXISTS " + table + "_mirror ON " + table);
+        execute("DROP FUNCTION IF EXISTS " + table + "_mirror()");
+        execute("DROP TABLE " + shadowTable(type) + " CASCADE");
+    }
+
+    /**
+     * Mirrors every insert, update and delete on the original into the copy from now
+     * on. An upsert rather than a plain insert, because a batch copy of the same row
+     * may commit first.
+     */
+    public void installMirrorTrigger(EntryType type) {
+        String table = type.getTable();
+        String shadow = shadowTable(type);
+        String id = type.getIdColumn();
+        List<String> columns = columns(table);
+        String assignments = columns.stream()
+                .filter(column -> !column.equals(id) && !column.equals("child_id"))
+                .map(column -> column + " = EXCLUDED." + column)
+                .collect(Collectors.joining(", "));
+
+        execute("CREATE OR REPLACE FUNCTION " + table + "_mirror() RETURNS trigger LANGUAGE plpgsql AS $$\n"
+                + "BEGIN\n"
+                + "  IF TG_OP IN ('UPDATE', 'DELETE') THEN\n"
+                + "    DELETE FROM " + shadow + " WHERE " + id + " = OLD." + id + " AND child_id = OLD.child_id;\n"
+                + "  END IF;\n"
+                + "  IF TG_OP IN ('INSERT', 'UPDATE') THEN\n"
+                + "    INSERT INTO " + shadow + " SELECT (NEW).*\n"
+                + "      ON CONFLICT (" + id + ", child_id) DO UPDATE SET " + assignments + ";\n"
+                + "  END IF;\n"
+                + "  RETURN NULL;\n"
+                + "END $$");
+        execute("DROP TRIGGER IF EXISTS " + table + "_mirror ON " + table);
+        execute("CREATE TRIGGER " + table + "_mirror AFTER INSERT OR UPDATE OR DELETE ON " + table
+                + " FOR EACH ROW EXECUTE FUNCTION " + table + "_mirror()");
+    }
+
+    /**
+     * Copies up to {@code limit} rows with ids after {@code afterId}. The source rows
+     * are share-locked so a concurrent delete waits for this batch and its trigger
+     * then removes the copied row too.
+     *
+     * @return the highest id copied, or {@code afterId} when no rows are left
+     */
+    public long copyBatch(EntryType type, long afterId, int limit) {
+        String id = type.getIdColumn();
+        Long last = jdbc.queryForObject("WITH batch AS ("
+                        + "SELECT * FROM " + type.getTable() + " WHERE " + id + " > :afterId"
+                        + " ORDER BY " + id + " LIMIT :limit FOR SHARE), "
+                        + "copied AS (INSERT INTO " + shadowTable(type) + " SELECT * FROM batch"
+                        + " ON CONFLICT DO NOTHING) "
+                        + "SELECT MAX(" + id + ") FROM batch",
+                new MapSqlParameterSource().addValue("afterId", afterId).addValue("limit", limit), Long.class);
+        return last == null ? afterId : last;
+    }
+
+    /**
+     * Swaps the copy in for the original. Must run in a transaction: the original is
+     * locked exclusively, so this waits for in-flight writes and then holds new ones
+     * only for the renames. The original keeps its rows, but loses its foreign keys
+     * so it no longer blocks deleting children.
+     */
+    public void cutover(EntryType type) {
+        String table = type.getTable();
+        String shadow = shadowTable(type);
+        String retired = retiredTable(type);
+        String index = "idx_" + table + "_child_updated";
+        String updatedIndex = "idx_" + table + "_updated";
+
+        execute("LOCK TABLE " + table + " IN ACCESS EXCLUSIVE MODE");
+        jdbc.queryForObject("SELECT setval('" + shadow + "_id_seq', GREATEST(:maxId, 1))",
+                Map.of("maxId", maxId(type, table)), Long.class);
+        execute("DROP TRIGGER " + table + "_mirror ON " + table);
+        execute("DROP FUNCTION " + table + "_mirror()");
+        for (String constraint : jdbc.queryForList("SELECT conname FROM pg_constraint "
+                + "WHERE conrelid = to_regclass(:table) AND contype = 'f'", Map.of("table", table), String.class)) {
+            execute("ALTER TABLE " + table + " DROP CONSTRAINT " + constraint);
+        }
+        execute("ALTER TABLE " + table + " RENAME TO " + retired);
+        execute("ALTER INDEX IF EXISTS " + index + " RENAME TO " + retired + "_child_updated");
+        execute("ALTER INDEX IF EXISTS " + updatedIndex + " RENAME TO " + retired + "_updated");
+        execute("ALTER TABLE " + shadow + " RENAME TO " + table);
+        execute("ALTER INDEX " + shadow + "_child_updated RENAME TO " + index);
+        execute("ALTER INDEX " + shadow + "_updated RENAME TO " + updatedIndex);
+    }
+
+    /**
+     * Plans the statement with the given parameters (EXPLAIN, not executed) and returns
+     * the partitions of the table it would read.
+     */
+    public List<String> partitionsScanned(EntryType type, String sql, Map<String, ?> params) {
+        Pattern partition = Pattern.compile("\\b(" + Pattern.quote(type.getTable()) + "_part_\\d+)\\b");
+        return jdbc.queryForList("EXPLAIN " + sql, params, String.class).stream()
+                .flatMap(line -> {
+                    Matcher matcher = partition.matcher(line);
+                    return matcher.results().map(result -> result.group(1));
+                })
+                .distinct()
+                .toList();
+    }
+
+    public Long anyChildId(EntryType type) {
+        List<Long> ids = jdbc.queryForList("SELECT child_id FROM " + type.getTable() + " LIMIT 1",
+                Map.of(), Long.class);
+        return ids.isEmpty() ? 0L : ids.get(0);
+    }
+
+    private List<String> columns(String table) {
+        return jdbc.queryForList("SELECT column_name FROM information_schema.columns "
+                + "WHERE table_schema = current_schema() AND table_name = :table ORDER BY ordinal_position",
+                Map.of("table", table), String.class);
+    }
+
+    private void execute(String sql) {
+        jdbc.getJdbcTemplate().execute(sql);
+    }
+}
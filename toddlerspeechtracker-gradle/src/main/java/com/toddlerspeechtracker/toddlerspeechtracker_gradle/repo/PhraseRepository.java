@@ -2,10 +2,19 @@ package com.toddlerspeechtracker.toddlerspeechtracker_gradle.repo;
 
 import com.toddlerspeechtracker.toddlerspeechtracker_gradle.model.Phrase;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
 import java.util.Optional;
 
 public interface PhraseRepository extends JpaRepository<Phrase, Long> {
     Optional<Phrase> findByChild_ChildIdAndPhrase(Long childId, String phrase);
     List<Phrase> findByChild_ChildId(Long childId);
+    Optional<Phrase> findByPhraseIdAndChild_ChildId(Long phraseId, Long childId);
+
+    @Modifying
+    @Query("delete from Phrase p where p.phraseId = :phraseId and p.child.childId = :childId " +
+            "and exists (select c from Child c where c.childId = :childId and c.user.userId = :userId)")
+    int deleteOwned(@Param("phraseId") Long phraseId, @Param("childId") Long childId, @Param("userId") Long userId);
 }
\ No newline at end of file
@@ -2,10 +2,19 @@ package com.toddlerspeechtracker.toddlerspeechtracker_gradle.repo;
 
 import com.toddlerspeechtracker.toddlerspeechtracker_gradle.model.Song;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
 import java.util.Optional;
 
 public interface SongRepository extends JpaRepository<Song, Long> {
     Optional<Song> findByChild_ChildIdAndSongTitle(Long childId, String songTitle);
     List<Song> findByChild_ChildId(Long childId);
+    Optional<Song> findBySongIdAndChild_ChildId(Long songId, Long childId);
+
+    @Modifying
+    @Query("delete from Song s where s.songId = :songId and s.child.childId = :childId " +
+            "and exists (select c from Child c where c.childId = :childId and c.user.userId = :userId)")
+    int deleteOwned(@Param("songId") Long songId, @Param("childId") Long childId, @Param("userId") Long userId);
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.repo;
+
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.model.SyncRun;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface SyncRunRepository extends JpaRepository<SyncRun, Long> {
+    List<SyncRun> findByChildIdOrderByStartedAtDesc(Long childId, Pageable pageable);
+
+    @Query(value = "select cast(date_trunc('day', started_at) as date) as day, kind, " +
+            "count(*) as runs, " +
+            "count(*) filter (where status = 'failed') as failedRuns, " +
+            "cast(avg(duration_millis) as bigint) as avgDurationMillis, " +
+            "max(duration_millis) as maxDurationMillis, " +
+            "sum(rows_inserted) as inserted, sum(rows_updated) as updated, " +
+            "sum(rows_skipped) as skipped, sum(rows_failed) as failed " +
+            "from sync_run where child_id = :childId and started_at >= :since " +
+            "group by 1, 2 order by 1, 2", nativeQuery = true)
+    List<DailyTrend> findDailyTrends(@Param("childId") Long childId, @Param("since") LocalDateTime since);
+
+    interface DailyTrend {
+        LocalDate getDay();
+        String getKind();
+        Long getRuns();
+        Long getFailedRuns();
+        Long getAvgDurationMillis();
+        Long getMaxDurationMillis();
+        Long getInserted();
+        Long getUpdated();
+        Long getSkipped();
+        Long getFailed();
+    }
+}
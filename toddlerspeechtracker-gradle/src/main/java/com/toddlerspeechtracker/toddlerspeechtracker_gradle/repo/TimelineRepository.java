@@ -0,0 +1,253 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.repo;
+
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.model.EntryType;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads and maintains timeline_event, the per-child index of dated milestones, and
+ * reads the entry columns the index is derived from.
+ */
+@Repository
+public class TimelineRepository {
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public TimelineRepository(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /** Position of an event in a timeline, newest first: by date, then event id. */
+    public record Position(LocalDate date, long eventId) {
+    }
+
+    public record Event(long eventId, LocalDate date, String entryType, long entryId, String milestone, String label) {
+    }
+
+    /**
+     * An entry's label, creation time and raw milestone date texts keyed by column.
+     */
+    public record Source(long entryId, LocalDateTime createdAt, String label, Map<String, String> dates) {
+    }
+
+    /** An entry updated after a reconciliation watermark; also the keyset position of a page. */
+    public record Updated(long entryId, long childId, LocalDateTime updatedAt) {
+    }
+
+    /** An entry, or with entry type CHILD a whole child, deleted after a reconciliation watermark. */
+    public record Deleted(long childId, String entryType, long entryId) {
+    }
+
+    /**
+     * One page of a child's timeline, newest first, as a single backward range scan of
+     * idx_timeline_child_date.
+     *
+     * @param from   earliest date, inclusive
+     * @param to     latest date, inclusive
+     * @param before position of the last event of the previous page, null for the first
+     */
+    public List<Event> findPage(Long childId, LocalDate from, LocalDate to, Position before, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("childId", childId)
+                .addValue("from", from)
+                .addValue("to", to)
+                .addValue("limit", limit);
+        StringBuilder sql = new StringBuilder("SELECT event_id, event_date, entry_type, entry_id, milestone, label"
+                + " FROM timeline_event WHERE child_id = :childId AND event_date BETWEEN :from AND :to");
+        if (before != null) {
+            sql.append(" AND (event_date, event_id) < (:beforeDate, :beforeId)");
+            params.addValue("beforeDate", before.date()).addValue("beforeId", before.eventId());
+        }
+        sql.append(" ORDER BY event_date DESC, event_id DESC LIMIT :limit");
+
+        return jdbc.query(sql.toString(), params, (rs, rowNum) -> new Event(rs.getLong("event_id"),
+                rs.getObject("event_date", LocalDate.class), rs.getString("entry_type"), rs.getLong("entry_id"),
+                rs.getString("milestone"), rs.getString("label")));
+    }
+
+    /**
+     * The given entries of one child, or, with {@code entryIds} null, up to {@code limit}
+     * of the child's entries with ids after {@code afterId}.
+     */
+    public List<Source> findSources(EntryType type, Long childId, List<Long> entryIds, long afterId, int limit,
+                                    String labelColumn, List<String> dateColumns) {
+        String id = type.getIdColumn();
+        MapSqlParameterSource params = new MapSqlParameterSource().addValue("childId", childId);
+        StringBuilder sql = new StringBuilder("SELECT ").append(id).append(" AS entry_id, created_timestamp, ")
+                .append(labelColumn).append(" AS label");
+        dateColumns.forEach(column -> sql.append(", ").append(column));
+        sql.append(" FROM ").append(type.getTable()).append(" WHERE child_id = :childId");
+        if (entryIds != null) {
+            sql.append(" AND ").append(id).append(" IN (:entryIds)");
+            params.addValue("entryIds", entryIds);
+        } else {
+            sql.append(" AND ").append(id).append(" > :afterId ORDER BY ").append(id).append(" LIMIT :limit");
+            params.addValue("afterId", afterId).addValue("limit", limit);
+        }
+
+        return jdbc.query(sql.toString(), params, (rs, rowNum) -> {
+            Map<String, String> dates = new LinkedHashMap<>();
+            for (String column : dateColumns) {
+                dates.put(column, rs.getString(column));
+            }
+            return new Source(rs.getLong("entry_id"), rs.getTimestamp("created_timestamp").toLocalDateTime(),
+                    rs.getString("label"), dates);
+        });
+    }
+
+    public List<Event> findForEntries(EntryType type, List<Long> entryIds) {
+        return jdbc.query("SELECT event_id, event_date, entry_type, entry_id, milestone, label FROM timeline_event"
+                        + " WHERE entry_type = :entryType AND entry_id IN (:entryIds)",
+                new MapSqlParameterSource().addValue("entryType", type.name()).addValue("entryIds", entryIds),
+                (rs, rowNum) -> new Event(rs.getLong("event_id"), rs.getObject("event_date", LocalDate.class),
+                        rs.getString("entry_type"), rs.getLong("entry_id"), rs.getString("milestone"),
+                        rs.getString("label")));
+    }
+
+    /**
+     * Skips events another node inserted in the meantime; both derived them from the
+     * same entry, so the row already there is the one this insert would have written.
+     * The only key a new row can collide on is uk_timeline_entry_milestone, so the
+     * conflict target is left out (H2's PostgreSQL mode does not accept one).
+     */
+    public void insertAll(Long childId, List<Event> events) {
+        SqlParameterSource[] batch = events.stream()
+                .map(event -> new MapSqlParameterSource()
+                        .addValue("childId", childId)
+                        .addValue("eventDate", event.date())
+                        .addValue("entryType", event.entryType())
+                        .addValue("entryId", event.entryId())
+                        .addValue("milestone", event.milestone())
+                        .addValue("label", event.label()))
+                .toArray(SqlParameterSource[]::new);
+        jdbc.batchUpdate("INSERT INTO timeline_event (child_id, event_date, entry_type, entry_id, milestone, label)"
+                + " VALUES (:childId, :eventDate, :entryType, :entryId, :milestone, :label)"
+                + " ON CONFLICT DO NOTHING", batch);
+    }
+
+    /**
+     * Rewrites date and label, keeping the event id so open cursors stay valid.
+     */
+    public void updateAll(List<Event> events) {
+        SqlParameterSource[] batch = events.stream()
+                .map(event -> new MapSqlParameterSource()
+                        .addValue("eventId", event.eventId())
+                        .addValue("eventDate", event.date())
+                        .addValue("label", event.label()))
+                .toArray(SqlParameterSource[]::new);
+        jdbc.batchUpdate("UPDATE timeline_event SET event_date = :eventDate, label = :label"
+                + " WHERE event_id = :eventId", batch);
+    }
+
+    public int deleteAll(List<Long> eventIds) {
+        return jdbc.update("DELETE FROM timeline_event WHERE event_id IN (:eventIds)", Map.of("eventIds", eventIds));
+    }
+
+    public int deleteForEntries(EntryType type, List<Long> entryIds) {
+        return jdbc.update("DELETE FROM timeline_event WHERE entry_type = :entryType AND entry_id IN (:entryIds)",
+                new MapSqlParameterSource().addValue("entryType", type.name()).addValue("entryIds", entryIds));
+    }
+
+    public int deleteForChild(Long childId) {
+        return jdbc.update("DELETE FROM timeline_event WHERE child_id = :childId", Map.of("childId", childId));
+    }
+
+    /**
+     * Entries of one type, across all children, updated after {@code since}, in
+     * (updated_timestamp, id) order after {@code after}: a range scan of
+     * the table's updated_timestamp index.
+     *
+     * @param after the last entry of the previous page, null for the first
+     */
+    public List<Updated> findUpdatedSince(EntryType type, LocalDateTime since, Updated after, int limit) {
+        String id = type.getIdColumn();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("since", since)
+                .addValue("limit", limit);
+        StringBuilder sql = new StringBuilder("SELECT ").append(id)
+                .append(" AS entry_id, child_id, updated_timestamp FROM ").append(type.getTable())
+                .append(" WHERE updated_timestamp > :since");
+        if (after != null) {
+            sql.append(" AND (updated_timestamp, ").append(id).append(") > (:afterAt, :afterId)");
+            params.addValue("afterAt", after.updatedAt()).addValue("afterId", after.entryId());
+        }
+        sql.append(" ORDER BY updated_timestamp, ").append(id).append(" LIMIT :limit");
+
+        return jdbc.query(sql.toString(), params, (rs, rowNum) -> new Updated(rs.getLong("entry_id"),
+                rs.getLong("child_id"), rs.getTimestamp("updated_timestamp").toLocalDateTime()));
+    }
+
+    /**
+     * Entries and children deleted after {@code since}, from the change feed's
+     * tombstones, in one range scan of idx_entry_tombstone_deleted.
+     */
+    public List<Deleted> findDeletedSince(LocalDateTime since) {
+        return jdbc.query("SELECT child_id, entry_type, entry_id FROM entry_tombstone WHERE deleted_at > :since",
+                Map.of("since", since), (rs, rowNum) -> new Deleted(rs.getLong("child_id"),
+                        rs.getString("entry_type"), rs.getLong("entry_id")));
+    }
+
+    /**
+     * @return the watermark, or null before the first reconciliation pass
+     */
+    public LocalDateTime findWatermark(String name) {
+        List<LocalDateTime> found = jdbc.query("SELECT reconciled_to FROM timeline_watermark WHERE name = :name",
+                Map.of("name", name), (rs, rowNum) -> rs.getTimestamp("reconciled_to").toLocalDateTime());
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    /**
+     * Creates the watermark row at {@code at} unless another node already has.
+     */
+    public void createWatermark(String name, LocalDateTime at) {
+        jdbc.update("INSERT INTO timeline_watermark (name, reconciled_to) VALUES (:name, :at)"
+                + " ON CONFLICT DO NOTHING", new MapSqlParameterSource().addValue("name", name).addValue("at", at));
+    }
+
+    /**
+     * Moves the watermark forward, never back, so a pass that outlived its lease
+     * cannot undo a later pass on another node.
+     */
+    public void advanceWatermark(String name, LocalDateTime to) {
+        jdbc.update("UPDATE timeline_watermark SET reconciled_to = :to WHERE name = :name AND reconciled_to < :to",
+                new MapSqlParameterSource().addValue("name", name).addValue("to", to));
+    }
+
+    /**
+     * Takes the watermark's lease until {@code until} if it is free, expired or
+     * already {@code owner}'s. A single conditional UPDATE, so of several nodes
+     * asking at once exactly one gets it.
+     *
+     * @return whether {@code owner} now holds the lease
+     */
+    public boolean claimLease(String name, String owner, LocalDateTime now, LocalDateTime until) {
+        return jdbc.update("UPDATE timeline_watermark SET lease_owner = :owner, lease_until = :until"
+                        + " WHERE name = :name AND (lease_until IS NULL OR lease_until < :now OR lease_owner = :owner)",
+                new MapSqlParameterSource()
+                        .addValue("name", name)
+                        .addValue("owner", owner)
+                        .addValue("now", now)
+                        .addValue("until", until)) == 1;
+    }
+
+    public void releaseLease(String name, String owner) {
+        jdbc.update("UPDATE timeline_watermark SET lease_until = NULL WHERE name = :name AND lease_owner = :owner",
+                new MapSqlParameterSource().addValue("name", name).addValue("owner", owner));
+    }
+
+    /**
+     * Children with no timeline rows yet: never indexed, or with no entries at all.
+     */
+    public List<Long> findChildrenWithoutEvents() {
+        return jdbc.queryForList("SELECT child_id FROM children c WHERE NOT EXISTS "
+                + "(SELECT 1 FROM timeline_event t WHERE t.child_id = c.child_id) ORDER BY child_id", Map.of(), Long.class);
+    }
+}
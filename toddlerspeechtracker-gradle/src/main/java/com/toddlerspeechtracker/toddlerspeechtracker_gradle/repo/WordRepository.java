@@ -2,10 +2,19 @@ package com.toddlerspeechtracker.toddlerspeechtracker_gradle.repo;
 
 import com.toddlerspeechtracker.toddlerspeechtracker_gradle.model.Word;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
 import java.util.Optional;
 
 public interface WordRepository extends JpaRepository<Word, Long> {
     Optional<Word> findByChild_ChildIdAndWord(Long childId, String word);
     List<Word> findByChild_ChildId(Long childId);
+    Optional<Word> findByWordIdAndChild_ChildId(Long wordId, Long childId);
+
+    @Modifying
+    @Query("delete from Word w where w.wordId = :wordId and w.child.childId = :childId " +
+            "and exists (select c from Child c where c.childId = :childId and c.user.userId = :userId)")
+    int deleteOwned(@Param("wordId") Long wordId, @Param("childId") Long childId, @Param("userId") Long userId);
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.service;
+
+/**
+ * A parsed A1-notation range like {@code Words!A2:Z1001}, with zero-based
+ * inclusive row and column bounds. Used by the non-Google spreadsheet sources.
+ */
+record A1Range(String tab, int firstRow, int lastRow, int firstColumn, int lastColumn) {
+
+    static A1Range parse(String range) {
+        int bang = range.lastIndexOf('!');
+        if (bang < 0) {
+            return new A1Range(range, 0, Integer.MAX_VALUE, 0, Integer.MAX_VALUE);
+        }
+
+        String tab = range.substring(0, bang);
+        String[] cells = range.substring(bang + 1).split(":");
+        int[] start = cell(cells[0], 0);
+        int[] end = cells.length > 1 ? cell(cells[1], Integer.MAX_VALUE) : start;
+        return new A1Range(tab, start[0], end[0], start[1], end[1]);
+    }
+
+    /**
+     * @return {row, column}, zero-based; a missing row number means {@code openRow}
+     */
+    private static int[] cell(String ref, int openRow) {
+        int column = 0;
+        int i = 0;
+        while (i < ref.length() && Character.isLetter(ref.charAt(i))) {
+            column = column * 26 + (Character.toUpperCase(ref.charAt(i)) - 'A' + 1);
+            i++;
+        }
+        int row = i < ref.length() ? Integer.parseInt(ref.substring(i)) - 1 : openRow;
+        return new int[]{row, column - 1};
+    }
+}
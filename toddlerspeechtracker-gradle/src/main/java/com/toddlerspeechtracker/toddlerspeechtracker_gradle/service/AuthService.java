@@ -1,5 +1,6 @@
 package com.toddlerspeechtracker.toddlerspeechtracker_gradle.service;
 
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.config.JfrEvents;
 import com.toddlerspeechtracker.toddlerspeechtracker_gradle.model.User;
 import com.toddlerspeechtracker.toddlerspeechtracker_gradle.repo.UserRepository;
 import lombok.extern.log4j.Log4j2;
@@ -15,15 +16,17 @@ public class AuthService {
 
     private final UserRepository userRepo;
     private final BCryptPasswordEncoder passwordEncoder;
+    private final ChildDeletionService deletionService;
 
-    public AuthService(UserRepository userRepo) {
+    public AuthService(UserRepository userRepo, ChildDeletionService deletionService) {
         this.userRepo = userRepo;
+        this.deletionService = deletionService;
         this.passwordEncoder = new BCryptPasswordEncoder();
     }
 
     @Transactional
     public User register(String username, String password, String email) {
-        log.info("Registering new user: " + username);
+        log.info("Registering new user: {}", username);
 
         // Validate input
         if (username == null || username.trim().isEmpty()) {
@@ -49,17 +52,17 @@ public class AuthService {
         // Create new user
         User user = new User();
         user.setUsername(username);
-        user.setPassword(passwordEncoder.encode(password));
+        user.setPassword(hashPassword(password));
         user.setEmail(email);
 
         User savedUser = userRepo.save(user);
-        log.info("User registered successfully: " + username);
+        log.info("User registered successfully: {}", username);
 
         return savedUser;
     }
 
     public User login(String username, String password) {
-        log.info("Login attempt for user: " + username);
+        log.info("Login attempt for user: {}", username);
 
         if (username == null || password == null) {
             throw new IllegalArgumentException("Username and password are required");
@@ -73,16 +76,46 @@ public class AuthService {
 
         User user = userOpt.get();
 
-        if (!passwordEncoder.matches(password, user.getPassword())) {
+        if (!checkPassword(password, user.getPassword())) {
             throw new IllegalArgumentException("Invalid username or password");
         }
 
-        log.info("Login successful for user: " + username);
+        log.info("Login successful for user: {}", username);
         return user;
     }
 
+    private String hashPassword(String password) {
+        JfrEvents.PasswordHash event = new JfrEvents.PasswordHash();
+        event.begin();
+        String hash = passwordEncoder.encode(password);
+        event.operation = "encode";
+        event.commit();
+        return hash;
+    }
+
+    private boolean checkPassword(String password, String hash) {
+        JfrEvents.PasswordHash event = new JfrEvents.PasswordHash();
+        event.begin();
+        boolean matched = passwordEncoder.matches(password, hash);
+        event.operation = "matches";
+        event.matched = matched;
+        event.commit();
+        return matched;
+    }
+
     public User getUserById(Long userId) {
         return userRepo.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
     }
-}
\ No newline at end of file
+
+    /**
+     * Deletes the user along with every child and entry, using chunked set-based deletes.
+     */
+    public void deleteAccount(Long userId) {
+        if (!userRepo.existsById(userId)) {
+            throw new IllegalArgumentException("User not found");
+        }
+        deletionService.deleteUser(userId);
+        log.info("Account deleted: {}", userId);
+    }
+}
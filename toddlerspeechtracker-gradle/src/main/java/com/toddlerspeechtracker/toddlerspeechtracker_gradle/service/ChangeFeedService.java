@@ -0,0 +1,214 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.service;
+
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.model.EntryType;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.repo.ChangeFeedRepository;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.repo.ChangeFeedRepository.FeedRow;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.repo.ChangeFeedRepository.Position;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.repo.ChildRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Everything created, updated or deleted for a user's children (or one child) since
+ * a cursor, across all entry types, so a client holding a local copy can refresh
+ * without downloading whole lists. Deletes come from tombstones; a deleted child is a
+ * single CHILD tombstone meaning "drop everything for this child".
+ * <p>
+ * The cursor never moves past now minus changefeed.settleMillis, because a write that
+ * has not committed yet may still appear with a slightly earlier timestamp. Changes
+ * inside that window can therefore be returned twice; clients apply them by id, so a
+ * repeat is harmless. A cursor older than the tombstone retention cannot be trusted
+ * to include every delete, and the client is told to reload.
+ * <p>
+ * Not read-only on purpose: with read replicas configured, a lagging replica could
+ * let the cursor pass rows it has not received yet, so the feed reads the primary.
+ */
+@Log4j2
+@Service
+public class ChangeFeedService {
+
+    private static final Comparator<Position> POSITION_ORDER = Comparator.comparing(Position::at)
+            .thenComparingInt(Position::kind)
+            .thenComparingLong(Position::id);
+
+    private final ChangeFeedRepository feedRepo;
+    private final ChildRepository childRepo;
+    private final ScheduledExecutorService pruner;
+
+    @Value("${changefeed.defaultLimit:500}")
+    private int defaultLimit;
+
+    @Value("${changefeed.maxLimit:1000}")
+    private int maxLimit;
+
+    @Value("${changefeed.settleMillis:5000}")
+    private long settleMillis;
+
+    @Value("${changefeed.tombstoneRetentionDays:30}")
+    private int tombstoneRetentionDays;
+
+    @Value("${changefeed.pruneIntervalMinutes:60}")
+    private long pruneIntervalMinutes;
+
+    public ChangeFeedService(ChangeFeedRepository feedRepo, ChildRepository childRepo) {
+        this.feedRepo = feedRepo;
+        this.childRepo = childRepo;
+        this.pruner = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "tombstone-pruner");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    void schedulePruning() {
+        if (pruneIntervalMinutes > 0) {
+            pruner.scheduleWithFixedDelay(this::pruneTombstones, 1, pruneIntervalMinutes, TimeUnit.MINUTES);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pruner.shutdownNow();
+    }
+
+    /**
+     * @param childId null for every child of the user
+     * @param cursor  from the previous response; null or empty for a first, full load
+     * @param limit   null for changefeed.defaultLimit
+     */
+    public ChangeFeed getChanges(Long userId, Long childId, String cursor, Integer limit) {
+        if (childId != null && !childRepo.existsByChildIdAndUser_UserId(childId, userId)) {
+            throw new ChildAccessDeniedException();
+        }
+        int pageSize = limit == null ? defaultLimit : limit;
+        if (pageSize < 1 || pageSize > maxLimit) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxLimit);
+        }
+
+        Position after = decode(cursor);
+        LocalDateTime now = LocalDateTime.now();
+        Position settled = new Position(now.minusNanos(TimeUnit.MILLISECONDS.toNanos(settleMillis)), 0, 0);
+
+        ChangeFeed feed = new ChangeFeed();
+        if (after != null && after.at().isBefore(now.minusDays(tombstoneRetentionDays))) {
+            feed.resetRequired = true;
+            feed.cursor = encode(settled);
+            return feed;
+        }
+
+        // Each source returns up to one more than a page; the merge keeps the first page
+        List<FeedRow> rows = new ArrayList<>();
+        for (EntryType type : EntryType.values()) {
+            rows.addAll(feedRepo.findEntries(type, userId, childId, after, pageSize + 1));
+        }
+        if (after != null) {
+            // A first load has nothing to delete yet
+            rows.addAll(feedRepo.findTombstones(userId, childId, after, pageSize + 1));
+        }
+        rows.sort(Comparator.comparing(FeedRow::position, POSITION_ORDER));
+
+        feed.hasMore = rows.size() > pageSize;
+        List<FeedRow> page = feed.hasMore ? rows.subList(0, pageSize) : rows;
+        for (FeedRow row : page) {
+            feed.changes.add(toChange(row, after));
+        }
+
+        // Hold the cursor back over the settle window on every page, but never move it
+        // backwards. A page that reaches into the window ends the run: whatever follows
+        // is in the window too, and the next poll returns it
+        Position next = page.isEmpty() ? after : page.get(page.size() - 1).position();
+        if (next == null || POSITION_ORDER.compare(next, settled) > 0) {
+            next = settled;
+            feed.hasMore = false;
+        }
+        if (after != null && POSITION_ORDER.compare(next, after) < 0) {
+            next = after;
+        }
+        feed.cursor = encode(next);
+        return feed;
+    }
+
+    private Change toChange(FeedRow row, Position after) {
+        Change change = new Change();
+        change.type = row.entryType();
+        change.id = row.entryId();
+        change.childId = row.childId();
+        change.at = row.position().at();
+        if (row.data() == null) {
+            change.op = Change.DELETE;
+        } else {
+            change.op = after == null || row.createdAt().isAfter(after.at()) ? Change.CREATE : Change.UPDATE;
+            change.data = row.data();
+        }
+        return change;
+    }
+
+    private void pruneTombstones() {
+        try {
+            int pruned = feedRepo.pruneTombstones(LocalDateTime.now().minusDays(tombstoneRetentionDays));
+            if (pruned > 0) {
+                log.info("Pruned {} tombstones older than {} days", pruned, tombstoneRetentionDays);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Tombstone pruning failed: {}", e.getMessage());
+        }
+    }
+
+    private static String encode(Position position) {
+        String raw = position.at() + "|" + position.kind() + "|" + position.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Position decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            return new Position(LocalDateTime.parse(parts[0]), Integer.parseInt(parts[1]), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public static class ChangeFeed {
+        public List<Change> changes = new ArrayList<>();
+        /** Pass back as ?cursor= on the next call */
+        public String cursor;
+        /** More changes are ready now; call again straight away */
+        public boolean hasMore;
+        /** The cursor is too old; reload the lists, then continue from this cursor */
+        public boolean resetRequired;
+    }
+
+    public static class Change {
+        public static final String CREATE = "create";
+        public static final String UPDATE = "update";
+        public static final String DELETE = "delete";
+
+        /** WORD, PHRASE, SONG, LETTER, or CHILD for a deleted child */
+        public String type;
+        public String op;
+        public Long id;
+        public Long childId;
+        public LocalDateTime at;
+        /** The entry's fields for create and update */
+        public Map<String, Object> data;
+    }
+}
@@ -0,0 +1,13 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.service;
+
+/**
+ * The child does not belong to the caller. An IllegalArgumentException like the other
+ * ownership failures, so existing handlers still catch it, but separate from invalid
+ * input where a controller answers 403 for one and 400 for the other.
+ */
+public class ChildAccessDeniedException extends IllegalArgumentException {
+
+    public ChildAccessDeniedException() {
+        super("Access denied: This child does not belong to you");
+    }
+}
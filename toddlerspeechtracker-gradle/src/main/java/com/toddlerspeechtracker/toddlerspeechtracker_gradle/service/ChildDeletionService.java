@@ -0,0 +1,181 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.service;
+
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.model.EntryType;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.repo.ChangeFeedRepository;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.repo.ChildDeletionRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Deletes children and users without going through the JPA cascade. Entry tables
+ * are emptied in a fixed order (word, phrase, song, letter) in chunks, each chunk
+ * in its own short transaction, then the child row itself is removed.
+ * Callers are responsible for verifying ownership first.
+ */
+@Log4j2
+@Service
+public class ChildDeletionService {
+
+    private static final Duration FINISHED_JOB_RETENTION = Duration.ofHours(1);
+
+    private final ChildDeletionRepository deletionRepo;
+    private final ChangeFeedRepository feedRepo;
+    private final EntryListCache listCache;
+    private final InvalidationBus invalidationBus;
+    private final DomainEventBus events;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor;
+    private final Map<String, DeletionProgress> jobs = new ConcurrentHashMap<>();
+
+    @Value("${children.delete.chunkSize:1000}")
+    private int chunkSize;
+
+    public ChildDeletionService(ChildDeletionRepository deletionRepo,
+                                ChangeFeedRepository feedRepo,
+                                EntryListCache listCache,
+                                InvalidationBus invalidationBus,
+                                DomainEventBus events,
+                                PlatformTransactionManager transactionManager) {
+        this.deletionRepo = deletionRepo;
+        this.feedRepo = feedRepo;
+        this.listCache = listCache;
+        this.invalidationBus = invalidationBus;
+        this.events = events;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "child-deletion");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void deleteChild(Long childId, Long userId) {
+        deleteChild(childId, new DeletionProgress(null, userId, childId));
+    }
+
+    /**
+     * Queues the deletion on a background thread and returns immediately.
+     * Progress can be polled with {@link #getProgress(String, Long)}.
+     *
+     * @param whenFinished run on the background thread once the deletion completes or fails
+     */
+    public DeletionProgress deleteChildAsync(Long childId, Long userId, Runnable whenFinished) {
+        purgeFinishedJobs();
+
+        DeletionProgress progress = new DeletionProgress(UUID.randomUUID().toString(), userId, childId);
+        jobs.put(progress.jobId, progress);
+
+        executor.submit(() -> {
+            try {
+                deleteChild(childId, progress);
+            } catch (Exception e) {
+                log.error("Background deletion failed for child: {}", childId, e);
+                progress.status = DeletionProgress.FAILED;
+                progress.error = e.getMessage();
+                progress.finishedAt = LocalDateTime.now();
+            } finally {
+                whenFinished.run();
+            }
+        });
+        return progress;
+    }
+
+    public DeletionProgress getProgress(String jobId, Long userId) {
+        DeletionProgress progress = jobs.get(jobId);
+        if (progress == null || !progress.userId.equals(userId)) {
+            throw new IllegalArgumentException("Deletion job not found");
+        }
+        return progress;
+    }
+
+    /**
+     * Removes every child of the user with the same chunked deletes, then the user row.
+     */
+    public void deleteUser(Long userId) {
+        log.info("Deleting user and all children: {}", userId);
+
+        for (Long childId : deletionRepo.findChildIds(userId)) {
+            deleteChild(childId, userId);
+        }
+        transactionTemplate.executeWithoutResult(status -> deletionRepo.deleteUser(userId));
+    }
+
+    private void deleteChild(Long childId, DeletionProgress progress) {
+        progress.status = DeletionProgress.RUNNING;
+
+        for (EntryType type : EntryType.values()) {
+            progress.currentTable = type.getTable();
+            int deleted;
+            do {
+                Integer count = transactionTemplate.execute(
+                        status -> deletionRepo.deleteEntryChunk(type, childId, chunkSize));
+                deleted = count == null ? 0 : count;
+                progress.rowsDeleted.addAndGet(deleted);
+            } while (deleted == chunkSize);
+        }
+
+        progress.currentTable = "children";
+        transactionTemplate.executeWithoutResult(status -> {
+            deletionRepo.deleteChild(childId);
+            feedRepo.recordTombstones(progress.userId, childId, ChangeFeedRepository.CHILD, List.of(childId));
+        });
+        for (EntryType type : EntryType.values()) {
+            listCache.invalidate(type, childId);
+            invalidationBus.publishEntries(type, childId);
+        }
+        events.publish(new DomainEvent.ChildDeleted(progress.userId, childId));
+
+        progress.currentTable = null;
+        progress.status = DeletionProgress.COMPLETED;
+        progress.finishedAt = LocalDateTime.now();
+        log.info("Child deleted: {} ({} entries removed)", childId, progress.rowsDeleted.get());
+    }
+
+    private void purgeFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(FINISHED_JOB_RETENTION);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    public static class DeletionProgress {
+        public static final String QUEUED = "queued";
+        public static final String RUNNING = "running";
+        public static final String COMPLETED = "completed";
+        public static final String FAILED = "failed";
+
+        public final String jobId;
+        public final Long childId;
+        public final LocalDateTime startedAt = LocalDateTime.now();
+        public final AtomicLong rowsDeleted = new AtomicLong();
+        public volatile String status = QUEUED;
+        public volatile String currentTable;
+        public volatile LocalDateTime finishedAt;
+        public volatile String error;
+
+        private final Long userId;
+
+        DeletionProgress(String jobId, Long userId, Long childId) {
+            this.jobId = jobId;
+            this.userId = userId;
+            this.childId = childId;
+        }
+    }
+}
@@ -1,12 +1,15 @@
 package com.toddlerspeechtracker.toddlerspeechtracker_gradle.service;
 
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.config.JfrEvents;
 import com.toddlerspeechtracker.toddlerspeechtracker_gradle.model.Child;
 import com.toddlerspeechtracker.toddlerspeechtracker_gradle.model.User;
 import com.toddlerspeechtracker.toddlerspeechtracker_gradle.repo.ChildRepository;
 import com.toddlerspeechtracker.toddlerspeechtracker_gradle.repo.UserRepository;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -17,19 +20,34 @@ public class ChildService {
 
     private final ChildRepository childRepo;
     private final UserRepository userRepo;
-
-    public ChildService(ChildRepository childRepo, UserRepository userRepo) {
+    private final ChildDeletionService deletionService;
+    private final SingleFlight singleFlight;
+    private final InvalidationBus invalidationBus;
+    private final DomainEventBus events;
+    private final TransactionTemplate readOnly;
+
+    public ChildService(ChildRepository childRepo, UserRepository userRepo, ChildDeletionService deletionService,
+                        SingleFlight singleFlight, InvalidationBus invalidationBus, DomainEventBus events,
+                        PlatformTransactionManager transactionManager) {
         this.childRepo = childRepo;
         this.userRepo = userRepo;
+        this.deletionService = deletionService;
+        this.singleFlight = singleFlight;
+        this.invalidationBus = invalidationBus;
+        this.events = events;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
     }
 
     public List<Child> getChildrenByUserId(Long userId) {
-        log.info("Fetching children for user: " + userId);
-        return childRepo.findByUser_UserId(userId);
+        log.debug("Fetching children for user: {}", userId);
+        return singleFlight.execute("CHILDREN:" + userId + ":",
+                () -> readOnly.execute(status -> childRepo.findByUser_UserId(userId)));
     }
 
+    @Transactional(readOnly = true)
     public Child getChild(Long childId, Long userId) {
-        log.info("Fetching child: " + childId + " for user: " + userId);
+        log.debug("Fetching child: {} for user: {}", childId, userId);
 
         Child child = childRepo.findById(childId)
                 .orElseThrow(() -> new IllegalArgumentException("Child not found"));
@@ -44,7 +62,7 @@ public class ChildService {
 
     @Transactional
     public Child addChild(Long userId, String childName, LocalDate birthDate) {
-        log.info("Adding child for user: " + userId);
+        log.info("Adding child for user: {}", userId);
 
         if (childName == null || childName.trim().isEmpty()) {
             throw new IllegalArgumentException("Child name is required");
@@ -59,14 +77,16 @@ public class ChildService {
         child.setBirthDate(birthDate);
 
         Child savedChild = childRepo.save(child);
-        log.info("Child added successfully: " + savedChild.getChildName());
+        childrenChanged(userId);
+        events.publish(new DomainEvent.ChildAdded(userId, savedChild.getChildId()));
+        log.info("Child added successfully: {}", savedChild.getChildName());
 
         return savedChild;
     }
 
     @Transactional
     public Child updateChild(Long childId, Long userId, String childName, LocalDate birthDate) {
-        log.info("Updating child: " + childId);
+        log.info("Updating child: {}", childId);
 
         Child child = getChild(childId, userId); // This verifies ownership
 
@@ -79,18 +99,50 @@ public class ChildService {
         }
 
         Child updatedChild = childRepo.save(child);
-        log.info("Child updated successfully: " + updatedChild.getChildName());
+        childrenChanged(userId);
+        events.publish(new DomainEvent.ChildUpdated(userId, childId));
+        log.info("Child updated successfully: {}", updatedChild.getChildName());
 
         return updatedChild;
     }
 
-    @Transactional
     public void deleteChild(Long childId, Long userId) {
-        log.info("Deleting child: " + childId);
+        log.info("Deleting child: {}", childId);
 
-        Child child = getChild(childId, userId); // This verifies ownership
+        verifyOwnership(childId, userId);
+
+        deletionService.deleteChild(childId, userId);
+        childrenChanged(userId);
+        log.info("Child deleted successfully: {}", childId);
+    }
+
+    public ChildDeletionService.DeletionProgress deleteChildAsync(Long childId, Long userId) {
+        log.info("Queueing deletion of child: {}", childId);
 
-        childRepo.delete(child);
-        log.info("Child deleted successfully: " + childId);
+        verifyOwnership(childId, userId);
+
+        // Invalidated when the job finishes: until then the child row is still there to list
+        return deletionService.deleteChildAsync(childId, userId, () -> childrenChanged(userId));
+    }
+
+    private void childrenChanged(Long userId) {
+        singleFlight.forget("CHILDREN:" + userId + ":");
+        invalidationBus.publishChildren(userId);
+    }
+
+    private void verifyOwnership(Long childId, Long userId) {
+        JfrEvents.OwnershipCheck event = new JfrEvents.OwnershipCheck();
+        event.begin();
+        boolean owned = childRepo.existsByChildIdAndUser_UserId(childId, userId);
+        event.childId = childId;
+        event.userId = userId;
+        event.granted = owned;
+        event.commit();
+
+        if (!owned) {
+            throw new IllegalArgumentException(childRepo.existsById(childId)
+                    ? "Access denied: This child does not belong to you"
+                    : "Child not found");
+        }
     }
-}
\ No newline at end of file
+}
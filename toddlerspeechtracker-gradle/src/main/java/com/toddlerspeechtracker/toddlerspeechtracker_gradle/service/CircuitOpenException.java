@@ -0,0 +1,12 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.service;
+
+/**
+ * Thrown by {@link SheetsApiClient} without calling Google while its circuit breaker
+ * is open or a probe is already in flight.
+ */
+public class CircuitOpenException extends IllegalStateException {
+
+    public CircuitOpenException(String message) {
+        super(message);
+    }
+}
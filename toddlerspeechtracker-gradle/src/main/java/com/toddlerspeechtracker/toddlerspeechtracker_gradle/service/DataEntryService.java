@@ -1,12 +1,20 @@
 package com.toddlerspeechtracker.toddlerspeechtracker_gradle.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.config.JfrEvents;
 import com.toddlerspeechtracker.toddlerspeechtracker_gradle.model.*;
 import com.toddlerspeechtracker.toddlerspeechtracker_gradle.repo.*;
+import jakarta.persistence.EntityNotFoundException;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Map;
 
 @Log4j2
 @Service
@@ -17,25 +25,124 @@ public class DataEntryService {
     private final SongRepository songRepo;
     private final LetterRepository letterRepo;
     private final ChildRepository childRepo;
+    private final EntryPatchRepository patchRepo;
+    private final ChangeFeedRepository feedRepo;
+    private final SingleFlight singleFlight;
+    private final EntryListCache listCache;
+    private final InvalidationBus invalidationBus;
+    private final DomainEventBus events;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnly;
 
     public DataEntryService(
             WordRepository wordRepo,
             PhraseRepository phraseRepo,
             SongRepository songRepo,
             LetterRepository letterRepo,
-            ChildRepository childRepo) {
+            ChildRepository childRepo,
+            EntryPatchRepository patchRepo,
+            ChangeFeedRepository feedRepo,
+            SingleFlight singleFlight,
+            EntryListCache listCache,
+            InvalidationBus invalidationBus,
+            DomainEventBus events,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager) {
         this.wordRepo = wordRepo;
         this.phraseRepo = phraseRepo;
         this.songRepo = songRepo;
         this.letterRepo = letterRepo;
         this.childRepo = childRepo;
+        this.patchRepo = patchRepo;
+        this.feedRepo = feedRepo;
+        this.singleFlight = singleFlight;
+        this.listCache = listCache;
+        this.invalidationBus = invalidationBus;
+        this.events = events;
+        this.objectMapper = objectMapper;
+        // Getters run their transaction inside the shared call, so callers that
+        // join an in-flight read do not hold a connection while they wait
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
     }
 
-    private Child verifyChildAccess(Long childId, Long userId) {
-        Child child = childRepo.findById(childId)
-                .orElseThrow(() -> new IllegalArgumentException("Child not found"));
+    /**
+     * Called by every write to a child's entries, including batch and sync writes.
+     * Evicts this node's copies now and tells the other nodes once the write commits.
+     */
+    public void entriesChanged(EntryType type, Long childId) {
+        singleFlight.forget(type.name() + ":" + childId + ":");
+        listCache.invalidate(type, childId);
+        invalidationBus.publishEntries(type, childId);
+    }
+
+    private void entryDeleted(EntryType type, Long childId, Long userId, Long entryId) {
+        feedRepo.recordTombstones(userId, childId, type.name(), List.of(entryId));
+        entriesChanged(type, childId);
+        events.publish(new DomainEvent.EntryDeleted(type, childId, entryId));
+    }
+
+    /**
+     * The child's entries of one type as the JSON array the list endpoints return.
+     * Served from {@link EntryListCache} when possible, which skips both the queries
+     * and serialization; the cached owner id stands in for the ownership check.
+     */
+    public byte[] getEntriesJson(EntryType type, Long childId, Long userId) {
+        // The list endpoints take no query parameters yet
+        String params = "";
+        EntryListCache.Entry cached = listCache.get(type, childId, params);
+        if (cached != null) {
+            if (!cached.ownerId().equals(userId)) {
+                throw new IllegalArgumentException("Access denied: This child does not belong to you");
+            }
+            return cached.json();
+        }
+
+        return singleFlight.execute(flightKey(type, childId, userId), () -> {
+            long generation = listCache.generation(type, childId);
+            List<?> entries = readOnly.execute(status -> {
+                verifyChildAccess(childId, userId);
+                return findEntries(type, childId);
+            });
+            try {
+                byte[] json = objectMapper.writeValueAsBytes(entries);
+                listCache.put(type, childId, params, generation, userId, json);
+                return json;
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private List<?> findEntries(EntryType type, Long childId) {
+        return switch (type) {
+            case WORD -> wordRepo.findByChild_ChildId(childId);
+            case PHRASE -> phraseRepo.findByChild_ChildId(childId);
+            case SONG -> songRepo.findByChild_ChildId(childId);
+            case LETTER -> letterRepo.findByChild_ChildId(childId);
+        };
+    }
 
-        if (!child.getUser().getUserId().equals(userId)) {
+    private static String flightKey(EntryType type, Long childId, Long userId) {
+        // Keyed per user too: the ownership check runs inside the shared call
+        return type.name() + ":" + childId + ":" + userId;
+    }
+
+    private Child verifyChildAccess(Long childId, Long userId) {
+        JfrEvents.OwnershipCheck event = new JfrEvents.OwnershipCheck();
+        event.begin();
+        event.childId = childId;
+        event.userId = userId;
+
+        Child child = childRepo.findById(childId).orElse(null);
+        boolean granted = child != null && child.getUser().getUserId().equals(userId);
+        event.granted = granted;
+        event.commit();
+
+        if (child == null) {
+            throw new IllegalArgumentException("Child not found");
+        }
+        if (!granted) {
             throw new IllegalArgumentException("Access denied: This child does not belong to you");
         }
 
@@ -44,11 +151,6 @@ public class DataEntryService {
 
     // ========== WORD OPERATIONS ==========
 
-    public List<Word> getWords(Long childId, Long userId) {
-        verifyChildAccess(childId, userId);
-        return wordRepo.findByChild_ChildId(childId);
-    }
-
     @Transactional
     public Word addWord(Long childId, Long userId, Word word) {
         Child child = verifyChildAccess(childId, userId);
@@ -60,20 +162,20 @@ public class DataEntryService {
         word.setChild(child);
         word.setWordId(null); // Ensure it's a new record
 
-        return wordRepo.save(word);
+        Word saved = wordRepo.save(word);
+        entriesChanged(EntryType.WORD, childId);
+        events.publish(new DomainEvent.EntryAdded(EntryType.WORD, childId, saved.getWordId()));
+        return saved;
     }
 
     @Transactional
     public Word updateWord(Long wordId, Long childId, Long userId, Word updatedWord) {
         verifyChildAccess(childId, userId);
 
-        Word existingWord = wordRepo.findById(wordId)
+        // Looked up by child too, so only the child's partition is read
+        Word existingWord = wordRepo.findByWordIdAndChild_ChildId(wordId, childId)
                 .orElseThrow(() -> new IllegalArgumentException("Word not found"));
 
-        if (!existingWord.getChild().getChildId().equals(childId)) {
-            throw new IllegalArgumentException("Word does not belong to this child");
-        }
-
         // Update fields
         if (updatedWord.getWord() != null) {
             existingWord.setWord(updatedWord.getWord());
@@ -86,30 +188,21 @@ public class DataEntryService {
         existingWord.setNotes(updatedWord.getNotes());
         existingWord.setLearningSource(updatedWord.getLearningSource());
 
+        entriesChanged(EntryType.WORD, childId);
+        events.publish(new DomainEvent.EntryUpdated(EntryType.WORD, childId, wordId));
         return wordRepo.save(existingWord);
     }
 
     @Transactional
     public void deleteWord(Long wordId, Long childId, Long userId) {
-        verifyChildAccess(childId, userId);
-
-        Word word = wordRepo.findById(wordId)
-                .orElseThrow(() -> new IllegalArgumentException("Word not found"));
-
-        if (!word.getChild().getChildId().equals(childId)) {
-            throw new IllegalArgumentException("Word does not belong to this child");
+        if (wordRepo.deleteOwned(wordId, childId, userId) == 0) {
+            throw new EntityNotFoundException("Word not found");
         }
-
-        wordRepo.delete(word);
+        entryDeleted(EntryType.WORD, childId, userId, wordId);
     }
 
     // ========== PHRASE OPERATIONS ==========
 
-    public List<Phrase> getPhrases(Long childId, Long userId) {
-        verifyChildAccess(childId, userId);
-        return phraseRepo.findByChild_ChildId(childId);
-    }
-
     @Transactional
     public Phrase addPhrase(Long childId, Long userId, Phrase phrase) {
         Child child = verifyChildAccess(childId, userId);
@@ -121,20 +214,20 @@ public class DataEntryService {
         phrase.setChild(child);
         phrase.setPhraseId(null);
 
-        return phraseRepo.save(phrase);
+        Phrase saved = phraseRepo.save(phrase);
+        entriesChanged(EntryType.PHRASE, childId);
+        events.publish(new DomainEvent.EntryAdded(EntryType.PHRASE, childId, saved.getPhraseId()));
+        return saved;
     }
 
     @Transactional
     public Phrase updatePhrase(Long phraseId, Long childId, Long userId, Phrase updatedPhrase) {
         verifyChildAccess(childId, userId);
 
-        Phrase existingPhrase = phraseRepo.findById(phraseId)
+        // Looked up by child too, so only the child's partition is read
+        Phrase existingPhrase = phraseRepo.findByPhraseIdAndChild_ChildId(phraseId, childId)
                 .orElseThrow(() -> new IllegalArgumentException("Phrase not found"));
 
-        if (!existingPhrase.getChild().getChildId().equals(childId)) {
-            throw new IllegalArgumentException("Phrase does not belong to this child");
-        }
-
         if (updatedPhrase.getPhrase() != null) {
             existingPhrase.setPhrase(updatedPhrase.getPhrase());
         }
@@ -144,30 +237,21 @@ public class DataEntryService {
         existingPhrase.setLearningSource(updatedPhrase.getLearningSource());
         existingPhrase.setNotes(updatedPhrase.getNotes());
 
+        entriesChanged(EntryType.PHRASE, childId);
+        events.publish(new DomainEvent.EntryUpdated(EntryType.PHRASE, childId, phraseId));
         return phraseRepo.save(existingPhrase);
     }
 
     @Transactional
     public void deletePhrase(Long phraseId, Long childId, Long userId) {
-        verifyChildAccess(childId, userId);
-
-        Phrase phrase = phraseRepo.findById(phraseId)
-                .orElseThrow(() -> new IllegalArgumentException("Phrase not found"));
-
-        if (!phrase.getChild().getChildId().equals(childId)) {
-            throw new IllegalArgumentException("Phrase does not belong to this child");
+        if (phraseRepo.deleteOwned(phraseId, childId, userId) == 0) {
+            throw new EntityNotFoundException("Phrase not found");
         }
-
-        phraseRepo.delete(phrase);
+        entryDeleted(EntryType.PHRASE, childId, userId, phraseId);
     }
 
     // ========== SONG OPERATIONS ==========
 
-    public List<Song> getSongs(Long childId, Long userId) {
-        verifyChildAccess(childId, userId);
-        return songRepo.findByChild_ChildId(childId);
-    }
-
     @Transactional
     public Song addSong(Long childId, Long userId, Song song) {
         Child child = verifyChildAccess(childId, userId);
@@ -179,20 +263,20 @@ public class DataEntryService {
         song.setChild(child);
         song.setSongId(null);
 
-        return songRepo.save(song);
+        Song saved = songRepo.save(song);
+        entriesChanged(EntryType.SONG, childId);
+        events.publish(new DomainEvent.EntryAdded(EntryType.SONG, childId, saved.getSongId()));
+        return saved;
     }
 
     @Transactional
     public Song updateSong(Long songId, Long childId, Long userId, Song updatedSong) {
         verifyChildAccess(childId, userId);
 
-        Song existingSong = songRepo.findById(songId)
+        // Looked up by child too, so only the child's partition is read
+        Song existingSong = songRepo.findBySongIdAndChild_ChildId(songId, childId)
                 .orElseThrow(() -> new IllegalArgumentException("Song not found"));
 
-        if (!existingSong.getChild().getChildId().equals(childId)) {
-            throw new IllegalArgumentException("Song does not belong to this child");
-        }
-
         if (updatedSong.getSongTitle() != null) {
             existingSong.setSongTitle(updatedSong.getSongTitle());
         }
@@ -200,30 +284,21 @@ public class DataEntryService {
         existingSong.setSource(updatedSong.getSource());
         existingSong.setNotes(updatedSong.getNotes());
 
+        entriesChanged(EntryType.SONG, childId);
+        events.publish(new DomainEvent.EntryUpdated(EntryType.SONG, childId, songId));
         return songRepo.save(existingSong);
     }
 
     @Transactional
     public void deleteSong(Long songId, Long childId, Long userId) {
-        verifyChildAccess(childId, userId);
-
-        Song song = songRepo.findById(songId)
-                .orElseThrow(() -> new IllegalArgumentException("Song not found"));
-
-        if (!song.getChild().getChildId().equals(childId)) {
-            throw new IllegalArgumentException("Song does not belong to this child");
+        if (songRepo.deleteOwned(songId, childId, userId) == 0) {
+            throw new EntityNotFoundException("Song not found");
         }
-
-        songRepo.delete(song);
+        entryDeleted(EntryType.SONG, childId, userId, songId);
     }
 
     // ========== LETTER OPERATIONS ==========
 
-    public List<Letter> getLetters(Long childId, Long userId) {
-        verifyChildAccess(childId, userId);
-        return letterRepo.findByChild_ChildId(childId);
-    }
-
     @Transactional
     public Letter addLetter(Long childId, Long userId, Letter letter) {
         Child child = verifyChildAccess(childId, userId);
@@ -235,20 +310,20 @@ public class DataEntryService {
         letter.setChild(child);
         letter.setLetterId(null);
 
-        return letterRepo.save(letter);
+        Letter saved = letterRepo.save(letter);
+        entriesChanged(EntryType.LETTER, childId);
+        events.publish(new DomainEvent.EntryAdded(EntryType.LETTER, childId, saved.getLetterId()));
+        return saved;
     }
 
     @Transactional
     public Letter updateLetter(Long letterId, Long childId, Long userId, Letter updatedLetter) {
         verifyChildAccess(childId, userId);
 
-        Letter existingLetter = letterRepo.findById(letterId)
+        // Looked up by child too, so only the child's partition is read
+        Letter existingLetter = letterRepo.findByLetterIdAndChild_ChildId(letterId, childId)
                 .orElseThrow(() -> new IllegalArgumentException("Letter not found"));
 
-        if (!existingLetter.getChild().getChildId().equals(childId)) {
-            throw new IllegalArgumentException("Letter does not belong to this child");
-        }
-
         if (updatedLetter.getLetters() != null) {
             existingLetter.setLetters(updatedLetter.getLetters());
         }
@@ -257,20 +332,34 @@ public class DataEntryService {
         existingLetter.setSoundItOut(updatedLetter.getSoundItOut());
         existingLetter.setSoundItOutDate(updatedLetter.getSoundItOutDate());
 
+        entriesChanged(EntryType.LETTER, childId);
+        events.publish(new DomainEvent.EntryUpdated(EntryType.LETTER, childId, letterId));
         return letterRepo.save(existingLetter);
     }
 
     @Transactional
     public void deleteLetter(Long letterId, Long childId, Long userId) {
-        verifyChildAccess(childId, userId);
+        if (letterRepo.deleteOwned(letterId, childId, userId) == 0) {
+            throw new EntityNotFoundException("Letter not found");
+        }
+        entryDeleted(EntryType.LETTER, childId, userId, letterId);
+    }
 
-        Letter letter = letterRepo.findById(letterId)
-                .orElseThrow(() -> new IllegalArgumentException("Letter not found"));
+    // ========== PARTIAL UPDATES ==========
 
-        if (!letter.getChild().getChildId().equals(childId)) {
-            throw new IllegalArgumentException("Letter does not belong to this child");
-        }
+    /**
+     * Applies only the supplied fields as one UPDATE guarded by child and user ownership.
+     * A missing entry and one belonging to someone else are indistinguishable and both
+     * surface as EntityNotFoundException.
+     */
+    @Transactional
+    public void patchEntry(EntryType type, Long entryId, Long childId, Long userId, Map<String, Object> changes) {
+        Map<String, Object> values = type.toColumnValues(changes);
 
-        letterRepo.delete(letter);
+        if (patchRepo.patch(type, entryId, childId, userId, values) == 0) {
+            throw new EntityNotFoundException(type.getLabel() + " not found");
+        }
+        entriesChanged(type, childId);
+        events.publish(new DomainEvent.EntryUpdated(type, childId, entryId));
     }
-}
\ No newline at end of file
+}
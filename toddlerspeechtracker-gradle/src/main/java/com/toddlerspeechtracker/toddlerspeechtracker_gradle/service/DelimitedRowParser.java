@@ -0,0 +1,62 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 reader: quoted fields may contain separators, doubled quotes
+ * and line breaks. Returns one row per call so callers never buffer the whole file.
+ */
+final class DelimitedRowParser {
+
+    private DelimitedRowParser() {
+    }
+
+    /**
+     * @param reader must support mark/reset (BufferedReader, CharArrayReader)
+     * @return the next row, or null at end of input
+     */
+    static List<Object> readRow(Reader reader, char separator) throws IOException {
+        List<Object> row = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean any = false;
+
+        int c;
+        while ((c = reader.read()) != -1) {
+            any = true;
+            char ch = (char) c;
+            if (quoted) {
+                if (ch == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (next != -1) reader.reset();
+                    }
+                } else {
+                    field.append(ch);
+                }
+            } else if (ch == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (ch == separator) {
+                row.add(field.toString());
+                field.setLength(0);
+            } else if (ch == '\n') {
+                break;
+            } else if (ch != '\r') {
+                field.append(ch);
+            }
+        }
+
+        if (!any) {
+            return null;
+        }
+        row.add(field.toString());
+        return row;
+    }
+}
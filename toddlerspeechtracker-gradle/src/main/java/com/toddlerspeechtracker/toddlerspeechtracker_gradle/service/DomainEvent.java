@@ -0,0 +1,47 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.service;
+
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.model.EntryType;
+
+import java.util.List;
+
+/**
+ * Committed changes to children and their entries, published through
+ * {@link DomainEventBus}. Entry events carry the {@link EntryType} rather than
+ * having a class per entity, the same way batch operations and patches do.
+ */
+public sealed interface DomainEvent {
+
+    Long childId();
+
+    record EntryAdded(EntryType type, Long childId, Long entryId) implements DomainEvent {
+    }
+
+    record EntryUpdated(EntryType type, Long childId, Long entryId) implements DomainEvent {
+    }
+
+    record EntryDeleted(EntryType type, Long childId, Long entryId) implements DomainEvent {
+    }
+
+    /**
+     * The rows of one chunk of a tab that a sync or file import inserted or updated,
+     * in place of an event per row; a tab publishes one per chunk.
+     *
+     * @param kind {@link SyncRunTracker#SYNC} or {@link SyncRunTracker#IMPORT}
+     */
+    record EntriesSynced(EntryType type, Long childId, String kind,
+                         List<Long> insertedIds, List<Long> updatedIds) implements DomainEvent {
+    }
+
+    record SyncCompleted(Long childId, String kind, String source,
+                         int inserted, int updated, int skipped, int failed) implements DomainEvent {
+    }
+
+    record ChildAdded(Long userId, Long childId) implements DomainEvent {
+    }
+
+    record ChildUpdated(Long userId, Long childId) implements DomainEvent {
+    }
+
+    record ChildDeleted(Long userId, Long childId) implements DomainEvent {
+    }
+}
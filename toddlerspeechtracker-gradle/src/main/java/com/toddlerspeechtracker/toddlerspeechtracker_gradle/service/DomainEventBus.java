@@ -0,0 +1,190 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands committed {@link DomainEvent}s to every {@link DomainEventSubscriber} bean.
+ * Inside a transaction an event is held until commit and discarded on rollback.
+ * <p>
+ * Each subscriber has its own bounded queue and thread, so a slow subscriber only
+ * delays itself, and publishing never blocks: when a queue is full the event is
+ * dropped for that subscriber and counted. The thread takes whatever has queued up,
+ * to the subscriber's batch size, and delivers it in one call.
+ */
+@Log4j2
+@Component
+public class DomainEventBus implements SmartInitializingSingleton {
+
+    private final ObjectProvider<DomainEventSubscriber> subscriberProvider;
+    private final AtomicLong published = new AtomicLong();
+
+    @Value("${events.enabled:true}")
+    private boolean enabled;
+
+    private volatile List<Channel> channels = List.of();
+    private volatile boolean running;
+
+    public DomainEventBus(ObjectProvider<DomainEventSubscriber> subscriberProvider) {
+        this.subscriberProvider = subscriberProvider;
+    }
+
+    /**
+     * Subscribers are looked up once every singleton exists, so they may depend on
+     * the services that publish to them.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        List<Channel> started = new ArrayList<>();
+        subscriberProvider.orderedStream().forEach(subscriber -> {
+            Channel channel = new Channel(subscriber);
+            Thread thread = new Thread(channel, "events-" + subscriber.name());
+            thread.setDaemon(true);
+            channel.thread = thread;
+            thread.start();
+            started.add(channel);
+            log.info("Domain event subscriber {} started (queue {}, batch {})", subscriber.name(),
+                    subscriber.queueCapacity(), subscriber.maxBatchSize());
+        });
+        channels = List.copyOf(started);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        for (Channel channel : channels) {
+            // Threads finish what is already queued before exiting
+            channel.thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    public void publish(DomainEvent event) {
+        if (channels.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(event);
+                }
+            });
+        } else {
+            dispatch(event);
+        }
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> subscribers = new LinkedHashMap<>();
+        for (Channel channel : channels) {
+            subscribers.put(channel.subscriber.name(), channel.getMetrics());
+        }
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("enabled", running);
+        metrics.put("published", published.get());
+        metrics.put("subscribers", subscribers);
+        return metrics;
+    }
+
+    private void dispatch(DomainEvent event) {
+        published.incrementAndGet();
+        Published entry = new Published(event, System.nanoTime());
+        for (Channel channel : channels) {
+            if (!channel.queue.offer(entry) && channel.dropped.incrementAndGet() % 1000 == 1) {
+                log.warn("Domain event queue for {} is full; {} event(s) dropped so far",
+                        channel.subscriber.name(), channel.dropped.get());
+            }
+        }
+    }
+
+    private record Published(DomainEvent event, long publishedNanos) {
+    }
+
+    private final class Channel implements Runnable {
+        private final DomainEventSubscriber subscriber;
+        private final BlockingQueue<Published> queue;
+        private final AtomicLong delivered = new AtomicLong();
+        private final AtomicLong dropped = new AtomicLong();
+        private final AtomicLong batches = new AtomicLong();
+        private final AtomicLong failedBatches = new AtomicLong();
+        private volatile long lastLagMillis;
+        private volatile long maxLagMillis;
+        private Thread thread;
+
+        Channel(DomainEventSubscriber subscriber) {
+            this.subscriber = subscriber;
+            this.queue = new ArrayBlockingQueue<>(subscriber.queueCapacity());
+        }
+
+        @Override
+        public void run() {
+            List<Published> batch = new ArrayList<>(subscriber.maxBatchSize());
+            while (running || !queue.isEmpty()) {
+                try {
+                    Published first = queue.poll(200, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                queue.drainTo(batch, subscriber.maxBatchSize() - 1);
+                deliver(batch);
+                batch.clear();
+            }
+        }
+
+        private void deliver(List<Published> batch) {
+            List<DomainEvent> events = new ArrayList<>(batch.size());
+            batch.forEach(entry -> events.add(entry.event()));
+            try {
+                subscriber.onEvents(events);
+                delivered.addAndGet(events.size());
+            } catch (RuntimeException e) {
+                failedBatches.incrementAndGet();
+                log.error("Domain event subscriber {} failed on a batch of {}: {}",
+                        subscriber.name(), events.size(), e.getMessage(), e);
+            }
+            batches.incrementAndGet();
+
+            // The oldest event in the batch waited longest
+            long lag = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - batch.get(0).publishedNanos());
+            lastLagMillis = lag;
+            maxLagMillis = Math.max(maxLagMillis, lag);
+        }
+
+        Map<String, Object> getMetrics() {
+            Map<String, Object> metrics = new LinkedHashMap<>();
+            metrics.put("queued", queue.size());
+            metrics.put("capacity", subscriber.queueCapacity());
+            metrics.put("delivered", delivered.get());
+            metrics.put("dropped", dropped.get());
+            metrics.put("batches", batches.get());
+            metrics.put("failedBatches", failedBatches.get());
+            metrics.put("lastLagMillis", lastLagMillis);
+            metrics.put("maxLagMillis", maxLagMillis);
+            return metrics;
+        }
+    }
+}
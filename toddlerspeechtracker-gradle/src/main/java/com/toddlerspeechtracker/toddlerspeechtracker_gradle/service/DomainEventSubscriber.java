@@ -0,0 +1,30 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.service;
+
+import java.util.List;
+
+/**
+ * A bean that receives {@link DomainEvent}s on its own thread, in batches, in the
+ * order they were committed. Events that arrive while the subscriber's queue is full
+ * are dropped and counted, so a subscriber that must not miss anything should treat
+ * events as hints and read the database for the truth.
+ */
+public interface DomainEventSubscriber {
+
+    /**
+     * Used for the thread name and in metrics.
+     */
+    String name();
+
+    /**
+     * Exceptions are logged and the batch is skipped.
+     */
+    void onEvents(List<DomainEvent> events);
+
+    default int queueCapacity() {
+        return 10_000;
+    }
+
+    default int maxBatchSize() {
+        return 100;
+    }
+}
@@ -0,0 +1,240 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.service;
+
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.config.JfrEvents;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.model.EntryType;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.repo.ChangeFeedRepository;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.repo.ChildRepository;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.repo.EntryBatchRepository;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Applies a list of create/update/delete operations for one child in a single
+ * transaction. Ownership is checked once for the whole batch. Operations apply in
+ * request order, so an update followed by a delete of the same entry behaves as
+ * sent; each run of consecutive operations with the same type and statement shape
+ * becomes one JDBC batch.
+ */
+@Log4j2
+@Service
+public class EntryBatchService {
+
+    public static final int MAX_OPERATIONS = 500;
+
+    private final ChildRepository childRepo;
+    private final EntryBatchRepository batchRepo;
+    private final ChangeFeedRepository feedRepo;
+    private final DataEntryService dataEntryService;
+    private final DomainEventBus events;
+
+    public EntryBatchService(ChildRepository childRepo, EntryBatchRepository batchRepo,
+                             ChangeFeedRepository feedRepo, DataEntryService dataEntryService,
+                             DomainEventBus events) {
+        this.childRepo = childRepo;
+        this.batchRepo = batchRepo;
+        this.feedRepo = feedRepo;
+        this.dataEntryService = dataEntryService;
+        this.events = events;
+    }
+
+    @Transactional
+    public List<OperationResult> apply(Long childId, Long userId, List<BatchOperation> operations) {
+        if (operations == null || operations.isEmpty()) {
+            throw new IllegalArgumentException("No operations supplied");
+        }
+        if (operations.size() > MAX_OPERATIONS) {
+            throw new IllegalArgumentException("A batch may contain at most " + MAX_OPERATIONS + " operations");
+        }
+
+        List<Map<String, Object>> values = validate(operations);
+
+        JfrEvents.OwnershipCheck check = new JfrEvents.OwnershipCheck();
+        check.begin();
+        boolean owned = childRepo.existsByChildIdAndUser_UserId(childId, userId);
+        check.childId = childId;
+        check.userId = userId;
+        check.granted = owned;
+        check.commit();
+        if (!owned) {
+            throw new ChildAccessDeniedException();
+        }
+
+        List<OperationResult> results = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            BatchOperation operation = operations.get(i);
+            OperationResult result = new OperationResult();
+            result.index = i;
+            result.op = operation.op;
+            result.type = operation.type;
+            result.id = operation.id;
+            results.add(result);
+        }
+
+        // Consecutive operations with the same statement shape share one JDBC batch
+        int runStart = 0;
+        for (int i = 1; i <= operations.size(); i++) {
+            if (i < operations.size() && shape(operations.get(i), values.get(i))
+                    .equals(shape(operations.get(runStart), values.get(runStart)))) {
+                continue;
+            }
+            List<Integer> run = new ArrayList<>();
+            for (int j = runStart; j < i; j++) {
+                run.add(j);
+            }
+            switch (operations.get(runStart).op) {
+                case BatchOperation.CREATE -> applyCreates(childId, operations, values, results, run);
+                case BatchOperation.UPDATE -> applyUpdates(childId, operations, values, results, run);
+                default -> applyDeletes(childId, userId, operations, results, run);
+            }
+            runStart = i;
+        }
+
+        operations.stream().map(operation -> operation.type).distinct()
+                .forEach(type -> dataEntryService.entriesChanged(type, childId));
+        for (OperationResult result : results) {
+            switch (result.status) {
+                case OperationResult.CREATED ->
+                        events.publish(new DomainEvent.EntryAdded(result.type, childId, result.id));
+                case OperationResult.UPDATED ->
+                        events.publish(new DomainEvent.EntryUpdated(result.type, childId, result.id));
+                case OperationResult.DELETED ->
+                        events.publish(new DomainEvent.EntryDeleted(result.type, childId, result.id));
+                default -> {
+                }
+            }
+        }
+
+        log.info("Applied batch of {} operations for child: {}", operations.size(), childId);
+        return results;
+    }
+
+    private static String shape(BatchOperation operation, Map<String, Object> values) {
+        String shape = operation.op + ":" + operation.type;
+        return BatchOperation.UPDATE.equals(operation.op) ? shape + ":" + new TreeSet<>(values.keySet()) : shape;
+    }
+
+    private void applyCreates(Long childId, List<BatchOperation> operations, List<Map<String, Object>> values,
+                              List<OperationResult> results, List<Integer> run) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        run.forEach(i -> rows.add(values.get(i)));
+
+        List<Long> ids = batchRepo.insertAll(operations.get(run.get(0)).type, childId, rows);
+        for (int j = 0; j < ids.size(); j++) {
+            OperationResult result = results.get(run.get(j));
+            result.id = ids.get(j);
+            result.status = OperationResult.CREATED;
+        }
+    }
+
+    private void applyUpdates(Long childId, List<BatchOperation> operations, List<Map<String, Object>> values,
+                              List<OperationResult> results, List<Integer> run) {
+        EntryType type = operations.get(run.get(0)).type;
+        Set<String> properties = values.get(run.get(0)).keySet();
+        List<Long> ids = new ArrayList<>();
+        List<Map<String, Object>> changes = new ArrayList<>();
+        for (Integer i : run) {
+            ids.add(operations.get(i).id);
+            changes.add(values.get(i));
+        }
+
+        int[] counts = batchRepo.updateAll(type, childId, properties, ids, changes);
+        markResults(results, run, counts, OperationResult.UPDATED);
+    }
+
+    private void applyDeletes(Long childId, Long userId, List<BatchOperation> operations,
+                              List<OperationResult> results, List<Integer> run) {
+        EntryType type = operations.get(run.get(0)).type;
+        List<Long> ids = new ArrayList<>();
+        run.forEach(i -> ids.add(operations.get(i).id));
+
+        int[] counts = batchRepo.deleteAll(type, childId, ids);
+        markResults(results, run, counts, OperationResult.DELETED);
+
+        List<Long> deleted = new ArrayList<>();
+        run.stream().map(results::get)
+                .filter(result -> OperationResult.DELETED.equals(result.status))
+                .forEach(result -> deleted.add(result.id));
+        if (!deleted.isEmpty()) {
+            feedRepo.recordTombstones(userId, childId, type.name(), deleted);
+        }
+    }
+
+    private List<Map<String, Object>> validate(List<BatchOperation> operations) {
+        List<Map<String, Object>> values = new ArrayList<>(operations.size());
+
+        for (int i = 0; i < operations.size(); i++) {
+            BatchOperation operation = operations.get(i);
+            String prefix = "Operation " + i + ": ";
+
+            if (operation == null || operation.type == null) {
+                throw new IllegalArgumentException(prefix + "type is required");
+            }
+            if (!BatchOperation.CREATE.equals(operation.op)
+                    && !BatchOperation.UPDATE.equals(operation.op)
+                    && !BatchOperation.DELETE.equals(operation.op)) {
+                throw new IllegalArgumentException(prefix + "op must be create, update or delete");
+            }
+            if (!BatchOperation.CREATE.equals(operation.op) && operation.id == null) {
+                throw new IllegalArgumentException(prefix + "id is required");
+            }
+
+            try {
+                if (BatchOperation.DELETE.equals(operation.op)) {
+                    values.add(Map.of());
+                    continue;
+                }
+
+                // Checked before toColumnValues, whose "No fields to update" would not fit a create
+                if (BatchOperation.CREATE.equals(operation.op)
+                        && (operation.data == null || operation.data.get(operation.type.getKeyProperty()) == null)) {
+                    throw new IllegalArgumentException(operation.type.getLabel() + " is required");
+                }
+                Map<String, Object> columnValues = operation.type.toColumnValues(operation.data);
+                values.add(columnValues);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(prefix + e.getMessage());
+            }
+        }
+
+        return values;
+    }
+
+    private void markResults(List<OperationResult> results, List<Integer> indexes, int[] counts, String status) {
+        for (int j = 0; j < indexes.size(); j++) {
+            boolean applied = counts[j] > 0 || counts[j] == Statement.SUCCESS_NO_INFO;
+            results.get(indexes.get(j)).status = applied ? status : OperationResult.NOT_FOUND;
+        }
+    }
+
+    public static class BatchOperation {
+        public static final String CREATE = "create";
+        public static final String UPDATE = "update";
+        public static final String DELETE = "delete";
+
+        public String op;
+        public EntryType type;
+        public Long id;
+        public Map<String, Object> data;
+    }
+
+    public static class OperationResult {
+        public static final String CREATED = "created";
+        public static final String UPDATED = "updated";
+        public static final String DELETED = "deleted";
+        public static final String NOT_FOUND = "not_found";
+
+        public int index;
+        public String op;
+        public EntryType type;
+        public Long id;
+        public String status;
+    }
+}
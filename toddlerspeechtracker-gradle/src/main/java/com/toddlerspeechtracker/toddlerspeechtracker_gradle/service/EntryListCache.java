@@ -0,0 +1,162 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.service;
+
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.model.EntryType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Least-recently-used cache of entry lists already serialized to JSON, keyed by
+ * (child, type, query params) and bounded by entry count and total bytes. Each entry
+ * remembers the child's owner so a hit can be authorized without the database.
+ * <p>
+ * Writes call {@link #invalidate} for the (type, child) they touched. A read that
+ * raced with a write must not store its now-stale result, so every (type, child) has
+ * a generation: loaders take it before reading and {@link #put} is ignored if an
+ * invalidation happened in between.
+ */
+@Component
+public class EntryListCache {
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private long bytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong stalePuts = new AtomicLong();
+
+    @Value("${cache.entries.enabled:true}")
+    private boolean enabled;
+
+    @Value("${cache.entries.maxEntries:10000}")
+    private int maxEntries;
+
+    @Value("${cache.entries.maxBytes:67108864}")
+    private long maxBytes;
+
+    public record Entry(Long ownerId, byte[] json) {
+    }
+
+    public Entry get(EntryType type, Long childId, String params) {
+        if (!enabled) {
+            return null;
+        }
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key(type, childId, params));
+        }
+        (entry == null ? misses : hits).incrementAndGet();
+        return entry;
+    }
+
+    /**
+     * Take this before reading from the database and pass it to {@link #put}.
+     */
+    public long generation(EntryType type, Long childId) {
+        return generations.computeIfAbsent(prefix(type, childId), k -> new AtomicLong()).get();
+    }
+
+    public void put(EntryType type, Long childId, String params, long generation, Long ownerId, byte[] json) {
+        if (!enabled || json.length > maxBytes) {
+            return;
+        }
+        synchronized (this) {
+            // Checked under the lock so an invalidation cannot slip in before the insert
+            if (generation(type, childId) != generation) {
+                stalePuts.incrementAndGet();
+                return;
+            }
+            Entry previous = entries.put(key(type, childId, params), new Entry(ownerId, json));
+            bytes += json.length - (previous == null ? 0 : previous.json().length);
+
+            Iterator<Entry> eldest = entries.values().iterator();
+            while ((entries.size() > maxEntries || bytes > maxBytes) && eldest.hasNext()) {
+                bytes -= eldest.next().json().length;
+                eldest.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Drops every cached list of this type for the child. Inside a transaction the
+     * entries are dropped now and again after commit, so neither a read before the
+     * commit nor one racing with it can leave the old list behind.
+     */
+    public void invalidate(EntryType type, Long childId) {
+        invalidations.incrementAndGet();
+        evict(prefix(type, childId));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(prefix(type, childId));
+                }
+            });
+        }
+    }
+
+    /**
+     * Drops everything, for when invalidations may have been missed.
+     */
+    public void clear() {
+        synchronized (this) {
+            generations.values().forEach(AtomicLong::incrementAndGet);
+            evictions.addAndGet(entries.size());
+            entries.clear();
+            bytes = 0;
+        }
+    }
+
+    public Map<String, Object> getMetrics() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("enabled", enabled);
+        synchronized (this) {
+            metrics.put("entries", entries.size());
+            metrics.put("bytes", bytes);
+        }
+        metrics.put("maxEntries", maxEntries);
+        metrics.put("maxBytes", maxBytes);
+        metrics.put("hits", hitCount);
+        metrics.put("misses", missCount);
+        metrics.put("hitRatio", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        metrics.put("evictions", evictions.get());
+        metrics.put("invalidations", invalidations.get());
+        metrics.put("stalePutsDiscarded", stalePuts.get());
+        return metrics;
+    }
+
+    private void evict(String prefix) {
+        synchronized (this) {
+            generations.computeIfAbsent(prefix, k -> new AtomicLong()).incrementAndGet();
+            Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<String, Entry> entry = it.next();
+                if (entry.getKey().startsWith(prefix)) {
+                    bytes -= entry.getValue().json().length;
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    private static String prefix(EntryType type, Long childId) {
+        return type.name() + ":" + childId + ":";
+    }
+
+    private static String key(EntryType type, Long childId, String params) {
+        return prefix(type, childId) + params;
+    }
+}
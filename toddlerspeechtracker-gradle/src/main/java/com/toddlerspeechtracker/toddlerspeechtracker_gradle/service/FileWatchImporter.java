@@ -0,0 +1,230 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Imports tabs that families keep as local CSV/TSV files instead of a Google
+ * Sheet. Each configured directory belongs to one child and may contain
+ * {@code Words}, {@code Phrases}, {@code Songs} and {@code Letters} exports
+ * ({@code .csv} or {@code .tsv}). Changed files go through the same column
+ * mapping and upsert rules as a Sheets sync.
+ * <p>
+ * A file is only re-imported when its size or modified time changed and its
+ * SHA-256 differs from the last import, so touching or re-saving an unchanged
+ * export costs one hash at most.
+ */
+@Log4j2
+@Component
+@ConditionalOnProperty(name = "imports.watch.enabled", havingValue = "true")
+public class FileWatchImporter {
+
+    private static final List<String> TABS = List.of("Words", "Phrases", "Songs", "Letters");
+
+    private final GoogleSheetsService sheetsService;
+    private final Map<Path, Long> childByDirectory = new HashMap<>();
+    private final Map<Path, FileState> imported = new HashMap<>();
+
+    /**
+     * Comma-separated {@code childId:directory} pairs, e.g. {@code 1:/data/emma,2:/data/noah}.
+     */
+    @Value("${imports.watch.dirs:}")
+    private String directories;
+
+    /**
+     * Editors often write a file in several steps; changes are collected for this long before importing.
+     */
+    @Value("${imports.watch.settleMillis:500}")
+    private long settleMillis;
+
+    private WatchService watchService;
+    private Thread watcher;
+
+    public FileWatchImporter(GoogleSheetsService sheetsService) {
+        this.sheetsService = sheetsService;
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        for (String entry : directories.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int colon = entry.indexOf(':');
+            if (colon < 1) {
+                throw new IllegalArgumentException("Expected childId:directory in imports.watch.dirs, got: " + entry);
+            }
+            Long childId = Long.valueOf(entry.substring(0, colon).trim());
+            Path directory = Paths.get(entry.substring(colon + 1).trim()).toAbsolutePath().normalize();
+            childByDirectory.put(directory, childId);
+        }
+        if (childByDirectory.isEmpty()) {
+            log.warn("imports.watch.enabled is set but imports.watch.dirs is empty");
+            return;
+        }
+
+        watchService = FileSystems.getDefault().newWatchService();
+        for (Path directory : childByDirectory.keySet()) {
+            Files.createDirectories(directory);
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+            log.info("Watching {} for exports of child {}", directory, childByDirectory.get(directory));
+        }
+
+        watcher = new Thread(this::run, "file-watch-importer");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    @PreDestroy
+    void stop() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    private void run() {
+        // Pick up anything exported while the application was down
+        for (Path directory : childByDirectory.keySet()) {
+            for (String tab : TABS) {
+                importIfChanged(directory.resolve(tab + ".csv"));
+                importIfChanged(directory.resolve(tab + ".tsv"));
+            }
+        }
+
+        try {
+            while (true) {
+                Set<Path> changed = new LinkedHashSet<>();
+                WatchKey key = watchService.take();
+                do {
+                    collect(key, changed);
+                } while ((key = watchService.poll(settleMillis, TimeUnit.MILLISECONDS)) != null);
+
+                changed.forEach(this::importIfChanged);
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            log.info("File watch importer stopped");
+        }
+    }
+
+    private void collect(WatchKey key, Set<Path> changed) {
+        Path directory = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                // Events were lost; let change detection sort out which files to import
+                TABS.forEach(tab -> {
+                    changed.add(directory.resolve(tab + ".csv"));
+                    changed.add(directory.resolve(tab + ".tsv"));
+                });
+            } else {
+                changed.add(directory.resolve((Path) event.context()));
+            }
+        }
+        if (!key.reset()) {
+            log.warn("Watch on {} is no longer valid", directory);
+        }
+    }
+
+    private void importIfChanged(Path file) {
+        String tab = tabFor(file);
+        Long childId = childByDirectory.get(file.getParent());
+        if (tab == null || childId == null || !Files.isRegularFile(file)) {
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long modified = Files.getLastModifiedTime(file).toMillis();
+            FileState previous = imported.get(file);
+            if (previous != null && previous.size == size && previous.modified == modified) {
+                return;
+            }
+            if (size > Integer.MAX_VALUE) {
+                log.warn("Skipping {}: too large to import ({} bytes)", file, size);
+                return;
+            }
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(buffer.duplicate());
+            byte[] hash = digest.digest();
+            if (previous != null && Arrays.equals(previous.hash, hash)) {
+                imported.put(file, new FileState(size, modified, hash));
+                return;
+            }
+
+            // Decode the mapped bytes once and parse straight from the decoded characters
+            CharBuffer chars = StandardCharsets.UTF_8.decode(buffer);
+            char separator = file.getFileName().toString().endsWith(".tsv") ? '\t' : ',';
+            List<List<Object>> rows = new ArrayList<>();
+            try (CharArrayReader reader = new CharArrayReader(chars.array(), chars.arrayOffset(), chars.limit())) {
+                List<Object> row;
+                while ((row = DelimitedRowParser.readRow(reader, separator)) != null) {
+                    rows.add(row);
+                }
+            }
+
+            int saved = sheetsService.importTab(childId, file.toString(), tab, rows);
+            imported.put(file, new FileState(size, modified, hash));
+            log.info("Imported {} {} for child {} from {}", saved, tab.toLowerCase(), childId, file);
+        } catch (IOException | RuntimeException e) {
+            // Leave the file unrecorded so the next change retries it
+            log.error("Failed to import {}: {}", file, e.getMessage(), e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String tabFor(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        if (dot < 0) {
+            return null;
+        }
+        String extension = name.substring(dot + 1);
+        if (!extension.equals("csv") && !extension.equals("tsv")) {
+            return null;
+        }
+        String base = name.substring(0, dot);
+        for (String tab : TABS) {
+            if (tab.equalsIgnoreCase(base)) {
+                return tab;
+            }
+        }
+        return null;
+    }
+
+    private record FileState(long size, long modified, byte[] hash) {
+    }
+}
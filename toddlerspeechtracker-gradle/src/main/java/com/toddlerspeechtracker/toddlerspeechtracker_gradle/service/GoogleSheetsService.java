@@ -1,50 +1,75 @@
 package com.toddlerspeechtracker.toddlerspeechtracker_gradle.service;
 
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.config.JfrEvents;
 import com.toddlerspeechtracker.toddlerspeechtracker_gradle.model.*;
 import com.toddlerspeechtracker.toddlerspeechtracker_gradle.repo.*;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.extern.log4j.Log4j2;
-import com.google.api.client.googleapis.javanet.GoogleNetHttpTransport;
-import com.google.api.client.json.jackson2.JacksonFactory;
-import com.google.api.services.sheets.v4.Sheets;
-import com.google.api.client.json.JsonFactory;
-import com.google.api.services.sheets.v4.model.ValueRange;
-import com.google.auth.http.HttpCredentialsAdapter;
-import com.google.auth.oauth2.GoogleCredentials;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.MarkerManager;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.io.InputStream;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Log4j2
 @Service
 public class GoogleSheetsService {
 
+    /**
+     * Per-row events. log4j2-spring.xml rate-limits these so a large sync cannot flood the log.
+     */
+    static final Marker ROW = MarkerManager.getMarker("ROW");
+
     private final WordRepository wordRepo;
     private final PhraseRepository phraseRepo;
     private final SongRepository songRepo;
     private final LetterRepository letterRepo;
     private final ChildRepository childRepo;
     private final UserRepository userRepo;
-
-
-    private static final JsonFactory JSON_FACTORY = JacksonFactory.getDefaultInstance();
+    private final SheetsApiClient sheetsClient;
+    private final SheetTabReader tabReader;
+    private final SyncRunRecorder runRecorder;
+    private final DataEntryService dataEntryService;
+    private final DomainEventBus events;
+    private final EntityManagerFactory entityManagerFactory;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
 
     @Value("${sheets.spreadsheetId}")
     private String spreadsheetId;
 
-    @Value("${sheets.credentialsFilePath}")
-    private Resource credentialsResource;
+    @Value("${sheets.sync.maxReturnedRows:1000}")
+    private int maxReturnedRows;
+
+    @Value("${sheets.chunkRows:1000}")
+    private int chunkRows;
 
     public GoogleSheetsService(WordRepository wordRepo,
                                PhraseRepository phraseRepo,
                                SongRepository songRepo,
                                LetterRepository letterRepo,
                                ChildRepository childRepo,
-                               UserRepository userRepo) {
+                               UserRepository userRepo,
+                               SheetsApiClient sheetsClient,
+                               SheetTabReader tabReader,
+                               SyncRunRecorder runRecorder,
+                               DataEntryService dataEntryService,
+                               DomainEventBus events,
+                               EntityManagerFactory entityManagerFactory,
+                               EntityManager entityManager,
+                               PlatformTransactionManager transactionManager) {
         log.info("In GoogleSheetsService");
         this.wordRepo = wordRepo;
         this.phraseRepo = phraseRepo;
@@ -52,380 +77,548 @@ public class GoogleSheetsService {
         this.letterRepo = letterRepo;
         this.childRepo = childRepo;
         this.userRepo = userRepo;
-    }
-
-    private Sheets sheetsService() throws Exception {
-        log.info("In GoogleSheetsService.sheetsService");
-
-        InputStream in = credentialsResource.getInputStream();
-        GoogleCredentials credentials = GoogleCredentials.fromStream(in)
-                .createScoped(List.of("https://www.googleapis.com/auth/spreadsheets"));
-        var transport = GoogleNetHttpTransport.newTrustedTransport();
-        return new Sheets.Builder(transport, JSON_FACTORY, new HttpCredentialsAdapter(credentials))
-                .setApplicationName("toddler-speech-tracker")
-                .build();
+        this.sheetsClient = sheetsClient;
+        this.tabReader = tabReader;
+        this.runRecorder = runRecorder;
+        this.dataEntryService = dataEntryService;
+        this.events = events;
+        this.entityManagerFactory = entityManagerFactory;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     /**
      * Fetch data from Google Sheets without saving to database
      * NOTE: This method now requires a childId parameter to associate data properly
+     * Only the first sheets.sync.maxReturnedRows rows of each tab are read for the preview.
      */
     public SyncResult fetchDataOnly(Long childId) throws Exception {
-        log.info("In GoogleSheetsService.fetchDataOnly - fetching without saving for childId: " + childId);
+        log.info("In GoogleSheetsService.fetchDataOnly - fetching without saving for childId: {}", childId);
 
         // Verify child exists
         Child child = childRepo.findById(childId)
                 .orElseThrow(() -> new RuntimeException("Child not found with id: " + childId));
 
-        Sheets service = sheetsService();
         SyncResult result = new SyncResult();
+        SyncRunTracker run = runRecorder.start(SyncRunTracker.FETCH, childId, spreadsheetId);
 
         try {
-            // Words sheet
-            log.info("Fetching Words sheet...");
-            ValueRange wordsValues = service.spreadsheets().values()
-                    .get(spreadsheetId, "Words")
-                    .execute();
-            List<List<Object>> wordsRows = wordsValues.getValues() != null ? wordsValues.getValues() : new ArrayList<>();
-            log.info("Words rows fetched: " + wordsRows.size());
-            result.words = parseWords(wordsRows, child);
-
-            // Phrases sheet
-            log.info("Fetching Phrases sheet...");
-            ValueRange phraseValues = service.spreadsheets().values()
-                    .get(spreadsheetId, "Phrases")
-                    .execute();
-            List<List<Object>> phraseRows = phraseValues.getValues() != null ? phraseValues.getValues() : new ArrayList<>();
-            log.info("Phrases rows fetched: " + phraseRows.size());
-            result.phrases = parsePhrases(phraseRows, child);
-
-            // Songs sheet
-            log.info("Fetching Songs sheet...");
-            ValueRange songValues = service.spreadsheets().values()
-                    .get(spreadsheetId, "Songs")
-                    .execute();
-            List<List<Object>> songRows = songValues.getValues() != null ? songValues.getValues() : new ArrayList<>();
-            log.info("Songs rows fetched: " + songRows.size());
-            result.songs = parseSongs(songRows, child);
-
-            // Letters sheet
-            log.info("Fetching Letters sheet...");
-            ValueRange letterValues = service.spreadsheets().values()
-                    .get(spreadsheetId, "Letters")
-                    .execute();
-            List<List<Object>> letterRows = letterValues.getValues() != null ? letterValues.getValues() : new ArrayList<>();
-            log.info("Letters rows fetched: " + letterRows.size());
-            result.letters = parseLetters(letterRows, child);
+            connect(run);
+            result.wordCount = run.timeTab("Words", () -> tabReader.readTab(spreadsheetId, "Words", true, header -> {
+                SheetRowMapper<Word> mapper = SheetRowMapper.compile(header, WORD_FIELDS, Word::new);
+                return (rows, firstRow) -> collect(result.words,
+                        run.time("parse.Words", () -> parseWords(rows, mapper, child)), result);
+            }));
+            result.phraseCount = run.timeTab("Phrases", () -> tabReader.readTab(spreadsheetId, "Phrases", true, header -> {
+                SheetRowMapper<Phrase> mapper = SheetRowMapper.compile(header, PHRASE_FIELDS, Phrase::new);
+                return (rows, firstRow) -> collect(result.phrases,
+                        run.time("parse.Phrases", () -> parsePhrases(rows, mapper, child)), result);
+            }));
+            result.songCount = run.timeTab("Songs", () -> tabReader.readTab(spreadsheetId, "Songs", true, header -> {
+                SheetRowMapper<Song> mapper = SheetRowMapper.compile(header, SONG_FIELDS, Song::new);
+                return (rows, firstRow) -> collect(result.songs,
+                        run.time("parse.Songs", () -> parseSongs(rows, mapper, child)), result);
+            }));
+            result.letterCount = run.timeTab("Letters", () -> tabReader.readTab(spreadsheetId, "Letters", true, header -> {
+                SheetRowMapper<Letter> mapper = SheetRowMapper.compile(header, LETTER_FIELDS, Letter::new);
+                return (rows, firstRow) -> collect(result.letters,
+                        run.time("parse.Letters", () -> parseLetters(rows, mapper, child)), result);
+            }));
 
             log.info("All sheets fetched successfully");
         } catch (Exception e) {
-            log.error("Error fetching sheets data: " + e.getMessage(), e);
+            log.error("Error fetching sheets data: {}", e.getMessage(), e);
+            runRecorder.finish(run, e);
             throw e;
         }
 
+        runRecorder.finish(run, null);
         return result;
     }
 
     /**
      * Fetch data from Google Sheets and save to database
+     * Each tab is streamed in chunks: a chunk is parsed and upserted, in a transaction of
+     * its own, before the next one is taken, so memory stays bounded regardless of sheet size. The returned lists hold
+     * at most sheets.sync.maxReturnedRows saved rows per tab; the counts cover every row.
+     * A row that fails to save is counted and sampled into the run history; the rest of
+     * the tab still syncs.
      */
     public SyncResult fetchAndSaveAll(Long childId) throws Exception {
-        log.info("In GoogleSheetsService.fetchAndSaveAll for childId: " + childId);
+        log.info("In GoogleSheetsService.fetchAndSaveAll for childId: {}", childId);
 
         // Verify child exists
         Child child = childRepo.findById(childId)
                 .orElseThrow(() -> new RuntimeException("Child not found with id: " + childId));
 
-        Sheets service = sheetsService();
         SyncResult result = new SyncResult();
+        SyncRunTracker run = runRecorder.start(SyncRunTracker.SYNC, childId, spreadsheetId);
 
-        // Words sheet
-        ValueRange wordsValues = service.spreadsheets().values()
-                .get(spreadsheetId, "Words")
-                .execute();
-        List<List<Object>> wordsRows = wordsValues.getValues() != null ? wordsValues.getValues() : new ArrayList<>();
-        List<Word> parsedWords = parseWords(wordsRows, child);
-        List<Word> savedWords = upsertWords(parsedWords);
-        result.words = savedWords;
-
-        // Phrases sheet
-        ValueRange phraseValues = service.spreadsheets().values()
-                .get(spreadsheetId, "Phrases")
-                .execute();
-        List<List<Object>> phraseRows = phraseValues.getValues() != null ? phraseValues.getValues() : new ArrayList<>();
-        List<Phrase> parsedPhrases = parsePhrases(phraseRows, child);
-        List<Phrase> savedPhrases = upsertPhrases(parsedPhrases);
-        result.phrases = savedPhrases;
-
-        // Songs sheet
-        ValueRange songValues = service.spreadsheets().values()
-                .get(spreadsheetId, "Songs")
-                .execute();
-        List<List<Object>> songRows = songValues.getValues() != null ? songValues.getValues() : new ArrayList<>();
-        List<Song> parsedSongs = parseSongs(songRows, child);
-        List<Song> savedSongs = upsertSongs(parsedSongs);
-        result.songs = savedSongs;
-
-        // Letters sheet
-        ValueRange letterValues = service.spreadsheets().values()
-                .get(spreadsheetId, "Letters")
-                .execute();
-        List<List<Object>> letterRows = letterValues.getValues() != null ? letterValues.getValues() : new ArrayList<>();
-        List<Letter> parsedLetters = parseLetters(letterRows, child);
-        List<Letter> savedLetters = upsertLetters(parsedLetters);
-        result.letters = savedLetters;
+        try {
+            connect(run);
+
+            result.wordCount = run.timeTab("Words", () -> tabReader.readTab(spreadsheetId, "Words", false, header -> {
+                SheetRowMapper<Word> mapper = SheetRowMapper.compile(header, WORD_FIELDS, Word::new);
+                return (rows, firstRow) -> {
+                    List<Word> parsed = run.time("parse.Words", () -> parseWords(rows, mapper, child));
+                    collect(result.words, run.time("upsert.Words", () -> upsertWords(parsed, run, firstRow)), result);
+                    return true;
+                };
+            }));
+            publishChanges(run);
+
+            result.phraseCount = run.timeTab("Phrases", () -> tabReader.readTab(spreadsheetId, "Phrases", false, header -> {
+                SheetRowMapper<Phrase> mapper = SheetRowMapper.compile(header, PHRASE_FIELDS, Phrase::new);
+                return (rows, firstRow) -> {
+                    List<Phrase> parsed = run.time("parse.Phrases", () -> parsePhrases(rows, mapper, child));
+                    collect(result.phrases, run.time("upsert.Phrases", () -> upsertPhrases(parsed, run, firstRow)), result);
+                    return true;
+                };
+            }));
+            publishChanges(run);
+
+            result.songCount = run.timeTab("Songs", () -> tabReader.readTab(spreadsheetId, "Songs", false, header -> {
+                SheetRowMapper<Song> mapper = SheetRowMapper.compile(header, SONG_FIELDS, Song::new);
+                return (rows, firstRow) -> {
+                    List<Song> parsed = run.time("parse.Songs", () -> parseSongs(rows, mapper, child));
+                    collect(result.songs, run.time("upsert.Songs", () -> upsertSongs(parsed, run, firstRow)), result);
+                    return true;
+                };
+            }));
+            publishChanges(run);
+
+            result.letterCount = run.timeTab("Letters", () -> tabReader.readTab(spreadsheetId, "Letters", false, header -> {
+                SheetRowMapper<Letter> mapper = SheetRowMapper.compile(header, LETTER_FIELDS, Letter::new);
+                return (rows, firstRow) -> {
+                    List<Letter> parsed = run.time("parse.Letters", () -> parseLetters(rows, mapper, child));
+                    collect(result.letters, run.time("upsert.Letters", () -> upsertLetters(parsed, run, firstRow)), result);
+                    return true;
+                };
+            }));
+            publishChanges(run);
+        } catch (Exception e) {
+            runRecorder.finish(run, e);
+            // Rows saved before the failure are committed
+            publishChanges(run);
+            throw e;
+        }
 
+        result.inserted = run.inserted;
+        result.updated = run.updated;
+        result.skipped = run.skipped;
+        result.failed = run.failed;
+        runRecorder.finish(run, null);
+        events.publish(new DomainEvent.SyncCompleted(childId, run.kind, spreadsheetId,
+                run.inserted, run.updated, run.skipped, run.failed));
         return result;
     }
 
-    private List<Word> upsertWords(List<Word> newWords) {
-        log.info("Upserting " + newWords.size() + " words");
-        List<Word> result = new ArrayList<>();
+    /**
+     * Upserts rows that came from somewhere other than the configured spreadsheet, such as
+     * a watched CSV export, with the same column mapping and upsert rules as sync.
+     *
+     * @param source where the rows came from, recorded in the run history
+     * @param rows   the tab's rows, header first
+     * @return number of rows saved
+     */
+    public int importTab(Long childId, String source, String tab, List<List<Object>> rows) {
+        Child child = childRepo.findById(childId)
+                .orElseThrow(() -> new IllegalArgumentException("Child not found with id: " + childId));
+        if (rows.isEmpty()) {
+            return 0;
+        }
 
-        for (Word newWord : newWords) {
-            if (newWord.getWord() == null || newWord.getWord().trim().isEmpty()) {
-                log.warn("Skipping word with null/empty word field");
-                continue;
+        SyncRunTracker run = runRecorder.start(SyncRunTracker.IMPORT, childId, source);
+        List<Object> header = rows.get(0);
+        try {
+            if (!List.of("Words", "Phrases", "Songs", "Letters").contains(tab)) {
+                throw new IllegalArgumentException("Unknown tab: " + tab);
+            }
+            // Same chunking as sync, so a large file is one transaction per chunk rather than one for all of it
+            int saved = 0;
+            for (int from = 1; from < rows.size(); from += chunkRows) {
+                List<List<Object>> data = rows.subList(from, Math.min(from + chunkRows, rows.size()));
+                int firstRow = from + 1;
+                saved += switch (tab) {
+                    case "Words" -> upsertWords(run.time("parse.Words", () -> parseWords(data,
+                            SheetRowMapper.compile(header, WORD_FIELDS, Word::new), child)), run, firstRow).size();
+                    case "Phrases" -> upsertPhrases(run.time("parse.Phrases", () -> parsePhrases(data,
+                            SheetRowMapper.compile(header, PHRASE_FIELDS, Phrase::new), child)), run, firstRow).size();
+                    case "Songs" -> upsertSongs(run.time("parse.Songs", () -> parseSongs(data,
+                            SheetRowMapper.compile(header, SONG_FIELDS, Song::new), child)), run, firstRow).size();
+                    case "Letters" -> upsertLetters(run.time("parse.Letters", () -> parseLetters(data,
+                            SheetRowMapper.compile(header, LETTER_FIELDS, Letter::new), child)), run, firstRow).size();
+                    default -> throw new IllegalArgumentException("Unknown tab: " + tab);
+                };
             }
+            runRecorder.finish(run, null);
+            publishChanges(run);
+            events.publish(new DomainEvent.SyncCompleted(childId, run.kind, source,
+                    run.inserted, run.updated, run.skipped, run.failed));
+            return saved;
+        } catch (RuntimeException e) {
+            runRecorder.finish(run, e);
+            publishChanges(run);
+            throw e;
+        }
+    }
 
-            Long childId = newWord.getChild().getChildId();
-            Optional<Word> existingOpt = wordRepo.findByChild_ChildIdAndWord(childId, newWord.getWord());
+    private void connect(SyncRunTracker run) throws IOException {
+        JfrEvents.SyncStage event = run.beginStage();
+        long start = System.nanoTime();
+        try {
+            tabReader.connect();
+        } finally {
+            run.recordNanos("auth", System.nanoTime() - start);
+            run.commitStage(event, "auth", 0);
+        }
+    }
 
-            if (existingOpt.isPresent()) {
-                Word existing = existingOpt.get();
-                log.info("Updating existing word: " + existing.getWord() + " for child: " + childId);
+    /**
+     * Publishes whatever a chunk that failed part way recorded but did not get to
+     * publish; a chunk that completes publishes its own.
+     */
+    private void publishChanges(SyncRunTracker run) {
+        for (EntryType type : EntryType.values()) {
+            publishChanges(run, type);
+        }
+    }
 
-                // Update all fields
-                existing.setSigned(newWord.getSigned());
-                existing.setSignedDate(newWord.getSignedDate());
-                existing.setVerbal(newWord.getVerbal());
-                existing.setVerbalDate(newWord.getVerbalDate());
-                existing.setActualPronunciation(newWord.getActualPronunciation());
-                existing.setNotes(newWord.getNotes());
-                existing.setLearningSource(newWord.getLearningSource());
+    /**
+     * One event per chunk instead of one per row, so neither the run nor the event
+     * grows with the size of the tab.
+     */
+    private void publishChanges(SyncRunTracker run, EntryType type) {
+        DomainEvent.EntriesSynced changes = run.takeChanges(type);
+        if (changes != null) {
+            events.publish(changes);
+        }
+    }
 
-                result.add(wordRepo.save(existing));
-            } else {
-                log.info("Inserting new word: " + newWord.getWord() + " for child: " + childId);
-                result.add(wordRepo.save(newWord));
-            }
+    /**
+     * Keeps up to maxReturnedRows items for the response.
+     *
+     * @return false once the target is full
+     */
+    private <T> boolean collect(List<T> target, List<T> items, SyncResult result) {
+        int room = maxReturnedRows - target.size();
+        if (items.size() > room) {
+            target.addAll(items.subList(0, Math.max(0, room)));
+            result.truncated = true;
+            return false;
         }
-        return result;
+        target.addAll(items);
+        return target.size() < maxReturnedRows;
     }
 
-    private List<Phrase> upsertPhrases(List<Phrase> newPhrases) {
-        log.info("Upserting " + newPhrases.size() + " phrases");
-        List<Phrase> result = new ArrayList<>();
+    private List<Word> upsertWords(List<Word> newWords, SyncRunTracker run, int firstRow) {
+        return upsertChunk("Words", EntryType.WORD, newWords, run, firstRow, this::upsertWord);
+    }
 
-        for (Phrase newPhrase : newPhrases) {
-            if (newPhrase.getPhrase() == null || newPhrase.getPhrase().trim().isEmpty()) {
-                log.warn("Skipping phrase with null/empty phrase field");
-                continue;
-            }
+    private List<Phrase> upsertPhrases(List<Phrase> newPhrases, SyncRunTracker run, int firstRow) {
+        return upsertChunk("Phrases", EntryType.PHRASE, newPhrases, run, firstRow, this::upsertPhrase);
+    }
 
-            Long childId = newPhrase.getChild().getChildId();
-            Optional<Phrase> existingOpt = phraseRepo.findByChild_ChildIdAndPhrase(childId, newPhrase.getPhrase());
+    private List<Song> upsertSongs(List<Song> newSongs, SyncRunTracker run, int firstRow) {
+        return upsertChunk("Songs", EntryType.SONG, newSongs, run, firstRow, this::upsertSong);
+    }
 
-            if (existingOpt.isPresent()) {
-                Phrase existing = existingOpt.get();
-                log.info("Updating existing phrase: " + existing.getPhrase() + " for child: " + childId);
+    private List<Letter> upsertLetters(List<Letter> newLetters, SyncRunTracker run, int firstRow) {
+        return upsertChunk("Letters", EntryType.LETTER, newLetters, run, firstRow, this::upsertLetter);
+    }
 
-                existing.setDateSaid(newPhrase.getDateSaid());
-                existing.setFunnyRating(newPhrase.getFunnyRating());
-                existing.setCuteRating(newPhrase.getCuteRating());
-                existing.setLearningSource(newPhrase.getLearningSource());
-                existing.setNotes(newPhrase.getNotes());
+    /**
+     * Upserts one chunk in a transaction of its own, so the entities it loads and saves
+     * are released before the next chunk instead of piling up in the request's
+     * persistence context. A failing row rolls the chunk back; the chunk is then redone
+     * a row at a time, so only that row is lost and the rest of the tab still syncs.
+     *
+     * @param firstRow sheet row number of {@code rows.get(0)}, for row errors
+     */
+    private <T> List<T> upsertChunk(String tab, EntryType type, List<T> rows, SyncRunTracker run, int firstRow,
+                                    Function<T, Upserted<T>> upsertRow) {
+        log.debug("Upserting {} rows of {}", rows.size(), tab);
+        List<T> result = new ArrayList<>();
+        JfrEvents.UpsertBatch batch = run.beginBatch(tab, rows.size());
 
-                result.add(phraseRepo.save(existing));
-            } else {
-                log.info("Inserting new phrase: " + newPhrase.getPhrase() + " for child: " + childId);
-                result.add(phraseRepo.save(newPhrase));
+        try {
+            List<Upserted<T>> upserted = inChunkTransaction(() -> {
+                List<Upserted<T>> done = new ArrayList<>(rows.size());
+                for (T row : rows) {
+                    done.add(upsertRow.apply(row));
+                }
+                return done;
+            });
+            upserted.forEach(row -> record(row, type, run, result));
+        } catch (DataAccessException | TransactionException e) {
+            log.warn(ROW, "Chunk of {} starting at row {} failed, retrying row by row: {}", tab, firstRow, e.getMessage());
+            for (int i = 0; i < rows.size(); i++) {
+                T row = rows.get(i);
+                try {
+                    record(inChunkTransaction(() -> upsertRow.apply(row)), type, run, result);
+                } catch (DataAccessException | TransactionException rowError) {
+                    log.warn(ROW, "Failed to save {} row {}: {}", tab, firstRow + i, rowError.getMessage());
+                    run.failed(tab, firstRow + i, rowError.getMostSpecificCause().getMessage());
+                }
             }
         }
+        run.endBatch(batch);
+        dataEntryService.entriesChanged(type, run.childId);
+        publishChanges(run, type);
         return result;
     }
 
-    private List<Song> upsertSongs(List<Song> newSongs) {
-        log.info("Upserting " + newSongs.size() + " songs");
-        List<Song> result = new ArrayList<>();
+    /**
+     * Runs {@code work} in a new transaction on a fresh EntityManager, flushed and
+     * cleared before commit. Open in view binds the request's EntityManager to the
+     * thread and a transaction started here would join it, so it is unbound for the
+     * duration and put back afterwards.
+     */
+    private <T> T inChunkTransaction(Supplier<T> work) {
+        Object requestEntityManager = TransactionSynchronizationManager.isActualTransactionActive()
+                ? null : TransactionSynchronizationManager.unbindResourceIfPossible(entityManagerFactory);
+        try {
+            return transactionTemplate.execute(status -> {
+                T done = work.get();
+                entityManager.flush();
+                entityManager.clear();
+                return done;
+            });
+        } finally {
+            if (requestEntityManager != null) {
+                TransactionSynchronizationManager.bindResource(entityManagerFactory, requestEntityManager);
+            }
+        }
+    }
 
-        for (Song newSong : newSongs) {
-            if (newSong.getSongTitle() == null || newSong.getSongTitle().trim().isEmpty()) {
-                log.warn("Skipping song with null/empty songTitle field");
-                continue;
+    /**
+     * Counts a row once its chunk has committed, so a rolled-back attempt counts nothing.
+     */
+    private <T> void record(Upserted<T> row, EntryType type, SyncRunTracker run, List<T> result) {
+        if (row == null) {
+            run.skipped();
+        } else {
+            result.add(row.saved());
+            if (row.inserted()) {
+                run.inserted(type, row.id());
+            } else {
+                run.updated(type, row.id());
             }
+        }
+    }
 
-            Long childId = newSong.getChild().getChildId();
-            Optional<Song> existingOpt = songRepo.findByChild_ChildIdAndSongTitle(childId, newSong.getSongTitle());
+    /** A saved row; the upsert*Row methods return null for a row without a key. */
+    private record Upserted<T>(T saved, Long id, boolean inserted) {
+    }
 
-            if (existingOpt.isPresent()) {
-                Song existing = existingOpt.get();
-                log.info("Updating existing song: " + existing.getSongTitle() + " for child: " + childId);
+    private Upserted<Word> upsertWord(Word newWord) {
+        if (newWord.getWord() == null || newWord.getWord().trim().isEmpty()) {
+            log.debug(ROW, "Skipping word with null/empty word field");
+            return null;
+        }
 
-                existing.setDateFirstSang(newSong.getDateFirstSang());
-                existing.setSource(newSong.getSource());
-                existing.setNotes(newSong.getNotes());
+        Long childId = newWord.getChild().getChildId();
+        Optional<Word> existingOpt = wordRepo.findByChild_ChildIdAndWord(childId, newWord.getWord());
 
-                result.add(songRepo.save(existing));
-            } else {
-                log.info("Inserting new song: " + newSong.getSongTitle() + " for child: " + childId);
-                result.add(songRepo.save(newSong));
-            }
+        if (existingOpt.isPresent()) {
+            Word existing = existingOpt.get();
+            log.debug(ROW, "Updating existing word: {} for child: {}", existing.getWord(), childId);
+
+            // Update all fields
+            existing.setSigned(newWord.getSigned());
+            existing.setSignedDate(newWord.getSignedDate());
+            existing.setVerbal(newWord.getVerbal());
+            existing.setVerbalDate(newWord.getVerbalDate());
+            existing.setActualPronunciation(newWord.getActualPronunciation());
+            existing.setNotes(newWord.getNotes());
+            existing.setLearningSource(newWord.getLearningSource());
+
+            Word saved = wordRepo.save(existing);
+            return new Upserted<>(saved, saved.getWordId(), false);
         }
-        return result;
+        log.debug(ROW, "Inserting new word: {} for child: {}", newWord.getWord(), childId);
+        // A rolled-back chunk may have assigned an id already
+        newWord.setWordId(null);
+        Word saved = wordRepo.save(newWord);
+        return new Upserted<>(saved, saved.getWordId(), true);
     }
 
-    private List<Letter> upsertLetters(List<Letter> newLetters) {
-        log.info("Upserting " + newLetters.size() + " letters");
-        List<Letter> result = new ArrayList<>();
+    private Upserted<Phrase> upsertPhrase(Phrase newPhrase) {
+        if (newPhrase.getPhrase() == null || newPhrase.getPhrase().trim().isEmpty()) {
+            log.debug(ROW, "Skipping phrase with null/empty phrase field");
+            return null;
+        }
 
-        for (Letter newLetter : newLetters) {
-            if (newLetter.getLetters() == null || newLetter.getLetters().trim().isEmpty()) {
-                log.warn("Skipping letter with null/empty letters field");
-                continue;
-            }
+        Long childId = newPhrase.getChild().getChildId();
+        Optional<Phrase> existingOpt = phraseRepo.findByChild_ChildIdAndPhrase(childId, newPhrase.getPhrase());
 
-            Long childId = newLetter.getChild().getChildId();
-            Optional<Letter> existingOpt = letterRepo.findByChild_ChildIdAndLetters(childId, newLetter.getLetters());
+        if (existingOpt.isPresent()) {
+            Phrase existing = existingOpt.get();
+            log.debug(ROW, "Updating existing phrase: {} for child: {}", existing.getPhrase(), childId);
 
-            if (existingOpt.isPresent()) {
-                Letter existing = existingOpt.get();
-                log.info("Updating existing letter: " + existing.getLetters() + " for child: " + childId);
+            existing.setDateSaid(newPhrase.getDateSaid());
+            existing.setFunnyRating(newPhrase.getFunnyRating());
+            existing.setCuteRating(newPhrase.getCuteRating());
+            existing.setLearningSource(newPhrase.getLearningSource());
+            existing.setNotes(newPhrase.getNotes());
 
-                existing.setRecognized(newLetter.getRecognized());
-                existing.setRecognizedDate(newLetter.getRecognizedDate());
-                existing.setSoundItOut(newLetter.getSoundItOut());
-                existing.setSoundItOutDate(newLetter.getSoundItOutDate());
+            Phrase saved = phraseRepo.save(existing);
+            return new Upserted<>(saved, saved.getPhraseId(), false);
+        }
+        log.debug(ROW, "Inserting new phrase: {} for child: {}", newPhrase.getPhrase(), childId);
+        newPhrase.setPhraseId(null);
+        Phrase saved = phraseRepo.save(newPhrase);
+        return new Upserted<>(saved, saved.getPhraseId(), true);
+    }
 
-                result.add(letterRepo.save(existing));
-            } else {
-                log.info("Inserting new letter: " + newLetter.getLetters() + " for child: " + childId);
-                result.add(letterRepo.save(newLetter));
-            }
+    private Upserted<Song> upsertSong(Song newSong) {
+        if (newSong.getSongTitle() == null || newSong.getSongTitle().trim().isEmpty()) {
+            log.debug(ROW, "Skipping song with null/empty songTitle field");
+            return null;
         }
-        return result;
+
+        Long childId = newSong.getChild().getChildId();
+        Optional<Song> existingOpt = songRepo.findByChild_ChildIdAndSongTitle(childId, newSong.getSongTitle());
+
+        if (existingOpt.isPresent()) {
+            Song existing = existingOpt.get();
+            log.debug(ROW, "Updating existing song: {} for child: {}", existing.getSongTitle(), childId);
+
+            existing.setDateFirstSang(newSong.getDateFirstSang());
+            existing.setSource(newSong.getSource());
+            existing.setNotes(newSong.getNotes());
+
+            Song saved = songRepo.save(existing);
+            return new Upserted<>(saved, saved.getSongId(), false);
+        }
+        log.debug(ROW, "Inserting new song: {} for child: {}", newSong.getSongTitle(), childId);
+        newSong.setSongId(null);
+        Song saved = songRepo.save(newSong);
+        return new Upserted<>(saved, saved.getSongId(), true);
     }
 
-    // Parse methods - updated to handle new column structure and set Child relationship
-    private List<Word> parseWords(List<List<Object>> rows, Child child) {
-        log.info("In GoogleSheetsService.parseWords");
+    private Upserted<Letter> upsertLetter(Letter newLetter) {
+        if (newLetter.getLetters() == null || newLetter.getLetters().trim().isEmpty()) {
+            log.debug(ROW, "Skipping letter with null/empty letters field");
+            return null;
+        }
+
+        Long childId = newLetter.getChild().getChildId();
+        Optional<Letter> existingOpt = letterRepo.findByChild_ChildIdAndLetters(childId, newLetter.getLetters());
+
+        if (existingOpt.isPresent()) {
+            Letter existing = existingOpt.get();
+            log.debug(ROW, "Updating existing letter: {} for child: {}", existing.getLetters(), childId);
 
-        List<Word> out = new ArrayList<>();
-        if (rows.size() <= 1) return out;
+            existing.setRecognized(newLetter.getRecognized());
+            existing.setRecognizedDate(newLetter.getRecognizedDate());
+            existing.setSoundItOut(newLetter.getSoundItOut());
+            existing.setSoundItOutDate(newLetter.getSoundItOutDate());
 
-        for (int i = 1; i < rows.size(); i++) {
-            List<Object> r = rows.get(i);
-            Word w = new Word();
+            Letter saved = letterRepo.save(existing);
+            return new Upserted<>(saved, saved.getLetterId(), false);
+        }
+        log.debug(ROW, "Inserting new letter: {} for child: {}", newLetter.getLetters(), childId);
+        newLetter.setLetterId(null);
+        Letter saved = letterRepo.save(newLetter);
+        return new Upserted<>(saved, saved.getLetterId(), true);
+    }
+
+    // Sheet column layouts. The first field is the key; legacy indexes are the
+    // fixed positions used when a tab has no recognizable header row.
+    private static final List<SheetRowMapper.Field<Word>> WORD_FIELDS = List.of(
+            SheetRowMapper.Field.text("word", 0, Word::setWord),
+            SheetRowMapper.Field.flag("signed", 1, Word::setSigned),
+            SheetRowMapper.Field.text("signedDate", 2, Word::setSignedDate),
+            SheetRowMapper.Field.flag("verbal", 3, Word::setVerbal),
+            SheetRowMapper.Field.text("verbalDate", 4, Word::setVerbalDate),
+            SheetRowMapper.Field.text("actualPronunciation", 5, Word::setActualPronunciation, "pronunciation"),
+            SheetRowMapper.Field.text("notes", 6, Word::setNotes),
+            SheetRowMapper.Field.text("learningSource", 7, Word::setLearningSource, "source"));
+
+    private static final List<SheetRowMapper.Field<Phrase>> PHRASE_FIELDS = List.of(
+            SheetRowMapper.Field.text("phrase", 0, Phrase::setPhrase),
+            SheetRowMapper.Field.text("dateSaid", 1, Phrase::setDateSaid, "date"),
+            SheetRowMapper.Field.text("funnyRating", 2, Phrase::setFunnyRating, "funny"),
+            SheetRowMapper.Field.text("cuteRating", 3, Phrase::setCuteRating, "cute"),
+            SheetRowMapper.Field.text("learningSource", 4, Phrase::setLearningSource, "source"),
+            SheetRowMapper.Field.text("notes", 5, Phrase::setNotes));
+
+    private static final List<SheetRowMapper.Field<Song>> SONG_FIELDS = List.of(
+            SheetRowMapper.Field.text("songTitle", 0, Song::setSongTitle, "song", "title"),
+            SheetRowMapper.Field.text("dateFirstSang", 1, Song::setDateFirstSang, "date"),
+            SheetRowMapper.Field.text("source", 2, Song::setSource),
+            SheetRowMapper.Field.text("notes", 3, Song::setNotes));
+
+    private static final List<SheetRowMapper.Field<Letter>> LETTER_FIELDS = List.of(
+            SheetRowMapper.Field.text("letters", 0, Letter::setLetters, "letter"),
+            SheetRowMapper.Field.text("recognized", 1, Letter::setRecognized),
+            SheetRowMapper.Field.text("recognizedDate", 2, Letter::setRecognizedDate),
+            SheetRowMapper.Field.text("soundItOut", 3, Letter::setSoundItOut),
+            SheetRowMapper.Field.text("soundItOutDate", 4, Letter::setSoundItOutDate));
+
+    // Parse methods - rows are data rows only (the header is compiled into the mapper)
+    private List<Word> parseWords(List<List<Object>> rows, SheetRowMapper<Word> mapper, Child child) {
+        List<Word> out = new ArrayList<>(rows.size());
+        for (List<Object> r : rows) {
+            Word w = mapper.map(r);
             w.setChild(child);
-            w.setWord(get(r, 0));
-            w.setSigned(parseBoolean(get(r, 1)));
-            w.setSignedDate(get(r, 2));
-            w.setVerbal(parseBoolean(get(r, 3)));
-            w.setVerbalDate(get(r, 4));
-            w.setActualPronunciation(get(r, 5));
-            w.setNotes(get(r, 6));
-            w.setLearningSource(get(r, 7));
             out.add(w);
         }
         return out;
     }
 
-    private List<Phrase> parsePhrases(List<List<Object>> rows, Child child) {
-        log.info("In GoogleSheetsService.parsePhrases");
-
-        List<Phrase> out = new ArrayList<>();
-        if (rows.size() <= 1) return out;
-
-        for (int i = 1; i < rows.size(); i++) {
-            List<Object> r = rows.get(i);
-            Phrase p = new Phrase();
+    private List<Phrase> parsePhrases(List<List<Object>> rows, SheetRowMapper<Phrase> mapper, Child child) {
+        List<Phrase> out = new ArrayList<>(rows.size());
+        for (List<Object> r : rows) {
+            Phrase p = mapper.map(r);
             p.setChild(child);
-            p.setPhrase(get(r, 0));
-            p.setDateSaid(get(r, 1));
-            p.setFunnyRating(get(r, 2));
-            p.setCuteRating(get(r, 3));
-            p.setLearningSource(get(r, 4));
-            p.setNotes(get(r, 5));
             out.add(p);
         }
         return out;
     }
 
-    private List<Song> parseSongs(List<List<Object>> rows, Child child) {
-        log.info("In GoogleSheetsService.parseSongs");
-
-        List<Song> out = new ArrayList<>();
-        if (rows.size() <= 1) return out;
-
-        for (int i = 1; i < rows.size(); i++) {
-            List<Object> r = rows.get(i);
-            Song s = new Song();
+    private List<Song> parseSongs(List<List<Object>> rows, SheetRowMapper<Song> mapper, Child child) {
+        List<Song> out = new ArrayList<>(rows.size());
+        for (List<Object> r : rows) {
+            Song s = mapper.map(r);
             s.setChild(child);
-            s.setSongTitle(get(r, 0));
-            s.setDateFirstSang(get(r, 1));
-            s.setSource(get(r, 2));
-            s.setNotes(get(r, 3));
             out.add(s);
         }
         return out;
     }
 
-    private List<Letter> parseLetters(List<List<Object>> rows, Child child) {
-        log.info("In GoogleSheetsService.parseLetters");
-
-        List<Letter> out = new ArrayList<>();
-        if (rows.size() <= 1) return out;
-
-        for (int i = 1; i < rows.size(); i++) {
-            List<Object> r = rows.get(i);
-            Letter l = new Letter();
+    private List<Letter> parseLetters(List<List<Object>> rows, SheetRowMapper<Letter> mapper, Child child) {
+        List<Letter> out = new ArrayList<>(rows.size());
+        for (List<Object> r : rows) {
+            Letter l = mapper.map(r);
             l.setChild(child);
-            l.setLetters(get(r, 0));
-            l.setRecognized(get(r, 1));
-            l.setRecognizedDate(get(r, 2));
-            l.setSoundItOut(get(r, 3));
-            l.setSoundItOutDate(get(r, 4));
             out.add(l);
         }
         return out;
     }
 
-    private String get(List<Object> r, int idx) {
-        if (idx >= r.size()) return null;
-        Object o = r.get(idx);
-        return o == null ? null : o.toString().trim();
-    }
-
-    /**
-     * Helper method to parse boolean values from Google Sheets
-     * Accepts: "true", "TRUE", "yes", "YES", "Y", "1" as true
-     * Everything else (including null/empty) as false
-     */
-    private Boolean parseBoolean(String value) {
-        if (value == null || value.trim().isEmpty()) {
-            return false;
-        }
-        String normalized = value.trim().toUpperCase();
-        return normalized.equals("TRUE") ||
-                normalized.equals("YES") ||
-                normalized.equals("Y") ||
-                normalized.equals("1");
-    }
-
     public static class SyncResult {
         public List<Word> words = new ArrayList<>();
         public List<Phrase> phrases = new ArrayList<>();
         public List<Song> songs = new ArrayList<>();
         public List<Letter> letters = new ArrayList<>();
+        public int wordCount;
+        public int phraseCount;
+        public int songCount;
+        public int letterCount;
+        public boolean truncated;
+        public int inserted;
+        public int updated;
+        public int skipped;
+        public int failed;
     }
 
     public String testConnection() throws Exception {
         log.info("Testing Google Sheets API connection");
 
-        Sheets service = sheetsService();
-
         // Get spreadsheet metadata (doesn't require reading sheets)
-        var spreadsheet = service.spreadsheets().get(spreadsheetId).execute();
+        var spreadsheet = sheetsClient.getSpreadsheet(spreadsheetId);
 
         StringBuilder info = new StringBuilder();
         info.append("Connection successful!\n");
@@ -0,0 +1,49 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.service;
+
+import com.google.api.services.sheets.v4.model.GridProperties;
+import com.google.api.services.sheets.v4.model.Sheet;
+import com.google.api.services.sheets.v4.model.ValueRange;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "sheets.source", havingValue = "google", matchIfMissing = true)
+public class GoogleSpreadsheetSource implements SpreadsheetSource {
+
+    private final SheetsApiClient sheetsClient;
+
+    public GoogleSpreadsheetSource(SheetsApiClient sheetsClient) {
+        this.sheetsClient = sheetsClient;
+    }
+
+    @Override
+    public List<List<Object>> readRange(String spreadsheetId, String range) throws IOException {
+        ValueRange values = sheetsClient.getValues(spreadsheetId, range);
+        return values.getValues() != null ? values.getValues() : List.of();
+    }
+
+    @Override
+    public int rowCount(String spreadsheetId, String tab) throws IOException {
+        List<Sheet> sheets = sheetsClient.getSheetProperties(spreadsheetId).getSheets();
+        for (Sheet sheet : sheets != null ? sheets : List.<Sheet>of()) {
+            GridProperties grid = sheet.getProperties().getGridProperties();
+            if (tab.equals(sheet.getProperties().getTitle()) && grid != null && grid.getRowCount() != null) {
+                return grid.getRowCount();
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void connect() throws IOException {
+        sheetsClient.connect();
+    }
+
+    @Override
+    public boolean isRemote() {
+        return true;
+    }
+}
@@ -0,0 +1,323 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.service;
+
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.model.EntryType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tells the other application instances which in-process caches to drop, using
+ * PostgreSQL LISTEN/NOTIFY so no extra infrastructure is needed. Writers evict their
+ * own node's caches directly and call {@link #publishEntries} or
+ * {@link #publishChildren}; once the write commits the keys are queued here.
+ * <p>
+ * Each node holds one dedicated connection, outside the pool, that both listens on
+ * the channel and sends the queue every {@code invalidation.bus.flushMillis}. Keys
+ * queued within one window go out as one message and repeats collapse, so a sync that
+ * touches the same tab in hundreds of batches costs one message per window.
+ * <p>
+ * A message is {@code node;queuedAtMillis;key,key,...}. A key is the entry type's
+ * initial and a child id ({@code W12} for child 12's words) or {@code C} and a user id
+ * for that user's children. A node ignores its own messages. If the connection drops,
+ * messages sent meanwhile are lost, so the local list cache is cleared on reconnect.
+ */
+@Log4j2
+@Component
+public class InvalidationBus {
+
+    // NOTIFY payloads must stay under 8000 bytes
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+
+    private final EntryListCache listCache;
+    private final SingleFlight singleFlight;
+    private final DataSourceProperties dataSourceProperties;
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+
+    private final Set<String> pending = new LinkedHashSet<>();
+    private long pendingSince;
+
+    private final AtomicLong queuedKeys = new AtomicLong();
+    private final AtomicLong sentKeys = new AtomicLong();
+    private final AtomicLong sentMessages = new AtomicLong();
+    private final AtomicLong receivedMessages = new AtomicLong();
+    private final AtomicLong appliedKeys = new AtomicLong();
+    private final AtomicLong ownMessages = new AtomicLong();
+    private final AtomicLong reconnects = new AtomicLong();
+    private volatile long lastLagMillis;
+    private volatile long maxLagMillis;
+    private volatile long lastReceivedMillis;
+
+    @Value("${invalidation.bus.enabled:true}")
+    private boolean enabled;
+
+    @Value("${invalidation.bus.channel:cache_invalidation}")
+    private String channel;
+
+    @Value("${invalidation.bus.flushMillis:100}")
+    private int flushMillis;
+
+    @Value("${invalidation.bus.reconnectMillis:5000}")
+    private long reconnectMillis;
+
+    private volatile boolean running;
+    private volatile boolean connected;
+    private Thread listener;
+
+    public InvalidationBus(EntryListCache listCache, SingleFlight singleFlight,
+                           DataSourceProperties dataSourceProperties) {
+        this.listCache = listCache;
+        this.singleFlight = singleFlight;
+        this.dataSourceProperties = dataSourceProperties;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        String url = dataSourceProperties.determineUrl();
+        if (url == null || !url.startsWith("jdbc:postgresql:")) {
+            log.info("Invalidation bus needs PostgreSQL; running single-node");
+            return;
+        }
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("invalidation.bus.channel must be a lower-case identifier: " + channel);
+        }
+        if (flushMillis < 1) {
+            throw new IllegalArgumentException("invalidation.bus.flushMillis must be positive");
+        }
+
+        running = true;
+        listener = new Thread(() -> run(url), "invalidation-bus");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (listener != null) {
+            // Returns within one flush window, after sending what is still queued
+            listener.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    public void publishEntries(EntryType type, Long childId) {
+        publish(type.name().charAt(0) + childId.toString());
+    }
+
+    public void publishChildren(Long userId) {
+        publish("C" + userId);
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("enabled", running);
+        metrics.put("connected", connected);
+        metrics.put("nodeId", nodeId);
+        metrics.put("queuedKeys", queuedKeys.get());
+        metrics.put("sentKeys", sentKeys.get());
+        metrics.put("sentMessages", sentMessages.get());
+        synchronized (pending) {
+            metrics.put("pendingKeys", pending.size());
+        }
+        metrics.put("receivedMessages", receivedMessages.get());
+        metrics.put("appliedKeys", appliedKeys.get());
+        metrics.put("ownMessagesIgnored", ownMessages.get());
+        metrics.put("lastLagMillis", lastLagMillis);
+        metrics.put("maxLagMillis", maxLagMillis);
+        metrics.put("lastReceivedMillisAgo", lastReceivedMillis == 0 ? null
+                : System.currentTimeMillis() - lastReceivedMillis);
+        metrics.put("reconnects", reconnects.get());
+        return metrics;
+    }
+
+    private void publish(String key) {
+        if (!running) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(key);
+                }
+            });
+        } else {
+            enqueue(key);
+        }
+    }
+
+    private void enqueue(String key) {
+        queuedKeys.incrementAndGet();
+        synchronized (pending) {
+            if (pending.isEmpty()) {
+                pendingSince = System.currentTimeMillis();
+            }
+            pending.add(key);
+        }
+    }
+
+    private void run(String url) {
+        boolean firstConnect = true;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url,
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                if (!firstConnect) {
+                    // Whatever other nodes sent while we were away is gone
+                    listCache.clear();
+                }
+                firstConnect = false;
+                connected = true;
+                log.info("Invalidation bus listening on channel {} as node {}", channel, nodeId);
+
+                PGConnection pg = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pg.getNotifications(flushMillis);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                    flush(connection);
+                }
+            } catch (SQLException e) {
+                connected = false;
+                if (!running) {
+                    break;
+                }
+                reconnects.incrementAndGet();
+                log.warn("Invalidation bus connection lost, retrying in {} ms: {}", reconnectMillis, e.getMessage());
+                try {
+                    Thread.sleep(reconnectMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        connected = false;
+        log.info("Invalidation bus stopped");
+    }
+
+    private void flush(Connection connection) throws SQLException {
+        List<String> keys;
+        long since;
+        synchronized (pending) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            keys = new ArrayList<>(pending);
+            since = pendingSince;
+            pending.clear();
+        }
+
+        String header = nodeId + ";" + since + ";";
+        try (PreparedStatement notify = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            StringBuilder payload = new StringBuilder(header);
+            int inPayload = 0;
+            for (String key : keys) {
+                if (inPayload > 0 && payload.length() + key.length() + 1 > MAX_PAYLOAD_BYTES) {
+                    send(notify, payload.toString(), inPayload);
+                    payload.setLength(header.length());
+                    inPayload = 0;
+                }
+                payload.append(inPayload > 0 ? "," : "").append(key);
+                inPayload++;
+            }
+            send(notify, payload.toString(), inPayload);
+        } catch (SQLException e) {
+            // Put them back for the next connection
+            synchronized (pending) {
+                pending.addAll(keys);
+                pendingSince = since;
+            }
+            throw e;
+        }
+    }
+
+    private void send(PreparedStatement notify, String payload, int keys) throws SQLException {
+        notify.setString(1, channel);
+        notify.setString(2, payload);
+        notify.execute();
+        sentMessages.incrementAndGet();
+        sentKeys.addAndGet(keys);
+        log.debug("Sent {} invalidation key(s), {} bytes", keys, payload.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    private void receive(String payload) {
+        String[] parts = payload.split(";", 3);
+        if (parts.length != 3 || !parts[1].matches("\\d{1,18}")) {
+            log.warn("Ignoring malformed invalidation message: {}", payload);
+            return;
+        }
+        long queuedAt = Long.parseLong(parts[1]);
+        if (parts[0].equals(nodeId)) {
+            ownMessages.incrementAndGet();
+            return;
+        }
+
+        receivedMessages.incrementAndGet();
+        for (String key : parts[2].split(",")) {
+            try {
+                apply(key);
+                appliedKeys.incrementAndGet();
+            } catch (IllegalArgumentException e) {
+                log.warn("Ignoring invalidation key {}: {}", key, e.getMessage());
+            }
+        }
+
+        long now = System.currentTimeMillis();
+        // Queued-to-evicted, so it includes the sender's flush window; assumes synced clocks
+        long lag = Math.max(0, now - queuedAt);
+        lastLagMillis = lag;
+        maxLagMillis = Math.max(maxLagMillis, lag);
+        lastReceivedMillis = now;
+    }
+
+    private void apply(String key) {
+        if (key.length() < 2) {
+            throw new IllegalArgumentException("too short");
+        }
+        char kind = key.charAt(0);
+        Long id = Long.valueOf(key.substring(1));
+        if (kind == 'C') {
+            singleFlight.forget("CHILDREN:" + id + ":");
+            return;
+        }
+        for (EntryType type : EntryType.values()) {
+            if (type.name().charAt(0) == kind) {
+                singleFlight.forget(type.name() + ":" + id + ":");
+                listCache.invalidate(type, id);
+                return;
+            }
+        }
+        throw new IllegalArgumentException("unknown kind " + kind);
+    }
+}
@@ -0,0 +1,348 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.service;
+
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.repo.ChildDeletionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes a small delta to every open /api/push connection of the user whose data
+ * changed, so a second caregiver's lists stay current without reloading. A delta
+ * names what changed (type, op, child, ids); clients fetch the rows themselves, from
+ * the change feed or the list endpoints, so a missed delta only costs freshness.
+ * <p>
+ * Deltas come from the {@link DomainEventBus}, and only for children of connected
+ * users: their child ids are loaded when a connection opens, so events for everyone
+ * else are ignored without a query. Each connection has a small bounded queue drained
+ * by a shared sender pool; a connection whose queue fills up is closed, and the
+ * browser's EventSource reconnects and catches up from its change feed cursor. An
+ * idle connection is the emitter plus an empty queue.
+ */
+@Log4j2
+@Service
+public class LivePushService implements DomainEventSubscriber {
+
+    public static final String CHILD = "CHILD";
+
+    private final ChildDeletionRepository childLookup;
+    private final Map<Long, List<Connection>> connectionsByUser = new ConcurrentHashMap<>();
+    private final Map<Long, Long> userByChild = new ConcurrentHashMap<>();
+    /** The reverse of userByChild, so a user's last disconnect drops only their own children */
+    private final Map<Long, Set<Long>> childrenByUser = new ConcurrentHashMap<>();
+    private final AtomicInteger open = new AtomicInteger();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong droppedSlow = new AtomicLong();
+    private final ExecutorService senders;
+    private final ScheduledExecutorService heartbeat;
+
+    @Value("${push.enabled:true}")
+    private boolean enabled;
+
+    @Value("${push.connectionQueue:32}")
+    private int connectionQueue;
+
+    @Value("${push.maxConnectionsPerUser:10}")
+    private int maxConnectionsPerUser;
+
+    @Value("${push.timeoutMinutes:30}")
+    private long timeoutMinutes;
+
+    @Value("${push.heartbeatSeconds:25}")
+    private long heartbeatSeconds;
+
+    public LivePushService(ChildDeletionRepository childLookup,
+                           @Value("${push.senderThreads:4}") int senderThreads) {
+        this.childLookup = childLookup;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(senderThreads, r -> {
+            Thread thread = new Thread(r, "push-sender-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "push-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    void scheduleHeartbeat() {
+        // Comments keep proxies from closing idle streams and find connections that went away
+        heartbeat.scheduleWithFixedDelay(this::sendHeartbeats, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeat.shutdownNow();
+        connectionsByUser.values().forEach(connections -> connections.forEach(Connection::close));
+        senders.shutdownNow();
+    }
+
+    /**
+     * Opens a stream for the user. The oldest of the user's connections is closed when
+     * this one would exceed push.maxConnectionsPerUser.
+     */
+    public SseEmitter connect(Long userId) {
+        if (!enabled) {
+            throw new IllegalStateException("Live push is disabled");
+        }
+        SseEmitter emitter = new SseEmitter(TimeUnit.MINUTES.toMillis(timeoutMinutes));
+        Connection connection = new Connection(userId, emitter);
+        emitter.onCompletion(connection::close);
+        emitter.onTimeout(connection::close);
+        emitter.onError(e -> connection.close());
+
+        // Read before locking; reloading on every connect also repairs any missed child event.
+        // Plain JDBC, so the stream's request (open in view for up to push.timeoutMinutes)
+        // never has its EntityManager take a connection from the pool
+        List<Long> children = childLookup.findChildIds(userId);
+        synchronized (connectionsByUser) {
+            Set<Long> routed = childrenByUser.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet());
+            for (Long childId : children) {
+                userByChild.put(childId, userId);
+                routed.add(childId);
+            }
+            List<Connection> connections = connectionsByUser.computeIfAbsent(userId, id -> new CopyOnWriteArrayList<>());
+            connections.add(connection);
+            open.incrementAndGet();
+            while (connections.size() > maxConnectionsPerUser) {
+                connections.get(0).close();
+            }
+        }
+        return emitter;
+    }
+
+    @Override
+    public String name() {
+        return "live-push";
+    }
+
+    @Override
+    public void onEvents(List<DomainEvent> events) {
+        if (connectionsByUser.isEmpty()) {
+            return;
+        }
+        for (DomainEvent event : events) {
+            Long userId = route(event);
+            List<Connection> connections = userId == null ? null : connectionsByUser.get(userId);
+            Map<String, Object> delta = connections == null ? null : toDelta(event);
+            if (delta != null) {
+                connections.forEach(connection -> connection.offer(delta));
+            }
+        }
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("enabled", enabled);
+        metrics.put("users", connectionsByUser.size());
+        metrics.put("connections", open.get());
+        metrics.put("sent", sent.get());
+        metrics.put("droppedSlow", droppedSlow.get());
+        return metrics;
+    }
+
+    /**
+     * The connected user an event belongs to, keeping the child routing current.
+     */
+    private Long route(DomainEvent event) {
+        if (event instanceof DomainEvent.ChildAdded added) {
+            Set<Long> routed = childrenByUser.get(added.userId());
+            if (routed != null) {
+                routed.add(added.childId());
+                userByChild.put(added.childId(), added.userId());
+            }
+            return added.userId();
+        }
+        if (event instanceof DomainEvent.ChildUpdated updated) {
+            return updated.userId();
+        }
+        if (event instanceof DomainEvent.ChildDeleted deleted) {
+            Set<Long> routed = childrenByUser.get(deleted.userId());
+            if (routed != null) {
+                routed.remove(deleted.childId());
+            }
+            userByChild.remove(deleted.childId());
+            return deleted.userId();
+        }
+        return userByChild.get(event.childId());
+    }
+
+    /**
+     * Null when the event needs no delta of its own.
+     */
+    private static Map<String, Object> toDelta(DomainEvent event) {
+        if (event instanceof DomainEvent.EntryAdded added) {
+            return delta(added.type().name(), "create", added.childId(), List.of(added.entryId()));
+        }
+        if (event instanceof DomainEvent.EntryUpdated updated) {
+            return delta(updated.type().name(), "update", updated.childId(), List.of(updated.entryId()));
+        }
+        if (event instanceof DomainEvent.EntryDeleted deleted) {
+            return delta(deleted.type().name(), "delete", deleted.childId(), List.of(deleted.entryId()));
+        }
+        if (event instanceof DomainEvent.EntriesSynced synced) {
+            // Ids of a whole chunk would not be small; the client reads the change feed instead
+            Map<String, Object> delta = delta(synced.type().name(), "sync", synced.childId(), null);
+            delta.put("inserted", synced.insertedIds().size());
+            delta.put("updated", synced.updatedIds().size());
+            return delta;
+        }
+        if (event instanceof DomainEvent.ChildAdded added) {
+            return delta(CHILD, "create", added.childId(), null);
+        }
+        if (event instanceof DomainEvent.ChildUpdated updated) {
+            return delta(CHILD, "update", updated.childId(), null);
+        }
+        if (event instanceof DomainEvent.ChildDeleted deleted) {
+            return delta(CHILD, "delete", deleted.childId(), null);
+        }
+        // SyncCompleted: each chunk already sent its own delta
+        return null;
+    }
+
+    private static Map<String, Object> delta(String type, String op, Long childId, List<Long> ids) {
+        Map<String, Object> delta = new LinkedHashMap<>();
+        delta.put("type", type);
+        delta.put("op", op);
+        delta.put("childId", childId);
+        if (ids != null) {
+            delta.put("ids", ids);
+        }
+        return delta;
+    }
+
+    private void sendHeartbeats() {
+        try {
+            connectionsByUser.values().forEach(connections -> connections.forEach(Connection::ping));
+        } catch (RuntimeException e) {
+            log.warn("Push heartbeat failed: {}", e.getMessage());
+        }
+    }
+
+    private void remove(Connection connection) {
+        synchronized (connectionsByUser) {
+            List<Connection> connections = connectionsByUser.get(connection.userId);
+            if (connections == null || !connections.remove(connection)) {
+                return;
+            }
+            open.decrementAndGet();
+            if (connections.isEmpty()) {
+                connectionsByUser.remove(connection.userId);
+                Set<Long> routed = childrenByUser.remove(connection.userId);
+                if (routed != null) {
+                    routed.forEach(childId -> userByChild.remove(childId, connection.userId));
+                }
+            }
+        }
+    }
+
+    private final class Connection {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final Queue<Map<String, Object>> queue = new ArrayBlockingQueue<>(connectionQueue);
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        Connection(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        /**
+         * Never blocks: a full queue means the client is not keeping up, so it is dropped.
+         */
+        void offer(Map<String, Object> delta) {
+            if (closed.get()) {
+                return;
+            }
+            if (!queue.offer(delta)) {
+                droppedSlow.incrementAndGet();
+                log.debug("Closing slow push connection for user {}", userId);
+                close();
+                return;
+            }
+            schedule();
+        }
+
+        void ping() {
+            if (queue.isEmpty() && !closed.get()) {
+                senders.execute(() -> {
+                    try {
+                        synchronized (this) {
+                            emitter.send(SseEmitter.event().comment("ping"));
+                        }
+                    } catch (IOException | IllegalStateException e) {
+                        close();
+                    }
+                });
+            }
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                queue.clear();
+                remove(this);
+                try {
+                    emitter.complete();
+                } catch (IllegalStateException e) {
+                    // Already completed, timed out or failed
+                }
+            }
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            List<Map<String, Object>> batch = new ArrayList<>();
+            try {
+                Map<String, Object> delta;
+                while (!closed.get() && (delta = queue.poll()) != null) {
+                    batch.add(delta);
+                }
+                if (!batch.isEmpty()) {
+                    synchronized (this) {
+                        for (Map<String, Object> item : batch) {
+                            emitter.send(SseEmitter.event().name("change").data(item, MediaType.APPLICATION_JSON));
+                        }
+                    }
+                    sent.addAndGet(batch.size());
+                }
+            } catch (IOException | IllegalStateException e) {
+                close();
+            } finally {
+                scheduled.set(false);
+            }
+            if (!queue.isEmpty() && !closed.get()) {
+                schedule();
+            }
+        }
+    }
+}
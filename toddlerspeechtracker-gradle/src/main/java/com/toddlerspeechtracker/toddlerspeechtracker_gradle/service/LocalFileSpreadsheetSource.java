@@ -0,0 +1,84 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.service;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reads tabs from files exported from the spreadsheet: {@code <dir>/<Tab>.csv}
+ * or {@code <dir>/<Tab>.tsv}. The spreadsheet id is ignored. XLSX workbooks
+ * should be exported per tab as CSV first. Parsed files are kept in memory
+ * until their size or modification time changes.
+ */
+@Log4j2
+@Component
+@ConditionalOnProperty(name = "sheets.source", havingValue = "local")
+public class LocalFileSpreadsheetSource implements SpreadsheetSource {
+
+    @Value("${sheets.local.dir:sheets}")
+    private Path directory;
+
+    private final Map<Path, ParsedFile> cache = new ConcurrentHashMap<>();
+
+    @Override
+    public List<List<Object>> readRange(String spreadsheetId, String range) throws IOException {
+        A1Range a1 = A1Range.parse(range);
+        List<List<Object>> rows = load(a1.tab());
+
+        List<List<Object>> out = new ArrayList<>();
+        int lastRow = (int) Math.min(a1.lastRow(), rows.size() - 1L);
+        for (int r = a1.firstRow(); r <= lastRow; r++) {
+            List<Object> row = rows.get(r);
+            int lastColumn = (int) Math.min(a1.lastColumn(), row.size() - 1L);
+            out.add(a1.firstColumn() <= lastColumn
+                    ? row.subList(a1.firstColumn(), lastColumn + 1)
+                    : List.of());
+        }
+        return out;
+    }
+
+    private List<List<Object>> load(String tab) throws IOException {
+        Path file = directory.resolve(tab + ".csv");
+        char separator = ',';
+        if (!Files.isRegularFile(file)) {
+            file = directory.resolve(tab + ".tsv");
+            separator = '\t';
+        }
+        if (!Files.isRegularFile(file)) {
+            throw new IOException("No export found for tab " + tab + " in " + directory.toAbsolutePath());
+        }
+
+        long size = Files.size(file);
+        long modified = Files.getLastModifiedTime(file).toMillis();
+        ParsedFile cached = cache.get(file);
+        if (cached != null && cached.size == size && cached.modified == modified) {
+            return cached.rows;
+        }
+
+        List<List<Object>> rows = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            List<Object> row;
+            while ((row = DelimitedRowParser.readRow(reader, separator)) != null) {
+                rows.add(row);
+            }
+        }
+        log.info("Loaded {} rows from {}", rows.size(), file);
+
+        cache.put(file, new ParsedFile(size, modified, rows));
+        return rows;
+    }
+
+    private record ParsedFile(long size, long modified, List<List<Object>> rows) {
+    }
+}
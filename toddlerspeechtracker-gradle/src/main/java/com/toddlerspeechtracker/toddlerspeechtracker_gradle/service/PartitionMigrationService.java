@@ -0,0 +1,233 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.service;
+
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.model.EntryType;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.repo.PartitionMigrationRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves the word, phrase, song and letter tables to hash partitions on child_id
+ * while the application keeps running. Schema otherwise comes from Hibernate's
+ * ddl-auto, which cannot partition, so this is the migration path: an admin starts
+ * it once per database, and a table that is already partitioned is skipped.
+ * <p>
+ * Per table: create the partitioned copy, install a trigger that mirrors writes on
+ * the original into it, copy existing rows in id order in short batches with a pause
+ * between them, then swap the tables in one brief transaction. The original is kept
+ * as {table}_unpartitioned, without foreign keys, until an operator drops it.
+ */
+@Log4j2
+@Service
+public class PartitionMigrationService {
+
+    private final PartitionMigrationRepository migrationRepo;
+    private final DataSourceProperties dataSourceProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor;
+
+    @Value("${partitioning.partitions:16}")
+    private int partitions;
+
+    @Value("${partitioning.batchSize:5000}")
+    private int batchSize;
+
+    @Value("${partitioning.batchPauseMillis:50}")
+    private long batchPauseMillis;
+
+    private volatile MigrationProgress progress;
+
+    public PartitionMigrationService(PartitionMigrationRepository migrationRepo,
+                                     DataSourceProperties dataSourceProperties,
+                                     PlatformTransactionManager transactionManager) {
+        this.migrationRepo = migrationRepo;
+        this.dataSourceProperties = dataSourceProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "partition-migration");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Partition count per entry table (0 when not partitioned) and the progress of the
+     * current or last migration.
+     */
+    public Map<String, Object> getStatus() {
+        requirePostgres();
+        Map<String, Object> tables = new LinkedHashMap<>();
+        for (EntryType type : EntryType.values()) {
+            tables.put(type.getTable(), migrationRepo.partitionCount(type.getTable()));
+        }
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("partitions", tables);
+        status.put("migration", progress);
+        return status;
+    }
+
+    /**
+     * Starts migrating every entry table that is not partitioned yet, in the background.
+     */
+    public synchronized MigrationProgress start() {
+        requirePostgres();
+        if (progress != null && progress.finishedAt == null) {
+            throw new IllegalStateException("A partition migration is already running");
+        }
+        if (partitions < 2) {
+            throw new IllegalArgumentException("partitioning.partitions must be at least 2");
+        }
+        MigrationProgress started = new MigrationProgress(partitions);
+        progress = started;
+        executor.submit(() -> {
+            try {
+                for (EntryType type : EntryType.values()) {
+                    migrate(type, started);
+                }
+                started.status = MigrationProgress.COMPLETED;
+            } catch (Exception e) {
+                log.error("Partition migration failed on {}", started.currentTable, e);
+                started.status = MigrationProgress.FAILED;
+                started.error = e.getMessage();
+            } finally {
+                started.finishedAt = LocalDateTime.now();
+            }
+        });
+        return started;
+    }
+
+    /**
+     * Plans (without running) the statements each repository issues for one child and
+     * reports the partitions each would read. On a partitioned table every count
+     * should be 1; a higher count means the statement lost its child_id filter.
+     */
+    public Map<String, Object> checkPruning() {
+        requirePostgres();
+        Map<String, Object> report = new LinkedHashMap<>();
+        for (EntryType type : EntryType.values()) {
+            String table = type.getTable();
+            String id = type.getIdColumn();
+            Map<String, Object> params = Map.of("childId", migrationRepo.anyChildId(type), "entryId", 0L,
+                    "userId", 0L, "after", LocalDateTime.now(), "limit", 1000);
+
+            // Shapes of the list read, the entity lookup and update (with @PartitionKey),
+            // PATCH and batch statements, the chunked child delete and the change feed
+            Map<String, String> statements = new LinkedHashMap<>();
+            statements.put("list", "SELECT * FROM " + table + " WHERE child_id = :childId");
+            statements.put("findById", "SELECT * FROM " + table + " WHERE " + id + " = :entryId AND child_id = :childId");
+            statements.put("update", "UPDATE " + table + " SET updated_timestamp = :after"
+                    + " WHERE " + id + " = :entryId AND child_id = :childId");
+            statements.put("deleteOwned", "DELETE FROM " + table + " WHERE " + id + " = :entryId AND child_id = :childId"
+                    + " AND EXISTS (SELECT 1 FROM children c WHERE c.child_id = :childId AND c.user_id = :userId)");
+            statements.put("deleteChunk", "DELETE FROM " + table + " WHERE child_id = :childId AND " + id + " IN ("
+                    + "SELECT " + id + " FROM " + table + " WHERE child_id = :childId LIMIT :limit)");
+            statements.put("changes", "SELECT * FROM " + table + " WHERE child_id = :childId"
+                    + " AND updated_timestamp > :after ORDER BY updated_timestamp, " + id + " LIMIT :limit");
+
+            Map<String, Object> scanned = new LinkedHashMap<>();
+            statements.forEach((name, sql) ->
+                    scanned.put(name, migrationRepo.partitionsScanned(type, sql, params).size()));
+
+            Map<String, Object> tableReport = new LinkedHashMap<>();
+            tableReport.put("partitions", migrationRepo.partitionCount(table));
+            tableReport.put("partitionsScanned", scanned);
+            report.put(table, tableReport);
+        }
+        return report;
+    }
+
+    private void migrate(EntryType type, MigrationProgress progress) throws InterruptedException {
+        String table = type.getTable();
+        progress.currentTable = table;
+        if (migrationRepo.partitionCount(table) > 0) {
+            log.info("{} is already partitioned; skipping", table);
+            progress.tablesDone.add(table);
+            return;
+        }
+        if (migrationRepo.tableExists(PartitionMigrationRepository.retiredTable(type))) {
+            throw new IllegalStateException(PartitionMigrationRepository.retiredTable(type)
+                    + " exists from an earlier migration; drop it first");
+        }
+
+        // A copy left by an interrupted run is discarded rather than trusted
+        transactionTemplate.executeWithoutResult(status -> {
+            if (migrationRepo.tableExists(PartitionMigrationRepository.shadowTable(type))) {
+                migrationRepo.dropShadow(type);
+            }
+            migrationRepo.createShadow(type, partitions);
+            migrationRepo.installMirrorTrigger(type);
+        });
+        log.info("Copying {} into {} hash partitions", table, partitions);
+
+        progress.phase = MigrationProgress.COPYING;
+        long lastId = 0;
+        long targetId = migrationRepo.maxId(type, table);
+        while (lastId < targetId) {
+            long from = lastId;
+            Long copiedTo = transactionTemplate.execute(status -> migrationRepo.copyBatch(type, from, batchSize));
+            if (copiedTo == null || copiedTo == from) {
+                break;
+            }
+            lastId = copiedTo;
+            progress.batches.incrementAndGet();
+            progress.lastCopiedId = lastId;
+            Thread.sleep(batchPauseMillis);
+        }
+        // Rows inserted since the copy began went through the trigger
+
+        progress.phase = MigrationProgress.CUTOVER;
+        transactionTemplate.executeWithoutResult(status -> migrationRepo.cutover(type));
+        progress.tablesDone.add(table);
+        progress.phase = null;
+        log.info("{} is now hash-partitioned on child_id ({} partitions); original kept as {}",
+                table, partitions, PartitionMigrationRepository.retiredTable(type));
+    }
+
+    private void requirePostgres() {
+        String url = dataSourceProperties.determineUrl();
+        if (url == null || !url.startsWith("jdbc:postgresql:")) {
+            throw new IllegalStateException("Partitioning needs PostgreSQL");
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public static class MigrationProgress {
+        public static final String RUNNING = "running";
+        public static final String COMPLETED = "completed";
+        public static final String FAILED = "failed";
+        public static final String COPYING = "copying";
+        public static final String CUTOVER = "cutover";
+
+        public final int partitions;
+        public final LocalDateTime startedAt = LocalDateTime.now();
+        public final List<String> tablesDone = new CopyOnWriteArrayList<>();
+        public final AtomicLong batches = new AtomicLong();
+        public volatile String status = RUNNING;
+        public volatile String currentTable;
+        public volatile String phase;
+        public volatile long lastCopiedId;
+        public volatile LocalDateTime finishedAt;
+        public volatile String error;
+
+        MigrationProgress(int partitions) {
+            this.partitions = partitions;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.service;
+
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.config.JfrEvents;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Starts and stops a single Java Flight Recorder recording on demand. Recordings use
+ * a JDK preset ("profile" by default, which adds allocation and method sampling to the
+ * low-overhead "default" set) and always include the application's own events from
+ * {@link JfrEvents}.
+ * A recording stops by itself after a maximum duration so a forgotten one cannot
+ * run indefinitely.
+ */
+@Log4j2
+@Service
+public class ProfilingService {
+
+    @Value("${profiling.preset:profile}")
+    private String preset;
+
+    @Value("${profiling.maxDurationSeconds:600}")
+    private long maxDurationSeconds;
+
+    @Value("${profiling.maxSizeMb:250}")
+    private long maxSizeMb;
+
+    private Recording recording;
+
+    public synchronized Map<String, Object> start(long durationSeconds) throws IOException, ParseException {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new IllegalStateException("A recording is already running");
+        }
+        closeRecording();
+
+        long seconds = durationSeconds > 0 ? Math.min(durationSeconds, maxDurationSeconds) : maxDurationSeconds;
+        Recording started = new Recording(Configuration.getConfiguration(preset));
+        started.setName("toddler-speech-tracker-" + Instant.now().getEpochSecond());
+        started.setDuration(Duration.ofSeconds(seconds));
+        started.setMaxSize(maxSizeMb * 1024 * 1024);
+        started.setToDisk(true);
+        started.enable(JfrEvents.SyncStage.class);
+        started.enable(JfrEvents.UpsertBatch.class);
+        started.enable(JfrEvents.OwnershipCheck.class);
+        started.enable(JfrEvents.PasswordHash.class);
+        started.start();
+        recording = started;
+
+        log.info("JFR recording {} started with preset {} for up to {}s", started.getName(), preset, seconds);
+        return getStatus();
+    }
+
+    /**
+     * Stops the recording if it is still running and dumps it to a temporary file.
+     * The caller owns the file and should delete it after sending it.
+     */
+    public synchronized Path stop() throws IOException {
+        if (recording == null) {
+            throw new IllegalArgumentException("No recording has been started");
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+
+        Path file = Files.createTempFile(recording.getName() + "-", ".jfr");
+        recording.dump(file);
+        log.info("JFR recording {} stopped, {} bytes", recording.getName(), Files.size(file));
+        closeRecording();
+        return file;
+    }
+
+    public synchronized Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (recording == null) {
+            status.put("state", "NONE");
+            return status;
+        }
+        status.put("name", recording.getName());
+        status.put("state", recording.getState().name());
+        status.put("preset", preset);
+        status.put("startTime", String.valueOf(recording.getStartTime()));
+        status.put("maxDurationSeconds", recording.getDuration() == null ? null : recording.getDuration().toSeconds());
+        status.put("sizeBytes", recording.getSize());
+        return status;
+    }
+
+    private void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+}
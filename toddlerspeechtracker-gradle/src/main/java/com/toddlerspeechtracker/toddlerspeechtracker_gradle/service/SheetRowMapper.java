@@ -0,0 +1,153 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.service;
+
+import lombok.extern.log4j.Log4j2;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Maps sheet rows to entities using a column layout compiled once from the tab's
+ * header row. Headers are matched by normalized name ("Signed Date", "signed_date"
+ * and "signedDate" all match signedDate), so reordered or extra columns just work.
+ * Mapping a row only touches the cells that feed a field.
+ * <p>
+ * If the header does not name the key field at all, the legacy fixed column
+ * positions are used instead.
+ */
+@Log4j2
+public final class SheetRowMapper<T> {
+
+    public record Field<T>(String property, int legacyIndex, boolean flag,
+                           BiConsumer<T, String> textSetter, BiConsumer<T, Boolean> flagSetter,
+                           String... aliases) {
+
+        public static <T> Field<T> text(String property, int legacyIndex, BiConsumer<T, String> setter,
+                                        String... aliases) {
+            return new Field<>(property, legacyIndex, false, setter, null, aliases);
+        }
+
+        public static <T> Field<T> flag(String property, int legacyIndex, BiConsumer<T, Boolean> setter,
+                                        String... aliases) {
+            return new Field<>(property, legacyIndex, true, null, setter, aliases);
+        }
+
+        boolean matches(String normalizedHeader) {
+            if (normalize(property).equals(normalizedHeader)) {
+                return true;
+            }
+            for (String alias : aliases) {
+                if (normalize(alias).equals(normalizedHeader)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private final Supplier<T> factory;
+    private final int[] columns;
+    private final Field<T>[] fields;
+
+    private SheetRowMapper(Supplier<T> factory, int[] columns, Field<T>[] fields) {
+        this.factory = factory;
+        this.columns = columns;
+        this.fields = fields;
+    }
+
+    /**
+     * @param fields the first field is the entry's key (word, phrase, song title, letters)
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> SheetRowMapper<T> compile(List<Object> header, List<Field<T>> fields, Supplier<T> factory) {
+        int[] columns = new int[fields.size()];
+        int matched = 0;
+        for (int f = 0; f < fields.size(); f++) {
+            columns[f] = -1;
+            for (int c = 0; c < header.size(); c++) {
+                Object cell = header.get(c);
+                if (cell != null && fields.get(f).matches(normalize(cell.toString()))) {
+                    columns[f] = c;
+                    matched++;
+                    break;
+                }
+            }
+        }
+
+        if (columns[0] < 0) {
+            log.warn("Header {} does not name column '{}', using fixed column positions",
+                    header, fields.get(0).property());
+            for (int f = 0; f < fields.size(); f++) {
+                columns[f] = fields.get(f).legacyIndex();
+            }
+        } else {
+            log.debug("Compiled header {}: {} of {} fields mapped", header, matched, fields.size());
+        }
+
+        // Keep only mapped fields so map() does no per-row checks for missing columns
+        int count = 0;
+        for (int column : columns) {
+            if (column >= 0) count++;
+        }
+        int[] compactColumns = new int[count];
+        Field<T>[] compactFields = new Field[count];
+        for (int f = 0, i = 0; f < fields.size(); f++) {
+            if (columns[f] >= 0) {
+                compactColumns[i] = columns[f];
+                compactFields[i++] = fields.get(f);
+            }
+        }
+        return new SheetRowMapper<>(factory, compactColumns, compactFields);
+    }
+
+    public T map(List<Object> row) {
+        T entity = factory.get();
+        int size = row.size();
+        for (int i = 0; i < columns.length; i++) {
+            int column = columns[i];
+            Object cell = column < size ? row.get(column) : null;
+            Field<T> field = fields[i];
+            if (field.flag()) {
+                field.flagSetter().accept(entity, parseBoolean(cell));
+            } else {
+                field.textSetter().accept(entity, cell == null ? null : cell.toString().trim());
+            }
+        }
+        return entity;
+    }
+
+    /**
+     * Accepts "true", "yes", "y", "1" in any case as true; everything else
+     * (including null/empty) as false. No intermediate strings are created.
+     */
+    static Boolean parseBoolean(Object cell) {
+        if (cell == null) {
+            return false;
+        }
+        if (cell instanceof Boolean b) {
+            return b;
+        }
+        String value = cell.toString();
+        int start = 0;
+        int end = value.length();
+        while (start < end && Character.isWhitespace(value.charAt(start))) start++;
+        while (end > start && Character.isWhitespace(value.charAt(end - 1))) end--;
+
+        int length = end - start;
+        return (length == 4 && value.regionMatches(true, start, "TRUE", 0, 4))
+                || (length == 3 && value.regionMatches(true, start, "YES", 0, 3))
+                || (length == 1 && (value.charAt(start) == 'Y' || value.charAt(start) == 'y'
+                        || value.charAt(start) == '1'));
+    }
+
+    static String normalize(String header) {
+        StringBuilder out = new StringBuilder(header.length());
+        for (int i = 0; i < header.length(); i++) {
+            char c = header.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                out.append(Character.toLowerCase(c));
+            }
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,211 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local snapshots of fetched sheet ranges, one compact binary file per
+ * spreadsheet and range. A range is at most sheets.chunkRows rows, so a snapshot is
+ * read back whole onto the heap; a memory mapping would stay open until GC and, on
+ * Windows, make the next replace of the file fail.
+ * <p>
+ * File layout: magic, written-at millis, row count, then per row a cell count
+ * followed by cells tagged null / true / false / UTF-8 text. Files not rewritten for
+ * sheets.snapshot.retentionHours are pruned hourly, along with temporary files left
+ * by a crash.
+ */
+@Log4j2
+@Component
+public class SheetSnapshotStore {
+
+    private static final int MAGIC = 0x54535331; // "TSS1"
+    private static final byte NULL = 0;
+    private static final byte TEXT = 1;
+    private static final byte TRUE = 2;
+    private static final byte FALSE = 3;
+
+    @Value("${sheets.snapshot.dir:${java.io.tmpdir}/toddler-sheets-snapshots}")
+    private Path directory;
+
+    @Value("${sheets.snapshot.retentionHours:168}")
+    private long retentionHours;
+
+    private final ScheduledExecutorService pruner = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "snapshot-pruner");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    void schedulePruning() {
+        pruner.scheduleWithFixedDelay(this::prune, 1, 60, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pruner.shutdownNow();
+    }
+
+    /**
+     * @return the snapshot rows, or null when there is no snapshot younger than {@code maxAge}
+     */
+    public List<List<Object>> read(String spreadsheetId, String range, Duration maxAge) {
+        Path file = fileFor(spreadsheetId, range);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+            if (buffer.getInt() != MAGIC) {
+                log.warn("Ignoring snapshot with unknown format: {}", file);
+                return null;
+            }
+            long writtenAt = buffer.getLong();
+            if (System.currentTimeMillis() - writtenAt > maxAge.toMillis()) {
+                return null;
+            }
+
+            int rowCount = buffer.getInt();
+            List<List<Object>> rows = new ArrayList<>(rowCount);
+            for (int r = 0; r < rowCount; r++) {
+                int cellCount = buffer.getInt();
+                List<Object> row = new ArrayList<>(cellCount);
+                for (int c = 0; c < cellCount; c++) {
+                    byte type = buffer.get();
+                    switch (type) {
+                        case TRUE -> row.add(Boolean.TRUE);
+                        case FALSE -> row.add(Boolean.FALSE);
+                        case TEXT -> {
+                            byte[] bytes = new byte[buffer.getInt()];
+                            buffer.get(bytes);
+                            row.add(new String(bytes, StandardCharsets.UTF_8));
+                        }
+                        default -> row.add(null);
+                    }
+                }
+                rows.add(row);
+            }
+            return rows;
+        } catch (IOException | BufferUnderflowException e) {
+            log.warn("Unreadable snapshot {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes to a temporary file and moves it into place, so readers never see a partial snapshot.
+     */
+    public void write(String spreadsheetId, String range, List<List<Object>> rows) {
+        Path file = fileFor(spreadsheetId, range);
+        Path temp = null;
+        try {
+            Files.createDirectories(directory);
+            temp = Files.createTempFile(directory, "snapshot", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeLong(System.currentTimeMillis());
+                out.writeInt(rows.size());
+                for (List<Object> row : rows) {
+                    out.writeInt(row.size());
+                    for (Object cell : row) {
+                        if (cell == null) {
+                            out.writeByte(NULL);
+                        } else if (cell instanceof Boolean b) {
+                            out.writeByte(b ? TRUE : FALSE);
+                        } else {
+                            byte[] bytes = cell.toString().getBytes(StandardCharsets.UTF_8);
+                            out.writeByte(TEXT);
+                            out.writeInt(bytes.length);
+                            out.write(bytes);
+                        }
+                    }
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // A missing snapshot only costs a later API call
+            log.warn("Could not write snapshot {}: {}", file, e.getMessage());
+        } finally {
+            deleteTemp(temp);
+        }
+    }
+
+    /**
+     * Deletes snapshots and temporary files not written for sheets.snapshot.retentionHours.
+     * Offline fallback serves snapshots of any age, so this bounds how stale that can be.
+     */
+    void prune() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        FileTime cutoff = FileTime.from(Instant.now().minus(Duration.ofHours(retentionHours)));
+        int pruned = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.{snap,tmp}")) {
+            for (Path file : files) {
+                if (Files.getLastModifiedTime(file).compareTo(cutoff) < 0 && Files.deleteIfExists(file)) {
+                    pruned++;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not prune snapshots in {}: {}", directory, e.getMessage());
+        }
+        if (pruned > 0) {
+            log.info("Pruned {} snapshots older than {} hours", pruned, retentionHours);
+        }
+    }
+
+    /**
+     * Removes the temporary file of a failed write; after a successful move it is already gone.
+     */
+    private void deleteTemp(Path temp) {
+        if (temp == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(temp);
+        } catch (IOException e) {
+            log.warn("Could not delete temporary snapshot {}: {}", temp, e.getMessage());
+        }
+    }
+
+    /**
+     * A readable name plus a hash of the raw key, since ranges that differ only in
+     * punctuation (Words!A1:Z1 and Words_A1_Z1) would otherwise share a file.
+     */
+    private Path fileFor(String spreadsheetId, String range) {
+        String key = spreadsheetId + "__" + range;
+        String name = key.replaceAll("[^A-Za-z0-9_-]", "_");
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return directory.resolve(name + "_" + HexFormat.of().formatHex(digest, 0, 8) + ".snap");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.service;
+
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.config.Tracer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Reads a sheet tab in fixed-size row ranges (A2:Z1001, A1002:Z2001, ...) and hands
+ * each chunk to a consumer as soon as it arrives. A background thread fetches ahead
+ * into a small bounded queue, so fetching overlaps with parsing/upserting while at
+ * most {@code prefetch + 1} chunks are ever held in memory.
+ */
+@Log4j2
+@Component
+public class SheetTabReader {
+
+    @FunctionalInterface
+    public interface ChunkConsumer {
+        /**
+         * @param firstRow sheet row number of {@code rows.get(0)}
+         * @return false to stop reading the rest of the tab
+         */
+        boolean accept(List<List<Object>> rows, int firstRow) throws Exception;
+    }
+
+    private static final Chunk END = new Chunk(List.of(), 0);
+
+    private final SpreadsheetSource source;
+    private final SheetSnapshotStore snapshots;
+    private final ExecutorService fetchExecutor = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "sheet-tab-reader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${sheets.chunkRows:1000}")
+    private int chunkRows;
+
+    @Value("${sheets.prefetchChunks:2}")
+    private int prefetchChunks;
+
+    @Value("${sheets.lastColumn:Z}")
+    private String lastColumn;
+
+    @Value("${sheets.snapshot.enabled:true}")
+    private boolean snapshotsEnabled;
+
+    @Value("${sheets.snapshot.ttlSeconds:60}")
+    private long snapshotTtlSeconds;
+
+    @Value("${sheets.snapshot.offlineFallback:true}")
+    private boolean offlineFallback;
+
+    public SheetTabReader(SpreadsheetSource source, SheetSnapshotStore snapshots) {
+        this.source = source;
+        this.snapshots = snapshots;
+    }
+
+    public void connect() throws IOException {
+        source.connect();
+    }
+
+    /**
+     * Streams every data row of the tab to a consumer. Row 1 is read first and passed
+     * once to {@code consumerForHeader}, which builds the consumer for the data rows.
+     *
+     * @param preferSnapshot serve ranges from a local snapshot younger than the TTL
+     *                       instead of calling Google (used for previews, not for sync);
+     *                       the grid size is not looked up, so the read stops at the
+     *                       first empty range
+     * @return number of data rows delivered
+     */
+    public int readTab(String spreadsheetId, String tab, boolean preferSnapshot,
+                       Function<List<Object>, ChunkConsumer> consumerForHeader) throws Exception {
+        List<List<Object>> headerRows = fetchRange(spreadsheetId, tab + "!A1:" + lastColumn + "1", preferSnapshot);
+        List<Object> header = headerRows.isEmpty() ? List.of() : headerRows.get(0);
+        if (header.isEmpty()) {
+            log.info("Tab {} is empty", tab);
+            return 0;
+        }
+        ChunkConsumer consumer = consumerForHeader.apply(header);
+        int rowCount = preferSnapshot ? -1 : rowCount(spreadsheetId, tab);
+
+        // Ranges omit trailing empty rows, so a short chunk is not the end of the tab:
+        // read up to the grid's row count, or while ranges still return rows
+        BlockingQueue<Chunk> queue = new ArrayBlockingQueue<>(Math.max(1, prefetchChunks));
+        Future<?> producer = fetchExecutor.submit(Tracer.wrap(() -> {
+            int start = 2;
+            while (rowCount < 0 || start <= rowCount) {
+                int end = start + chunkRows - 1;
+                List<List<Object>> rows = fetchRange(spreadsheetId,
+                        tab + "!A" + start + ":" + lastColumn + end, preferSnapshot);
+                if (!rows.isEmpty()) {
+                    queue.put(new Chunk(rows, start));
+                } else if (rowCount < 0) {
+                    break;
+                }
+                start = end + 1;
+            }
+            queue.put(END);
+            return null;
+        }));
+
+        int delivered = 0;
+        try {
+            while (true) {
+                Chunk chunk = queue.poll(1, TimeUnit.SECONDS);
+                if (chunk == null) {
+                    if (producer.isDone()) {
+                        producer.get(); // surfaces a fetch failure
+                        chunk = queue.poll();
+                        if (chunk == null) {
+                            break;
+                        }
+                    } else {
+                        continue;
+                    }
+                }
+                if (chunk == END) {
+                    break;
+                }
+
+                delivered += chunk.rows.size();
+                log.debug("Tab {}: chunk of {} rows from row {}", tab, chunk.rows.size(), chunk.firstRow);
+                if (!consumer.accept(chunk.rows, chunk.firstRow)) {
+                    break;
+                }
+            }
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        } finally {
+            producer.cancel(true);
+        }
+
+        log.info("Tab {}: {} rows read", tab, delivered);
+        return delivered;
+    }
+
+    /**
+     * The tab's grid row count, or -1 when the source cannot tell or is unreachable; the
+     * read then falls back to stopping at the first empty range, which snapshots can serve.
+     */
+    private int rowCount(String spreadsheetId, String tab) {
+        try {
+            return source.rowCount(spreadsheetId, tab);
+        } catch (IOException | CircuitOpenException e) {
+            log.warn("Row count of tab {} unavailable, reading until an empty range: {}", tab, e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Reads one range, consulting the snapshot store first when allowed. Live results are
+     * written back as the new snapshot. If the source is unreachable (I/O failure or open
+     * circuit) the last snapshot is used regardless of age, when offline fallback is on.
+     */
+    private List<List<Object>> fetchRange(String spreadsheetId, String range, boolean preferSnapshot)
+            throws IOException {
+        boolean useSnapshots = snapshotsEnabled && source.isRemote();
+        if (useSnapshots && preferSnapshot) {
+            List<List<Object>> cached = snapshots.read(spreadsheetId, range, Duration.ofSeconds(snapshotTtlSeconds));
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        try {
+            List<List<Object>> rows = source.readRange(spreadsheetId, range);
+            if (useSnapshots) {
+                snapshots.write(spreadsheetId, range, rows);
+            }
+            return rows;
+        } catch (IOException | CircuitOpenException e) {
+            if (useSnapshots && offlineFallback) {
+                List<List<Object>> stale = snapshots.read(spreadsheetId, range, Duration.ofMillis(Long.MAX_VALUE));
+                if (stale != null) {
+                    log.warn("Google Sheets unavailable, using last snapshot of {}: {}", range, e.getMessage());
+                    return stale;
+                }
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        fetchExecutor.shutdownNow();
+    }
+
+    private record Chunk(List<List<Object>> rows, int firstRow) {
+    }
+}
@@ -0,0 +1,298 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.service;
+
+import com.google.api.client.googleapis.javanet.GoogleNetHttpTransport;
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.client.googleapis.services.AbstractGoogleClientRequest;
+import com.google.api.client.http.HttpRequestInitializer;
+import com.google.api.client.json.JsonFactory;
+import com.google.api.client.json.jackson2.JacksonFactory;
+import com.google.api.services.sheets.v4.Sheets;
+import com.google.api.services.sheets.v4.model.Spreadsheet;
+import com.google.api.services.sheets.v4.model.ValueRange;
+import com.google.auth.http.HttpCredentialsAdapter;
+import com.google.auth.oauth2.GoogleCredentials;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.config.TokenBucket;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.config.Tracer;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The single entry point for Google Sheets API calls. Every call goes through a
+ * quota-sized rate limiter, a per-attempt socket timeout, an overall deadline,
+ * retries with exponential backoff and full jitter for 429/5xx and I/O errors,
+ * and a circuit breaker that fails fast while Google is unavailable.
+ */
+@Log4j2
+@Component
+public class SheetsApiClient {
+
+    private static final JsonFactory JSON_FACTORY = JacksonFactory.getDefaultInstance();
+    private static final Set<Integer> RETRYABLE_STATUS = Set.of(429, 500, 502, 503, 504);
+
+    enum CircuitState { CLOSED, OPEN, HALF_OPEN }
+
+    @Value("${sheets.credentialsFilePath}")
+    private Resource credentialsResource;
+
+    @Value("${sheets.client.timeoutMillis:10000}")
+    private int timeoutMillis;
+
+    @Value("${sheets.client.deadlineMillis:30000}")
+    private long deadlineMillis;
+
+    @Value("${sheets.client.maxAttempts:4}")
+    private int maxAttempts;
+
+    @Value("${sheets.client.baseBackoffMillis:500}")
+    private long baseBackoffMillis;
+
+    @Value("${sheets.client.failureThreshold:5}")
+    private int failureThreshold;
+
+    @Value("${sheets.client.openMillis:30000}")
+    private long openMillis;
+
+    private final TokenBucket readLimiter;
+    private final TokenBucket writeLimiter;
+
+    private volatile Sheets sheets;
+
+    private volatile CircuitState circuitState = CircuitState.CLOSED;
+    private volatile long openedAt;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong successes = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong rejectedByCircuit = new AtomicLong();
+    private final AtomicLong throttledMillis = new AtomicLong();
+    private final AtomicLong totalLatencyMillis = new AtomicLong();
+
+    public SheetsApiClient(@Value("${sheets.quota.readsPerMinute:60}") double readsPerMinute,
+                           @Value("${sheets.quota.writesPerMinute:60}") double writesPerMinute) {
+        this.readLimiter = new TokenBucket(Math.max(1, readsPerMinute / 6), readsPerMinute / 60);
+        this.writeLimiter = new TokenBucket(Math.max(1, writesPerMinute / 6), writesPerMinute / 60);
+    }
+
+    public ValueRange getValues(String spreadsheetId, String range) throws IOException {
+        return execute("values.get " + range, false, sheets().spreadsheets().values().get(spreadsheetId, range));
+    }
+
+    public Spreadsheet getSpreadsheet(String spreadsheetId) throws IOException {
+        return execute("spreadsheets.get", false, sheets().spreadsheets().get(spreadsheetId));
+    }
+
+    /**
+     * Tab titles and grid sizes only, without cell data.
+     */
+    public Spreadsheet getSheetProperties(String spreadsheetId) throws IOException {
+        return execute("spreadsheets.get properties", false, sheets().spreadsheets().get(spreadsheetId)
+                .setFields("sheets.properties(title,gridProperties.rowCount)"));
+    }
+
+    /**
+     * Builds the client and obtains an access token if that has not happened yet.
+     */
+    public void connect() throws IOException {
+        sheets();
+    }
+
+    /**
+     * Runs a request with rate limiting, retries and the circuit breaker.
+     * Throws CircuitOpenException without calling Google while the circuit is open.
+     */
+    public <T> T execute(String operation, boolean write, AbstractGoogleClientRequest<T> request) throws IOException {
+        calls.incrementAndGet();
+        boolean probe = allowRequest(operation);
+        try {
+            return attempt(operation, write, request);
+        } finally {
+            if (probe && circuitState == CircuitState.HALF_OPEN) {
+                // The probe ended without an answer from Google (quota wait, interrupt or
+                // runtime failure); reopen so the next caller probes instead of failing forever
+                circuitState = CircuitState.OPEN;
+                log.info("Sheets circuit reopened; probe with {} ended without a result", operation);
+            }
+        }
+    }
+
+    private <T> T attempt(String operation, boolean write, AbstractGoogleClientRequest<T> request) throws IOException {
+        long deadline = System.currentTimeMillis() + deadlineMillis;
+        IOException lastError = null;
+
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            acquirePermit(write ? writeLimiter : readLimiter, deadline);
+
+            long start = System.currentTimeMillis();
+            try (Tracer.Span span = Tracer.start("sheets " + operation, Tracer.CLIENT)) {
+                span.tag("attempt", String.valueOf(attempt));
+                T result = request.execute();
+                totalLatencyMillis.addAndGet(System.currentTimeMillis() - start);
+                onSuccess();
+                return result;
+            } catch (IOException e) {
+                totalLatencyMillis.addAndGet(System.currentTimeMillis() - start);
+                lastError = e;
+                if (!isRetryable(e) || attempt == maxAttempts) {
+                    break;
+                }
+
+                // Full jitter: sleep a random time up to base * 2^(attempt-1)
+                long backoff = ThreadLocalRandom.current().nextLong(Math.max(1, baseBackoffMillis << (attempt - 1)));
+                if (System.currentTimeMillis() + backoff >= deadline) {
+                    break;
+                }
+                retries.incrementAndGet();
+                log.warn("Sheets {} failed (attempt {}), retrying in {}ms: {}", operation, attempt, backoff,
+                        e.getMessage());
+                sleep(backoff);
+            }
+        }
+
+        if (isRetryable(lastError)) {
+            onFailure(operation);
+        } else {
+            // Google answered; a 4xx says nothing about its availability
+            failures.incrementAndGet();
+            consecutiveFailures.set(0);
+            circuitState = CircuitState.CLOSED;
+        }
+        throw lastError;
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("circuitState", circuitState.name());
+        metrics.put("calls", calls.get());
+        metrics.put("successes", successes.get());
+        metrics.put("failures", failures.get());
+        metrics.put("retries", retries.get());
+        metrics.put("rejectedByCircuit", rejectedByCircuit.get());
+        metrics.put("throttledMillis", throttledMillis.get());
+        long attempts = successes.get() + failures.get() + retries.get();
+        metrics.put("avgLatencyMillis", attempts == 0 ? 0 : totalLatencyMillis.get() / attempts);
+        return metrics;
+    }
+
+    private Sheets sheets() throws IOException {
+        Sheets current = sheets;
+        if (current == null) {
+            synchronized (this) {
+                if (sheets == null) {
+                    sheets = buildSheets();
+                }
+                current = sheets;
+            }
+        }
+        return current;
+    }
+
+    private Sheets buildSheets() throws IOException {
+        log.info("Building Google Sheets client");
+
+        try (InputStream in = credentialsResource.getInputStream()) {
+            GoogleCredentials credentials = GoogleCredentials.fromStream(in)
+                    .createScoped(List.of("https://www.googleapis.com/auth/spreadsheets"));
+            credentials.refreshIfExpired();
+            HttpRequestInitializer credentialsInitializer = new HttpCredentialsAdapter(credentials);
+            HttpRequestInitializer initializer = httpRequest -> {
+                credentialsInitializer.initialize(httpRequest);
+                httpRequest.setConnectTimeout(timeoutMillis);
+                httpRequest.setReadTimeout(timeoutMillis);
+            };
+
+            return new Sheets.Builder(GoogleNetHttpTransport.newTrustedTransport(), JSON_FACTORY, initializer)
+                    .setApplicationName("toddler-speech-tracker")
+                    .build();
+        } catch (GeneralSecurityException e) {
+            throw new IOException("Unable to create HTTP transport", e);
+        }
+    }
+
+    /**
+     * @return true when this call is the half-open probe
+     */
+    private boolean allowRequest(String operation) {
+        if (circuitState == CircuitState.OPEN) {
+            if (System.currentTimeMillis() - openedAt < openMillis) {
+                rejectedByCircuit.incrementAndGet();
+                throw new CircuitOpenException("Google Sheets is temporarily unavailable");
+            }
+            // Let a single probe through; concurrent callers keep failing fast until it succeeds
+            synchronized (this) {
+                if (circuitState != CircuitState.OPEN) {
+                    rejectedByCircuit.incrementAndGet();
+                    throw new CircuitOpenException("Google Sheets is temporarily unavailable");
+                }
+                circuitState = CircuitState.HALF_OPEN;
+                log.info("Sheets circuit half-open, probing with {}", operation);
+                return true;
+            }
+        } else if (circuitState == CircuitState.HALF_OPEN) {
+            rejectedByCircuit.incrementAndGet();
+            throw new CircuitOpenException("Google Sheets is temporarily unavailable");
+        }
+        return false;
+    }
+
+    private void onSuccess() {
+        successes.incrementAndGet();
+        consecutiveFailures.set(0);
+        if (circuitState != CircuitState.CLOSED) {
+            circuitState = CircuitState.CLOSED;
+            log.info("Sheets circuit closed");
+        }
+    }
+
+    private void onFailure(String operation) {
+        failures.incrementAndGet();
+        if (circuitState == CircuitState.HALF_OPEN || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            openedAt = System.currentTimeMillis();
+            circuitState = CircuitState.OPEN;
+            log.warn("Sheets circuit opened after failure of {}", operation);
+        }
+    }
+
+    private void acquirePermit(TokenBucket limiter, long deadline) throws IOException {
+        long waitNanos;
+        while ((waitNanos = limiter.tryConsume()) > 0) {
+            long waitMillis = TimeUnit.NANOSECONDS.toMillis(waitNanos) + 1;
+            if (System.currentTimeMillis() + waitMillis >= deadline) {
+                throw new IOException("Sheets quota exhausted before deadline");
+            }
+            throttledMillis.addAndGet(waitMillis);
+            sleep(waitMillis);
+        }
+    }
+
+    private boolean isRetryable(IOException e) {
+        if (e instanceof GoogleJsonResponseException responseException) {
+            return RETRYABLE_STATUS.contains(responseException.getStatusCode());
+        }
+        return true;
+    }
+
+    private void sleep(long millis) throws IOException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting to call Google Sheets", e);
+        }
+    }
+}
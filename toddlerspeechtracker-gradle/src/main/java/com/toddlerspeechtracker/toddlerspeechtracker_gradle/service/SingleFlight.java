@@ -0,0 +1,109 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent identical reads into one call. The first caller for a key
+ * runs the read; callers arriving while it is in flight wait for and share its
+ * result (or exception) instead of running their own. Nothing is kept once the call
+ * finishes, so this is not a cache: a caller arriving afterwards starts a new read.
+ * Writers call {@link #forget} so nobody joins a read that started before their
+ * write committed.
+ */
+@Component
+public class SingleFlight {
+
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong executed = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    @Value("${singleflight.enabled:true}")
+    private boolean enabled;
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Supplier<T> read) {
+        if (!enabled) {
+            return read.get();
+        }
+
+        CompletableFuture<Object> call = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            coalesced.incrementAndGet();
+            return (T) await(existing);
+        }
+
+        executed.incrementAndGet();
+        T result;
+        try {
+            result = read.get();
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, call);
+            call.completeExceptionally(e);
+            throw e;
+        }
+        // Removed before completing, so late arrivals start a fresh read
+        inFlight.remove(key, call);
+        call.complete(result);
+        return result;
+    }
+
+    /**
+     * Stops new callers from joining in-flight reads whose key starts with the prefix.
+     * Inside a transaction this happens after commit, when the write becomes visible.
+     */
+    public void forget(String prefix) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(prefix);
+                }
+            });
+        } else {
+            remove(prefix);
+        }
+    }
+
+    public Map<String, Object> getMetrics() {
+        long executedCount = executed.get();
+        long coalescedCount = coalesced.get();
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("enabled", enabled);
+        metrics.put("executed", executedCount);
+        metrics.put("coalesced", coalescedCount);
+        metrics.put("coalescedRatio", executedCount + coalescedCount == 0 ? 0.0
+                : (double) coalescedCount / (executedCount + coalescedCount));
+        metrics.put("inFlight", inFlight.size());
+        return metrics;
+    }
+
+    private void remove(String prefix) {
+        inFlight.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    private static Object await(CompletableFuture<Object> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
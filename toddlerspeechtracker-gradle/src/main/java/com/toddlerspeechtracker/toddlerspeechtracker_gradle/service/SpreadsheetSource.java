@@ -0,0 +1,40 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.service;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Where sheet tabs are read from. The Google implementation is the default;
+ * local-file and synthetic implementations let sync run and be load-tested
+ * without credentials or network. Selected with sheets.source=google|local|synthetic.
+ */
+public interface SpreadsheetSource {
+
+    /**
+     * Reads an A1-notation range such as {@code Words!A2:Z1001}. Trailing empty rows
+     * are omitted, as the Sheets API does.
+     */
+    List<List<Object>> readRange(String spreadsheetId, String range) throws IOException;
+
+    /**
+     * Rows in the tab's grid, trailing empty rows included, or -1 when the source
+     * cannot tell cheaply. Readers of a tab of unknown size stop at the first empty range.
+     */
+    default int rowCount(String spreadsheetId, String tab) throws IOException {
+        return -1;
+    }
+
+    /**
+     * Authenticates and opens whatever the source needs before the first read, so
+     * that cost can be timed on its own. Reads connect lazily if this is skipped.
+     */
+    default void connect() throws IOException {
+    }
+
+    /**
+     * Whether reads leave the machine; only remote sources are worth snapshotting.
+     */
+    default boolean isRemote() {
+        return false;
+    }
+}
@@ -0,0 +1,165 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.model.SyncRun;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.repo.ChildRepository;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.repo.SyncRunRepository;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.repo.SyncRunRepository.DailyTrend;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.message.StringMapMessage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Persists sync-run history. Runs are written by a single background thread from a
+ * bounded queue so a slow database never adds latency to sync; if the queue is full
+ * the run is dropped and counted rather than blocking the caller.
+ * <p>
+ * Each finished run is also logged once as a structured event on the
+ * {@code sync.summary} logger, which replaces per-row INFO logging during sync.
+ */
+@Log4j2
+@Service
+public class SyncRunRecorder {
+
+    private static final int MAX_ERROR_LENGTH = 2048;
+    private static final Logger summaryLog = LogManager.getLogger("sync.summary");
+
+    private final SyncRunRepository syncRunRepo;
+    private final ChildRepository childRepo;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolExecutor writer;
+    private final AtomicLong dropped = new AtomicLong();
+
+    @Value("${sync.history.maxRowErrors:20}")
+    private int maxRowErrors;
+
+    public SyncRunRecorder(SyncRunRepository syncRunRepo,
+                           ChildRepository childRepo,
+                           ObjectMapper objectMapper,
+                           @Value("${sync.history.queueCapacity:1000}") int queueCapacity) {
+        this.syncRunRepo = syncRunRepo;
+        this.childRepo = childRepo;
+        this.objectMapper = objectMapper;
+        this.writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread thread = new Thread(r, "sync-run-writer");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (task, executor) -> {
+                    dropped.incrementAndGet();
+                    log.warn("Sync run history queue full, dropping run");
+                });
+    }
+
+    public SyncRunTracker start(String kind, Long childId, String spreadsheetId) {
+        return new SyncRunTracker(kind, childId, spreadsheetId, maxRowErrors);
+    }
+
+    /**
+     * Queues the run for writing. Never throws; history is best-effort.
+     *
+     * @param error the exception that ended the run, or null if it completed
+     */
+    public void finish(SyncRunTracker tracker, Exception error) {
+        try {
+            SyncRun run = new SyncRun();
+            run.setChildId(tracker.childId);
+            run.setSpreadsheetId(tracker.spreadsheetId);
+            run.setKind(tracker.kind);
+            run.setStatus(error == null ? "completed" : "failed");
+            run.setStartedAt(tracker.startedAt);
+            run.setFinishedAt(LocalDateTime.now());
+            run.setDurationMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - tracker.startNanos));
+            run.setStageMillis(objectMapper.writeValueAsString(tracker.stageMillis()));
+            run.setInserted(tracker.inserted);
+            run.setUpdated(tracker.updated);
+            run.setSkipped(tracker.skipped);
+            run.setFailed(tracker.failed);
+            run.setRowErrors(objectMapper.writeValueAsString(tracker.rowErrors()));
+            if (error != null) {
+                String message = String.valueOf(error.getMessage());
+                run.setError(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+            }
+
+            logSummary(run, tracker);
+            writer.execute(() -> {
+                try {
+                    syncRunRepo.save(run);
+                } catch (Exception e) {
+                    log.error("Could not save sync run for child: {}", run.getChildId(), e);
+                }
+            });
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialize sync run for child: {}", tracker.childId, e);
+        }
+    }
+
+    private void logSummary(SyncRun run, SyncRunTracker tracker) {
+        if (!summaryLog.isInfoEnabled()) {
+            return;
+        }
+        StringMapMessage event = new StringMapMessage()
+                .with("event", "sync." + run.getKind())
+                .with("status", run.getStatus())
+                .with("childId", String.valueOf(run.getChildId()))
+                .with("spreadsheetId", String.valueOf(run.getSpreadsheetId()))
+                .with("durationMillis", String.valueOf(run.getDurationMillis()))
+                .with("inserted", String.valueOf(run.getInserted()))
+                .with("updated", String.valueOf(run.getUpdated()))
+                .with("skipped", String.valueOf(run.getSkipped()))
+                .with("failed", String.valueOf(run.getFailed()));
+        tracker.stageMillis().forEach((stage, millis) -> event.with("stage." + stage, String.valueOf(millis)));
+        if (run.getError() != null) {
+            event.with("error", run.getError());
+        }
+        summaryLog.info(event);
+    }
+
+    @Transactional(readOnly = true)
+    public List<SyncRun> getRecentRuns(Long childId, Long userId, int limit) {
+        verifyOwnership(childId, userId);
+        return syncRunRepo.findByChildIdOrderByStartedAtDesc(childId, PageRequest.of(0, Math.min(Math.max(limit, 1), 500)));
+    }
+
+    /**
+     * Per-day, per-kind aggregates (run count, failures, average and max duration, row counts).
+     */
+    @Transactional(readOnly = true)
+    public List<DailyTrend> getTrends(Long childId, Long userId, int days) {
+        verifyOwnership(childId, userId);
+        return syncRunRepo.findDailyTrends(childId, LocalDateTime.now().minusDays(Math.min(Math.max(days, 1), 365)));
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    private void verifyOwnership(Long childId, Long userId) {
+        if (!childRepo.existsByChildIdAndUser_UserId(childId, userId)) {
+            throw new IllegalArgumentException("Child not found or access denied");
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        // Let queued runs reach the database before the pool closes
+        writer.shutdown();
+        writer.awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
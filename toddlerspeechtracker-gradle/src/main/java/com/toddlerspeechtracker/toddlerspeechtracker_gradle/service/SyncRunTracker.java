@@ -0,0 +1,189 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.service;
+
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.config.JfrEvents;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.model.EntryType;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Collects timings and row outcomes for one run while it executes. Used only by
+ * the thread running the sync; handed to {@link SyncRunRecorder} when done.
+ * Row errors are reservoir-sampled so a run with thousands of failures keeps a
+ * small, representative list. Timed stages and upsert batches are also emitted as
+ * JFR events for recordings taken with the profiling endpoint.
+ */
+public class SyncRunTracker {
+
+    public static final String SYNC = "sync";
+    public static final String FETCH = "fetch";
+    public static final String IMPORT = "import";
+
+    final String kind;
+    final Long childId;
+    final String spreadsheetId;
+    final LocalDateTime startedAt = LocalDateTime.now();
+    final long startNanos = System.nanoTime();
+
+    private final int maxRowErrors;
+    private final Map<String, Long> stageNanos = new LinkedHashMap<>();
+    private final List<RowError> rowErrors = new ArrayList<>();
+    private int errorsSeen;
+    private final Map<EntryType, List<Long>> insertedIds = new EnumMap<>(EntryType.class);
+    private final Map<EntryType, List<Long>> updatedIds = new EnumMap<>(EntryType.class);
+
+    int inserted;
+    int updated;
+    int skipped;
+    int failed;
+
+    SyncRunTracker(String kind, Long childId, String spreadsheetId, int maxRowErrors) {
+        this.kind = kind;
+        this.childId = childId;
+        this.spreadsheetId = spreadsheetId;
+        this.maxRowErrors = maxRowErrors;
+    }
+
+    public <T> T time(String stage, Supplier<T> work) {
+        JfrEvents.SyncStage event = beginStage();
+        long start = System.nanoTime();
+        T result = null;
+        try {
+            result = work.get();
+            return result;
+        } finally {
+            stageNanos.merge(stage, System.nanoTime() - start, Long::sum);
+            commitStage(event, stage, result instanceof List<?> list ? list.size() : 0);
+        }
+    }
+
+    /**
+     * Times reading a whole tab. Parsing and upserting happen inside the read and are
+     * timed separately, so what remains is recorded as time spent waiting on fetches.
+     */
+    public int timeTab(String tab, Callable<Integer> read) throws Exception {
+        JfrEvents.SyncStage event = beginStage();
+        long start = System.nanoTime();
+        int rows = 0;
+        try {
+            rows = read.call();
+            return rows;
+        } finally {
+            long inner = stageNanos.getOrDefault("parse." + tab, 0L) + stageNanos.getOrDefault("upsert." + tab, 0L);
+            stageNanos.put("fetch." + tab, Math.max(0, System.nanoTime() - start - inner));
+            commitStage(event, "tab." + tab, rows);
+        }
+    }
+
+    JfrEvents.SyncStage beginStage() {
+        JfrEvents.SyncStage event = new JfrEvents.SyncStage();
+        event.begin();
+        return event;
+    }
+
+    void commitStage(JfrEvents.SyncStage event, String stage, int rows) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.childId = childId;
+            event.kind = kind;
+            event.stage = stage;
+            event.rows = rows;
+            event.commit();
+        }
+    }
+
+    /**
+     * Starts a JFR upsert-batch event; pass it to {@link #endBatch} when the chunk is done.
+     */
+    public JfrEvents.UpsertBatch beginBatch(String tab, int rows) {
+        JfrEvents.UpsertBatch batch = new JfrEvents.UpsertBatch();
+        batch.tab = tab;
+        batch.rows = rows;
+        // Hold the counters at the start; endBatch turns them into per-batch deltas
+        batch.inserted = inserted;
+        batch.updated = updated;
+        batch.skipped = skipped;
+        batch.failed = failed;
+        batch.begin();
+        return batch;
+    }
+
+    public void endBatch(JfrEvents.UpsertBatch batch) {
+        batch.end();
+        if (batch.shouldCommit()) {
+            batch.childId = childId;
+            batch.inserted = inserted - batch.inserted;
+            batch.updated = updated - batch.updated;
+            batch.skipped = skipped - batch.skipped;
+            batch.failed = failed - batch.failed;
+            batch.commit();
+        }
+    }
+
+    public void recordNanos(String stage, long nanos) {
+        stageNanos.merge(stage, nanos, Long::sum);
+    }
+
+    public void inserted(EntryType type, Long id) {
+        inserted++;
+        insertedIds.computeIfAbsent(type, t -> new ArrayList<>()).add(id);
+    }
+
+    public void updated(EntryType type, Long id) {
+        updated++;
+        updatedIds.computeIfAbsent(type, t -> new ArrayList<>()).add(id);
+    }
+
+    /**
+     * Everything saved since the last call as one event, or null if nothing was.
+     * Taken after every chunk, so the run holds at most one chunk's ids.
+     */
+    DomainEvent.EntriesSynced takeChanges(EntryType type) {
+        List<Long> added = insertedIds.remove(type);
+        List<Long> changed = updatedIds.remove(type);
+        if (added == null && changed == null) {
+            return null;
+        }
+        return new DomainEvent.EntriesSynced(type, childId, kind,
+                added == null ? List.of() : added, changed == null ? List.of() : changed);
+    }
+
+    public void skipped() {
+        skipped++;
+    }
+
+    public void failed(String tab, int row, String error) {
+        failed++;
+        errorsSeen++;
+        RowError rowError = new RowError(tab, row, error);
+        if (rowErrors.size() < maxRowErrors) {
+            rowErrors.add(rowError);
+        } else {
+            int slot = ThreadLocalRandom.current().nextInt(errorsSeen);
+            if (slot < maxRowErrors) {
+                rowErrors.set(slot, rowError);
+            }
+        }
+    }
+
+    Map<String, Long> stageMillis() {
+        Map<String, Long> millis = new LinkedHashMap<>();
+        stageNanos.forEach((stage, nanos) -> millis.put(stage, TimeUnit.NANOSECONDS.toMillis(nanos)));
+        return millis;
+    }
+
+    List<RowError> rowErrors() {
+        return rowErrors;
+    }
+
+    public record RowError(String tab, int row, String error) {
+    }
+}
@@ -0,0 +1,85 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.service;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates sheet tabs on the fly for offline benchmarking of sync. Each tab has a
+ * header row and sheets.synthetic.rows data rows; row contents depend only on the
+ * row number, so repeated syncs exercise the update path. Every range read can be
+ * delayed (sheets.synthetic.latencyMillis) and fail with a configurable probability
+ * (sheets.synthetic.errorRate). Reads do not go through SheetsApiClient, so there is
+ * no rate limiting, retry or circuit breaker here: an injected failure fails the run
+ * the way an exhausted retry would, and shows up in the sync run history.
+ */
+@Log4j2
+@Component
+@ConditionalOnProperty(name = "sheets.source", havingValue = "synthetic")
+public class SyntheticSpreadsheetSource implements SpreadsheetSource {
+
+    private static final Map<String, List<Object>> HEADERS = Map.of(
+            "Words", List.of("Word", "Signed", "Signed Date", "Verbal", "Verbal Date",
+                    "Actual Pronunciation", "Notes", "Learning Source"),
+            "Phrases", List.of("Phrase", "Date Said", "Funny Rating", "Cute Rating", "Learning Source", "Notes"),
+            "Songs", List.of("Song Title", "Date First Sang", "Source", "Notes"),
+            "Letters", List.of("Letters", "Recognized", "Recognized Date", "Sound It Out", "Sound It Out Date"));
+
+    @Value("${sheets.synthetic.rows:10000}")
+    private int rows;
+
+    @Value("${sheets.synthetic.latencyMillis:0}")
+    private long latencyMillis;
+
+    @Value("${sheets.synthetic.errorRate:0}")
+    private double errorRate;
+
+    @Override
+    public List<List<Object>> readRange(String spreadsheetId, String range) throws IOException {
+        if (latencyMillis > 0) {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted", e);
+            }
+        }
+        if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+            throw new IOException("Injected failure reading " + range);
+        }
+
+        A1Range a1 = A1Range.parse(range);
+        List<Object> header = HEADERS.get(a1.tab());
+        if (header == null) {
+            throw new IOException("Unable to parse range: " + range);
+        }
+
+        List<List<Object>> out = new ArrayList<>();
+        int lastRow = Math.min(a1.lastRow(), rows);
+        for (int r = a1.firstRow(); r <= lastRow; r++) {
+            List<Object> row = r == 0 ? header : generate(a1.tab(), r);
+            int lastColumn = Math.min(a1.lastColumn(), row.size() - 1);
+            out.add(a1.firstColumn() <= lastColumn ? row.subList(a1.firstColumn(), lastColumn + 1) : List.of());
+        }
+        return out;
+    }
+
+    private List<Object> generate(String tab, int n) {
+        String date = "2024-" + (1 + n % 12) + "-" + (1 + n % 28);
+        return switch (tab) {
+            case "Words" -> List.of("word-" + n, n % 2 == 0 ? "TRUE" : "", date, n % 3 == 0 ? "yes" : "no", date,
+                    "wuh-" + n, "synthetic row " + n, "book");
+            case "Phrases" -> List.of("phrase number " + n, date, String.valueOf(n % 5), String.valueOf(n % 4),
+                    "daycare", "synthetic row " + n);
+            case "Songs" -> List.of("song-" + n, date, "radio", "synthetic row " + n);
+            default -> List.of("L" + n, n % 2 == 0 ? "Yes" : "No", date, n % 3 == 0 ? "Yes" : "No", date);
+        };
+    }
+}
@@ -0,0 +1,402 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.service;
+
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.model.EntryType;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.repo.ChangeFeedRepository;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.repo.TimelineRepository;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.repo.TimelineRepository.Deleted;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.repo.TimelineRepository.Event;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.repo.TimelineRepository.Source;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.repo.TimelineRepository.Updated;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps timeline_event in step with the entry tables. Each entry contributes one
+ * event per milestone whose date text parses (a word signed and said on different
+ * days is two events), or a single ADDED event on its creation date when none does.
+ * <p>
+ * Driven by the {@link DomainEventBus}: adds, updates, patches, batches and sync tabs
+ * re-derive the affected entries from the database, deletes remove their events. A
+ * background backfill indexes children that have no events yet, which covers data
+ * written before this index existed. Event ids survive re-indexing, so open timeline
+ * cursors stay valid while entries are edited.
+ * <p>
+ * Events are delivered after commit, so a node that stops in between loses them. A
+ * periodic reconciliation pass re-derives every entry updated or deleted since a
+ * watermark stored in timeline_watermark, then moves the watermark to the start of
+ * the pass less {@link #RECONCILE_OVERLAP}. The pass runs on whichever node holds the
+ * watermark row's lease, so N nodes do not repeat it; the work is idempotent, so a
+ * pass that outlives its lease costs only a repeated read.
+ */
+@Log4j2
+@Service
+public class TimelineIndexer implements DomainEventSubscriber {
+
+    public static final String ADDED = "ADDED";
+
+    private static final int CHUNK = 500;
+
+    private static final String RECONCILE_WATERMARK = "reconcile";
+
+    /** Covers transactions that were still open, with earlier timestamps, when a pass began */
+    private static final Duration RECONCILE_OVERLAP = Duration.ofMinutes(1);
+
+    /** Milestone name to date column, per type */
+    private static final Map<EntryType, Map<String, String>> MILESTONES = new EnumMap<>(Map.of(
+            EntryType.WORD, milestones("SIGNED", "signed_date", "VERBAL", "verbal_date"),
+            EntryType.PHRASE, milestones("SAID", "date_said"),
+            EntryType.SONG, milestones("FIRST_SANG", "date_first_sang"),
+            EntryType.LETTER, milestones("RECOGNIZED", "recognized_date", "SOUND_IT_OUT", "sound_it_out_date")));
+
+    /** Formats people type into the sheet; the first that parses wins */
+    private static final List<DateTimeFormatter> DATE_FORMATS = List.of(
+            DateTimeFormatter.ofPattern("yyyy-M-d"),
+            DateTimeFormatter.ofPattern("M/d/yyyy"),
+            DateTimeFormatter.ofPattern("M/d/yy"),
+            DateTimeFormatter.ofPattern("yyyy/M/d"),
+            DateTimeFormatter.ofPattern("MMM d, yyyy", Locale.US),
+            DateTimeFormatter.ofPattern("MMMM d, yyyy", Locale.US));
+
+    private final TimelineRepository timelineRepo;
+    private final TransactionTemplate transactionTemplate;
+    private final ScheduledExecutorService backfill;
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+
+    @Value("${timeline.backfill.enabled:true}")
+    private boolean backfillEnabled;
+
+    @Value("${timeline.reconcile.intervalSeconds:300}")
+    private long reconcileIntervalSeconds;
+
+    public TimelineIndexer(TimelineRepository timelineRepo, PlatformTransactionManager transactionManager) {
+        this.timelineRepo = timelineRepo;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.backfill = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "timeline-backfill");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    void startBackfill() {
+        if (backfillEnabled) {
+            backfill.submit(this::backfillChildren);
+        }
+        if (reconcileIntervalSeconds > 0) {
+            backfill.scheduleWithFixedDelay(this::reconcile, reconcileIntervalSeconds, reconcileIntervalSeconds,
+                    TimeUnit.SECONDS);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        backfill.shutdownNow();
+    }
+
+    @Override
+    public String name() {
+        return "timeline";
+    }
+
+    /**
+     * Synchronized with the backfill, so a delete cannot land between its read and write.
+     */
+    @Override
+    public synchronized void onEvents(List<DomainEvent> events) {
+        // Collapse the batch: the last word on an entry is whatever the database says now
+        Map<EntryType, Map<Long, Set<Long>>> changed = new EnumMap<>(EntryType.class);
+        Map<EntryType, List<Long>> deleted = new EnumMap<>(EntryType.class);
+        List<Long> deletedChildren = new ArrayList<>();
+        for (DomainEvent event : events) {
+            if (event instanceof DomainEvent.EntryAdded added) {
+                changed(changed, added.type(), added.childId()).add(added.entryId());
+            } else if (event instanceof DomainEvent.EntryUpdated updated) {
+                changed(changed, updated.type(), updated.childId()).add(updated.entryId());
+            } else if (event instanceof DomainEvent.EntryDeleted entryDeleted) {
+                deleted.computeIfAbsent(entryDeleted.type(), type -> new ArrayList<>()).add(entryDeleted.entryId());
+            } else if (event instanceof DomainEvent.EntriesSynced synced) {
+                Set<Long> ids = changed(changed, synced.type(), synced.childId());
+                ids.addAll(synced.insertedIds());
+                ids.addAll(synced.updatedIds());
+            } else if (event instanceof DomainEvent.ChildDeleted childDeleted) {
+                deletedChildren.add(childDeleted.childId());
+            }
+        }
+
+        deleted.forEach((type, ids) -> chunks(ids).forEach(chunk -> timelineRepo.deleteForEntries(type, chunk)));
+        changed.forEach((type, byChild) -> byChild.forEach((childId, ids) ->
+                chunks(new ArrayList<>(ids)).forEach(chunk -> reindex(type, childId, chunk, 0))));
+        deletedChildren.forEach(timelineRepo::deleteForChild);
+    }
+
+    /**
+     * Re-derives every entry of the child, a chunk at a time.
+     */
+    public void reindexChild(Long childId) {
+        for (EntryType type : EntryType.values()) {
+            long afterId = 0;
+            List<Source> sources;
+            do {
+                sources = reindex(type, childId, null, afterId);
+                if (!sources.isEmpty()) {
+                    afterId = sources.get(sources.size() - 1).entryId();
+                }
+            } while (sources.size() == CHUNK);
+        }
+    }
+
+    /**
+     * Brings the events of the given entries (or of the page of the child's entries
+     * after {@code afterId}) in line with the entry table; an id no longer there was
+     * deleted in the meantime and loses its events. Synchronized so the backfill and
+     * the event thread never interleave a read and a write for the same entry.
+     *
+     * @return the entries read
+     */
+    private synchronized List<Source> reindex(EntryType type, Long childId, List<Long> entryIds, long afterId) {
+        String labelColumn = type.getColumns().get(type.getKeyProperty());
+        List<Source> sources = timelineRepo.findSources(type, childId, entryIds, afterId, CHUNK, labelColumn,
+                List.copyOf(MILESTONES.get(type).values()));
+        if (entryIds == null) {
+            if (sources.isEmpty()) {
+                return sources;
+            }
+            entryIds = sources.stream().map(Source::entryId).toList();
+        }
+
+        Map<String, Event> wanted = new LinkedHashMap<>();
+        for (Source source : sources) {
+            for (Event event : derive(type, source)) {
+                wanted.put(event.entryId() + ":" + event.milestone(), event);
+            }
+        }
+
+        List<Event> updates = new ArrayList<>();
+        List<Long> stale = new ArrayList<>();
+        for (Event existing : timelineRepo.findForEntries(type, entryIds)) {
+            Event event = wanted.remove(existing.entryId() + ":" + existing.milestone());
+            if (event == null) {
+                stale.add(existing.eventId());
+            } else if (!event.date().equals(existing.date()) || !Objects.equals(event.label(), existing.label())) {
+                updates.add(new Event(existing.eventId(), event.date(), event.entryType(), event.entryId(),
+                        event.milestone(), event.label()));
+            }
+        }
+
+        if (stale.isEmpty() && updates.isEmpty() && wanted.isEmpty()) {
+            return sources;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!stale.isEmpty()) {
+                timelineRepo.deleteAll(stale);
+            }
+            if (!updates.isEmpty()) {
+                timelineRepo.updateAll(updates);
+            }
+            if (!wanted.isEmpty()) {
+                timelineRepo.insertAll(childId, new ArrayList<>(wanted.values()));
+            }
+        });
+        return sources;
+    }
+
+    private static List<Event> derive(EntryType type, Source source) {
+        String label = source.label() == null || source.label().length() <= 255
+                ? source.label() : source.label().substring(0, 255);
+        List<Event> events = new ArrayList<>();
+        MILESTONES.get(type).forEach((milestone, column) -> {
+            LocalDate date = parseDate(source.dates().get(column));
+            if (date != null) {
+                events.add(new Event(0, date, type.name(), source.entryId(), milestone, label));
+            }
+        });
+        if (events.isEmpty()) {
+            events.add(new Event(0, source.createdAt().toLocalDate(), type.name(), source.entryId(), ADDED, label));
+        }
+        return events;
+    }
+
+    static LocalDate parseDate(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        String trimmed = text.trim();
+        for (DateTimeFormatter format : DATE_FORMATS) {
+            try {
+                return LocalDate.parse(trimmed, format);
+            } catch (DateTimeParseException e) {
+                // Try the next format
+            }
+        }
+        return null;
+    }
+
+    private void backfillChildren() {
+        List<Long> children;
+        try {
+            children = timelineRepo.findChildrenWithoutEvents();
+        } catch (RuntimeException e) {
+            log.warn("Timeline backfill failed: {}", e.getMessage());
+            return;
+        }
+        // One child's bad data must not leave every child after it unindexed
+        int failed = 0;
+        for (Long childId : children) {
+            try {
+                reindexChild(childId);
+            } catch (RuntimeException e) {
+                failed++;
+                log.warn("Timeline backfill failed for child {}: {}", childId, e.getMessage());
+            }
+        }
+        if (!children.isEmpty()) {
+            log.info("Timeline backfill checked {} children without events, {} failed", children.size(), failed);
+        }
+    }
+
+    private void reconcile() {
+        LocalDateTime started = LocalDateTime.now();
+        try {
+            // A new row starts at the backfill's horizon: the backfill covers everything before it
+            timelineRepo.createWatermark(RECONCILE_WATERMARK, started.minus(RECONCILE_OVERLAP));
+            if (!timelineRepo.claimLease(RECONCILE_WATERMARK, nodeId, started,
+                    started.plusSeconds(reconcileIntervalSeconds))) {
+                log.debug("Timeline reconciliation is running on another node");
+                return;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Timeline reconciliation failed: {}", e.getMessage());
+            return;
+        }
+
+        try {
+            LocalDateTime since = timelineRepo.findWatermark(RECONCILE_WATERMARK);
+            int failed = reconcileSince(since);
+            if (failed > 0) {
+                // Keep the watermark so the next pass retries the failed children
+                log.warn("Timeline reconciliation left {} children behind; watermark stays at {}", failed, since);
+                return;
+            }
+            timelineRepo.advanceWatermark(RECONCILE_WATERMARK, started.minus(RECONCILE_OVERLAP));
+        } catch (RuntimeException e) {
+            log.warn("Timeline reconciliation failed: {}", e.getMessage());
+        } finally {
+            try {
+                timelineRepo.releaseLease(RECONCILE_WATERMARK, nodeId);
+            } catch (RuntimeException e) {
+                log.warn("Could not release the timeline reconciliation lease: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Re-derives the entries updated or deleted after {@code since}: one query per
+     * entry table and one of the tombstones, grouped by child in memory, so only the
+     * children that changed are touched. A deleted id is no longer in the entry
+     * table, so {@link #reindex} drops its events.
+     *
+     * @return children that failed
+     */
+    private int reconcileSince(LocalDateTime since) {
+        int failed = 0;
+        Map<EntryType, Map<Long, List<Long>>> deleted = new EnumMap<>(EntryType.class);
+        for (Deleted entry : timelineRepo.findDeletedSince(since)) {
+            if (ChangeFeedRepository.CHILD.equals(entry.entryType())) {
+                failed += reconcileChild(entry.childId(), () -> timelineRepo.deleteForChild(entry.childId()));
+            } else {
+                deleted.computeIfAbsent(EntryType.valueOf(entry.entryType()), type -> new HashMap<>())
+                        .computeIfAbsent(entry.childId(), id -> new ArrayList<>()).add(entry.entryId());
+            }
+        }
+
+        for (EntryType type : EntryType.values()) {
+            Updated after = null;
+            List<Updated> page;
+            do {
+                page = timelineRepo.findUpdatedSince(type, since, after, CHUNK);
+                Map<Long, List<Long>> byChild = new HashMap<>();
+                page.forEach(entry -> byChild.computeIfAbsent(entry.childId(), id -> new ArrayList<>())
+                        .add(entry.entryId()));
+                failed += reconcileChildren(type, byChild);
+                if (!page.isEmpty()) {
+                    after = page.get(page.size() - 1);
+                }
+            } while (page.size() == CHUNK);
+        }
+
+        for (Map.Entry<EntryType, Map<Long, List<Long>>> type : deleted.entrySet()) {
+            failed += reconcileChildren(type.getKey(), type.getValue());
+        }
+        return failed;
+    }
+
+    private int reconcileChildren(EntryType type, Map<Long, List<Long>> idsByChild) {
+        int failed = 0;
+        for (Map.Entry<Long, List<Long>> child : idsByChild.entrySet()) {
+            failed += reconcileChild(child.getKey(), () ->
+                    chunks(child.getValue()).forEach(chunk -> reindex(type, child.getKey(), chunk, 0)));
+        }
+        return failed;
+    }
+
+    /**
+     * One child's bad data must not hold back every other child in the pass.
+     *
+     * @return 1 if the work failed, else 0
+     */
+    private int reconcileChild(Long childId, Runnable work) {
+        try {
+            work.run();
+            return 0;
+        } catch (RuntimeException e) {
+            log.warn("Timeline reconciliation failed for child {}: {}", childId, e.getMessage());
+            return 1;
+        }
+    }
+
+    private static Set<Long> changed(Map<EntryType, Map<Long, Set<Long>>> changed, EntryType type, Long childId) {
+        return changed.computeIfAbsent(type, t -> new HashMap<>()).computeIfAbsent(childId, id -> new LinkedHashSet<>());
+    }
+
+    private static List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += CHUNK) {
+            chunks.add(ids.subList(i, Math.min(i + CHUNK, ids.size())));
+        }
+        return chunks;
+    }
+
+    private static Map<String, String> milestones(String... pairs) {
+        Map<String, String> milestones = new LinkedHashMap<>();
+        for (int i = 0; i < pairs.length; i += 2) {
+            milestones.put(pairs[i], pairs[i + 1]);
+        }
+        return milestones;
+    }
+}
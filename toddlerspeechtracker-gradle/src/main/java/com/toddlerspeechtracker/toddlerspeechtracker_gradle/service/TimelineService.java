@@ -0,0 +1,115 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.service;
+
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.repo.ChildRepository;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.repo.TimelineRepository;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.repo.TimelineRepository.Event;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.repo.TimelineRepository.Position;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * A child's words, phrases, songs and letters as one stream of dated milestones,
+ * newest first, read a page at a time from the timeline_event index that
+ * {@link TimelineIndexer} maintains.
+ */
+@Service
+public class TimelineService {
+
+    private final TimelineRepository timelineRepo;
+    private final ChildRepository childRepo;
+
+    @Value("${timeline.defaultLimit:50}")
+    private int defaultLimit;
+
+    @Value("${timeline.maxLimit:200}")
+    private int maxLimit;
+
+    public TimelineService(TimelineRepository timelineRepo, ChildRepository childRepo) {
+        this.timelineRepo = timelineRepo;
+        this.childRepo = childRepo;
+    }
+
+    /**
+     * @param from   earliest date, inclusive; null for no lower bound
+     * @param to     latest date, inclusive; null for no upper bound
+     * @param cursor from the previous page; null for the newest events
+     * @param limit  null for timeline.defaultLimit
+     */
+    @Transactional(readOnly = true)
+    public Timeline getTimeline(Long childId, Long userId, LocalDate from, LocalDate to, String cursor, Integer limit) {
+        if (!childRepo.existsByChildIdAndUser_UserId(childId, userId)) {
+            throw new ChildAccessDeniedException();
+        }
+        int pageSize = limit == null ? defaultLimit : limit;
+        if (pageSize < 1 || pageSize > maxLimit) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxLimit);
+        }
+        LocalDate lower = from == null ? LocalDate.of(1900, 1, 1) : from;
+        LocalDate upper = to == null ? LocalDate.of(9999, 12, 31) : to;
+        if (lower.isAfter(upper)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+
+        // One extra row tells whether another page follows
+        List<Event> rows = timelineRepo.findPage(childId, lower, upper, decode(cursor), pageSize + 1);
+        Timeline timeline = new Timeline();
+        timeline.hasMore = rows.size() > pageSize;
+        List<Event> page = timeline.hasMore ? rows.subList(0, pageSize) : rows;
+        for (Event row : page) {
+            TimelineItem item = new TimelineItem();
+            item.date = row.date();
+            item.type = row.entryType();
+            item.milestone = row.milestone();
+            item.entryId = row.entryId();
+            item.label = row.label();
+            timeline.events.add(item);
+        }
+        if (timeline.hasMore) {
+            Event last = page.get(page.size() - 1);
+            timeline.cursor = encode(new Position(last.date(), last.eventId()));
+        }
+        return timeline;
+    }
+
+    private static String encode(Position position) {
+        String raw = position.date() + "|" + position.eventId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Position decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            return new Position(LocalDate.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public static class Timeline {
+        public List<TimelineItem> events = new ArrayList<>();
+        /** Pass back as ?cursor= for the next (older) page; null on the last page */
+        public String cursor;
+        public boolean hasMore;
+    }
+
+    public static class TimelineItem {
+        public LocalDate date;
+        /** WORD, PHRASE, SONG or LETTER */
+        public String type;
+        /** SIGNED, VERBAL, SAID, FIRST_SANG, RECOGNIZED, SOUND_IT_OUT, or ADDED */
+        public String milestone;
+        public Long entryId;
+        public String label;
+    }
+}
@@ -0,0 +1,47 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle;
+
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.model.EntryType;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.EntryBatchService.BatchOperation;
+
+import java.util.Map;
+
+/**
+ * Builds the operations tests send to EntryBatchService.
+ */
+public final class BatchOperations {
+
+	private BatchOperations() {
+	}
+
+	/**
+	 * A create with only the type's key property set.
+	 */
+	public static BatchOperation create(EntryType type, String key) {
+		return create(type, Map.of(type.getKeyProperty(), key));
+	}
+
+	public static BatchOperation create(EntryType type, Map<String, Object> data) {
+		BatchOperation operation = new BatchOperation();
+		operation.op = BatchOperation.CREATE;
+		operation.type = type;
+		operation.data = data;
+		return operation;
+	}
+
+	public static BatchOperation update(EntryType type, Long id, String key) {
+		BatchOperation operation = new BatchOperation();
+		operation.op = BatchOperation.UPDATE;
+		operation.type = type;
+		operation.id = id;
+		operation.data = Map.of(type.getKeyProperty(), key);
+		return operation;
+	}
+
+	public static BatchOperation delete(EntryType type, Long id) {
+		BatchOperation operation = new BatchOperation();
+		operation.op = BatchOperation.DELETE;
+		operation.type = type;
+		operation.id = id;
+		return operation;
+	}
+}
@@ -0,0 +1,152 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle;
+
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.model.EntryType;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.model.User;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.AuthService;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.ChangeFeedService;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.ChangeFeedService.Change;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.ChangeFeedService.ChangeFeed;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.ChildAccessDeniedException;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.ChildService;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.EntryBatchService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Walks the change feed page by page against the in-memory H2 database of the budget
+ * profile: the keyset must neither skip nor repeat rows that share a timestamp, and
+ * the cursor must never pass the settle window.
+ */
+@SpringBootTest
+@ActiveProfiles("budget")
+class ChangeFeedServiceTest {
+
+	private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+	@Autowired
+	private ChangeFeedService changeFeedService;
+
+	@Autowired
+	private AuthService authService;
+
+	@Autowired
+	private ChildService childService;
+
+	@Autowired
+	private EntryBatchService entryBatchService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private User user;
+	private Long childId;
+
+	@BeforeEach
+	void createChild() {
+		String name = "feed-user-" + SEQUENCE.incrementAndGet();
+		user = authService.register(name, "feed-password", name + "@example.com");
+		childId = childService.addChild(user.getUserId(), "Feed Child", null).getChildId();
+	}
+
+	@AfterEach
+	void restoreSettleWindow() {
+		ReflectionTestUtils.setField(changeFeedService, "settleMillis", 5000L);
+	}
+
+	@Test
+	void pagesThroughRowsSharingATimestampExactlyOnce() {
+		ReflectionTestUtils.setField(changeFeedService, "settleMillis", 0L);
+		List<String> written = new ArrayList<>();
+		for (EntryType type : EntryType.values()) {
+			for (int i = 0; i < 3; i++) {
+				written.add(type + ":" + create(type));
+			}
+		}
+		// Every row in the same instant, so only kind and id order them
+		Timestamp instant = Timestamp.valueOf(LocalDateTime.now().minusMinutes(1).withNano(0));
+		for (EntryType type : EntryType.values()) {
+			jdbcTemplate.update("UPDATE " + type.getTable() + " SET updated_timestamp = ? WHERE child_id = ?",
+					instant, childId);
+		}
+
+		List<String> read = new ArrayList<>();
+		String cursor = null;
+		ChangeFeed feed;
+		int calls = 0;
+		do {
+			feed = changeFeedService.getChanges(user.getUserId(), childId, cursor, 2);
+			assertTrue(feed.changes.size() <= 2);
+			feed.changes.forEach(change -> read.add(change.type + ":" + change.id));
+			cursor = feed.cursor;
+			assertTrue(++calls <= written.size(), "paging did not terminate");
+		} while (feed.hasMore);
+
+		assertEquals(written, read);
+		assertTrue(changeFeedService.getChanges(user.getUserId(), childId, cursor, 2).changes.isEmpty());
+	}
+
+	@Test
+	void cursorStaysBehindTheSettleWindow() {
+		ReflectionTestUtils.setField(changeFeedService, "settleMillis", 60_000L);
+		for (int i = 0; i < 3; i++) {
+			create(EntryType.WORD);
+		}
+
+		// The first page ends inside the window: no more now, and the rows come again
+		ChangeFeed first = changeFeedService.getChanges(user.getUserId(), childId, null, 2);
+		assertEquals(2, first.changes.size());
+		assertFalse(first.hasMore);
+
+		ChangeFeed again = changeFeedService.getChanges(user.getUserId(), childId, first.cursor, 2);
+		assertEquals(ids(first.changes), ids(again.changes));
+	}
+
+	@Test
+	void deletesAfterTheCursorComeBackAsTombstones() {
+		ReflectionTestUtils.setField(changeFeedService, "settleMillis", 0L);
+		Long id = create(EntryType.SONG);
+		ChangeFeed load = changeFeedService.getChanges(user.getUserId(), childId, null, 10);
+		assertEquals(List.of(id), ids(load.changes));
+
+		entryBatchService.apply(childId, user.getUserId(), List.of(BatchOperations.delete(EntryType.SONG, id)));
+
+		ChangeFeed changes = changeFeedService.getChanges(user.getUserId(), childId, load.cursor, 10);
+		assertEquals(1, changes.changes.size());
+		assertEquals(Change.DELETE, changes.changes.get(0).op);
+		assertEquals(id, changes.changes.get(0).id);
+	}
+
+	@Test
+	void anotherUsersChildIsDenied() {
+		User other = authService.register("feed-other-" + SEQUENCE.incrementAndGet(), "feed-password",
+				"feed-other-" + SEQUENCE.get() + "@example.com");
+		assertThrows(ChildAccessDeniedException.class,
+				() -> changeFeedService.getChanges(other.getUserId(), childId, null, 10));
+	}
+
+	private Long create(EntryType type) {
+		return entryBatchService.apply(childId, user.getUserId(),
+				List.of(BatchOperations.create(type, "feed-" + SEQUENCE.incrementAndGet()))).get(0).id;
+	}
+
+	private static List<Long> ids(List<Change> changes) {
+		return changes.stream().map(change -> change.id).toList();
+	}
+}
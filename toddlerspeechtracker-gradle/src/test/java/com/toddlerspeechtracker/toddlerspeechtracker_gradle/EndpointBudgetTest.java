@@ -0,0 +1,397 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.api.services.sheets.v4.model.Sheet;
+import com.google.api.services.sheets.v4.model.SheetProperties;
+import com.google.api.services.sheets.v4.model.Spreadsheet;
+import com.google.api.services.sheets.v4.model.SpreadsheetProperties;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.controller.SheetsController;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.model.EntryType;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.model.User;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.AuthService;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.ChildService;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.EntryBatchService;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.EntryBatchService.BatchOperation;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.EntryListCache;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.SheetsApiClient;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * Runs every auth, child, data entry and sheets endpoint against an in-memory H2
+ * database and checks each request against endpoint-budgets.properties: the number
+ * of SQL statements the request thread executed, counted at the DataSource so
+ * JdbcTemplate repositories are included, and the bytes it allocated.
+ * Sheet tabs come from the synthetic source and the Google client is mocked.
+ * Each endpoint is warmed up first, then measured several times; the highest
+ * statement count and the lowest allocation (least JIT and first-use noise) are kept.
+ * Run with -PupdateBudgets to write the measured values back to the budget file.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("budget")
+@Import(StatementCounter.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EndpointBudgetTest {
+
+	private static final String BUDGET_FILE = "endpoint-budgets.properties";
+	private static final int WARMUP_RUNS = 5;
+	private static final int MEASURED_RUNS = 5;
+	private static final int SEED_ENTRIES = 25;
+	private static final String PASSWORD = "budget-password";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private AuthService authService;
+
+	@Autowired
+	private ChildService childService;
+
+	@Autowired
+	private EntryBatchService entryBatchService;
+
+	@Autowired
+	private EntryListCache entryListCache;
+
+	@Autowired
+	private SheetsController sheetsController;
+
+	@MockitoBean
+	private SheetsApiClient sheetsApiClient;
+
+	private final AtomicInteger sequence = new AtomicInteger();
+	private final Map<String, Measurement> measurements = new LinkedHashMap<>();
+	private Properties budgets;
+	private User user;
+	private Long childId;
+
+	@BeforeAll
+	void seed() throws Exception {
+		budgets = loadBudgets();
+
+		user = authService.register("budget-user", PASSWORD, "budget-user@example.com");
+		childId = childService.addChild(user.getUserId(), "Budget Child", LocalDate.of(2023, 1, 1)).getChildId();
+		for (EntryType type : EntryType.values()) {
+			for (int i = 0; i < SEED_ENTRIES; i++) {
+				createEntry(type);
+			}
+		}
+
+		// Sync and fetch always target the configured child
+		ReflectionTestUtils.setField(sheetsController, "defaultChildId", childId);
+		Spreadsheet spreadsheet = new Spreadsheet()
+				.setProperties(new SpreadsheetProperties().setTitle("Budget"))
+				.setSheets(List.of(new Sheet().setProperties(new SheetProperties().setTitle("Words"))));
+		when(sheetsApiClient.getSpreadsheet(anyString())).thenReturn(spreadsheet);
+	}
+
+	@TestFactory
+	List<DynamicTest> endpointsStayWithinBudget() {
+		List<DynamicTest> tests = new ArrayList<>();
+		for (Endpoint endpoint : endpoints()) {
+			tests.add(DynamicTest.dynamicTest(endpoint.key() + " " + endpoint.description(), () -> check(endpoint)));
+		}
+		return tests;
+	}
+
+	@AfterAll
+	void writeBudgets() throws IOException {
+		if (!Boolean.getBoolean("budgets.update") || measurements.isEmpty()) {
+			return;
+		}
+
+		List<String> lines = new ArrayList<>();
+		try (InputStream in = getClass().getClassLoader().getResourceAsStream(BUDGET_FILE)) {
+			if (in != null) {
+				// Keep the header comment; every budget line is rewritten
+				for (String line : new String(in.readAllBytes(), StandardCharsets.UTF_8).split("\n")) {
+					if (!line.startsWith("#")) {
+						break;
+					}
+					lines.add(line);
+				}
+			}
+		}
+		String group = null;
+		for (Map.Entry<String, Measurement> entry : measurements.entrySet()) {
+			String prefix = entry.getKey().substring(0, entry.getKey().indexOf('.'));
+			if (!prefix.equals(group)) {
+				lines.add("");
+				group = prefix;
+			}
+			Measurement measured = entry.getValue();
+			// Allocation varies a little between JDKs, so leave headroom rounded to 64 KB
+			long allocationBudget = ((measured.allocatedBytes() * 3 / 2) / 65536 + 1) * 65536;
+			lines.add(entry.getKey() + ".statements=" + measured.statements());
+			lines.add(entry.getKey() + ".allocatedBytes=" + allocationBudget);
+		}
+		Files.write(Path.of("src/test/resources", BUDGET_FILE), lines, StandardCharsets.UTF_8);
+	}
+
+	private void check(Endpoint endpoint) throws Exception {
+		for (int i = 0; i < WARMUP_RUNS; i++) {
+			measure(endpoint);
+		}
+		long statements = 0;
+		long allocatedBytes = Long.MAX_VALUE;
+		for (int i = 0; i < MEASURED_RUNS; i++) {
+			Measurement run = measure(endpoint);
+			statements = Math.max(statements, run.statements());
+			allocatedBytes = Math.min(allocatedBytes, run.allocatedBytes());
+		}
+		measurements.put(endpoint.key(), new Measurement(statements, allocatedBytes));
+		if (Boolean.getBoolean("budgets.update")) {
+			return;
+		}
+
+		long statementBudget = budget(endpoint.key() + ".statements");
+		long allocationBudget = budget(endpoint.key() + ".allocatedBytes");
+		List<String> exceeded = new ArrayList<>();
+		if (statements > statementBudget) {
+			exceeded.add(statements + " SQL statements (budget " + statementBudget + ")");
+		}
+		if (allocatedBytes > allocationBudget) {
+			exceeded.add(allocatedBytes + " bytes allocated (budget " + allocationBudget + ")");
+		}
+		if (!exceeded.isEmpty()) {
+			fail(endpoint.description() + " went over budget: " + String.join(", ", exceeded)
+					+ ". Fix the regression, or run with -PupdateBudgets if the increase is intended.");
+		}
+	}
+
+	private Measurement measure(Endpoint endpoint) throws Exception {
+		// Fixtures for the request are created before measuring starts
+		MockHttpServletRequestBuilder request = endpoint.request().get();
+		long syncRunsBefore = endpoint.recordsSyncRun() ? countSyncRuns() : 0;
+
+		StatementCounter.start();
+		long allocatedBefore = allocatedBytes();
+		MvcResult result = mockMvc.perform(request).andReturn();
+		long allocated = allocatedBytes() - allocatedBefore;
+		long statements = StatementCounter.stop();
+
+		if (endpoint.recordsSyncRun()) {
+			// The run history row is written on another thread, outside the count; wait for
+			// it so it does not overlap the next run
+			awaitSyncRuns(syncRunsBefore + 1);
+		}
+		int status = result.getResponse().getStatus();
+		assertTrue(status >= 200 && status < 300, endpoint.description() + " returned " + status
+				+ ": " + result.getResponse().getContentAsString());
+		return new Measurement(statements, allocated);
+	}
+
+	private List<Endpoint> endpoints() {
+		List<Endpoint> endpoints = new ArrayList<>();
+
+		endpoints.add(new Endpoint("auth.register", "POST /api/auth/register", () -> {
+			String name = "register-" + sequence.incrementAndGet();
+			return post("/api/auth/register").contentType(MediaType.APPLICATION_JSON)
+					.content(json(Map.of("username", name, "password", PASSWORD, "email", name + "@example.com")));
+		}));
+		endpoints.add(new Endpoint("auth.login", "POST /api/auth/login", () ->
+				post("/api/auth/login").session(new MockHttpSession()).contentType(MediaType.APPLICATION_JSON)
+						.content(json(Map.of("username", user.getUsername(), "password", PASSWORD)))));
+		endpoints.add(new Endpoint("auth.me", "GET /api/auth/me", () ->
+				get("/api/auth/me").session(session())));
+		endpoints.add(new Endpoint("auth.logout", "POST /api/auth/logout", () ->
+				post("/api/auth/logout").session(session())));
+		endpoints.add(new Endpoint("auth.deleteAccount", "DELETE /api/auth/me", () -> {
+			String name = "delete-" + sequence.incrementAndGet();
+			User doomed = authService.register(name, PASSWORD, name + "@example.com");
+			return delete("/api/auth/me").session(session(doomed));
+		}));
+
+		endpoints.add(new Endpoint("children.list", "GET /api/children", () ->
+				get("/api/children").session(session())));
+		endpoints.add(new Endpoint("children.get", "GET /api/children/{childId}", () ->
+				get("/api/children/{childId}", childId).session(session())));
+		endpoints.add(new Endpoint("children.add", "POST /api/children", () ->
+				post("/api/children").session(session()).contentType(MediaType.APPLICATION_JSON)
+						.content(json(Map.of("childName", "Added " + sequence.incrementAndGet(), "birthDate", "2023-06-01")))));
+		endpoints.add(new Endpoint("children.update", "PUT /api/children/{childId}", () ->
+				put("/api/children/{childId}", childId).session(session()).contentType(MediaType.APPLICATION_JSON)
+						.content(json(Map.of("childName", "Budget Child " + sequence.incrementAndGet())))));
+		endpoints.add(new Endpoint("children.delete", "DELETE /api/children/{childId}", () ->
+				delete("/api/children/{childId}", createChild()).session(session())));
+		endpoints.add(new Endpoint("children.deleteAsync", "DELETE /api/children/{childId}?async=true", () ->
+				delete("/api/children/{childId}", createChild()).param("async", "true").session(session())));
+		endpoints.add(new Endpoint("children.deletionProgress", "GET /api/children/deletions/{jobId}", () ->
+				get("/api/children/deletions/{jobId}", childService.deleteChildAsync(createChild(), user.getUserId()).jobId)
+						.session(session())));
+
+		for (EntryType type : EntryType.values()) {
+			String key = "data." + type.getTable();
+			String path = "/api/data/children/{childId}/" + type.getTable() + "s";
+			endpoints.add(new Endpoint(key + ".list", "GET " + path, () -> {
+				// Measure the database path, not a hit on the list cached by the previous run
+				entryListCache.invalidate(type, childId);
+				return get(path, childId).session(session());
+			}));
+			endpoints.add(new Endpoint(key + ".add", "POST " + path, () ->
+					post(path, childId).session(session()).contentType(MediaType.APPLICATION_JSON)
+							.content(json(Map.of(type.getKeyProperty(), "added-" + sequence.incrementAndGet())))));
+			endpoints.add(new Endpoint(key + ".update", "PUT " + path + "/{id}", () -> {
+				// A new value each time so the update is not skipped as unchanged
+				Map<String, Object> body = Map.of(type.getKeyProperty(), "updated-" + sequence.incrementAndGet());
+				return put(path + "/{id}", childId, createEntry(type)).session(session())
+						.contentType(MediaType.APPLICATION_JSON).content(json(body));
+			}));
+			endpoints.add(new Endpoint(key + ".patch", "PATCH " + path + "/{id}", () ->
+					patch(path + "/{id}", childId, createEntry(type)).session(session())
+							.contentType(MediaType.APPLICATION_JSON)
+							.content(json(Map.of(type.getKeyProperty(), "patched-" + sequence.incrementAndGet())))));
+			endpoints.add(new Endpoint(key + ".delete", "DELETE " + path + "/{id}", () ->
+					delete(path + "/{id}", childId, createEntry(type)).session(session())));
+		}
+		endpoints.add(new Endpoint("data.batch", "POST /api/data/children/{childId}/batch", () -> {
+			List<Map<String, Object>> operations = new ArrayList<>();
+			for (EntryType type : EntryType.values()) {
+				operations.add(Map.of("op", BatchOperation.CREATE, "type", type.name(),
+						"data", Map.of(type.getKeyProperty(), "batch-" + sequence.incrementAndGet())));
+				operations.add(Map.of("op", BatchOperation.DELETE, "type", type.name(), "id", createEntry(type)));
+			}
+			return post("/api/data/children/{childId}/batch", childId).session(session())
+					.contentType(MediaType.APPLICATION_JSON).content(json(operations));
+		}));
+
+		endpoints.add(new Endpoint("data.metrics", "GET /api/data/metrics", () ->
+				get("/api/data/metrics").session(session())));
+
+		endpoints.add(new Endpoint("changes.user", "GET /api/changes", () ->
+				get("/api/changes").session(session())));
+		endpoints.add(new Endpoint("changes.child", "GET /api/children/{childId}/changes", () ->
+				get("/api/children/{childId}/changes", childId).session(session())));
+		endpoints.add(new Endpoint("timeline.child", "GET /api/children/{childId}/timeline", () ->
+				get("/api/children/{childId}/timeline", childId).session(session())));
+
+		endpoints.add(new Endpoint("sheets.fetch", "POST /api/fetch", () -> post("/api/fetch"), true));
+		endpoints.add(new Endpoint("sheets.sync", "POST /api/sync", () -> post("/api/sync"), true));
+		endpoints.add(new Endpoint("sheets.testConnection", "GET /api/test-connection", () ->
+				get("/api/test-connection")));
+		endpoints.add(new Endpoint("sheets.metrics", "GET /api/sheets/metrics", () ->
+				get("/api/sheets/metrics").session(session())));
+
+		return endpoints;
+	}
+
+	private Long createChild() {
+		return childService.addChild(user.getUserId(), "Child " + sequence.incrementAndGet(), null).getChildId();
+	}
+
+	private Long createEntry(EntryType type) {
+		BatchOperation operation = BatchOperations.create(type, "seed-" + type.getTable() + "-" + sequence.incrementAndGet());
+		return entryBatchService.apply(childId, user.getUserId(), List.of(operation)).get(0).id;
+	}
+
+	private MockHttpSession session() {
+		return session(user);
+	}
+
+	private MockHttpSession session(User owner) {
+		MockHttpSession session = new MockHttpSession();
+		session.setAttribute("userId", owner.getUserId());
+		session.setAttribute("username", owner.getUsername());
+		return session;
+	}
+
+	private String json(Object body) {
+		try {
+			return objectMapper.writeValueAsString(body);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private long countSyncRuns() {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sync_run", Long.class);
+	}
+
+	private void awaitSyncRuns(long expected) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (countSyncRuns() < expected) {
+			if (System.currentTimeMillis() > deadline) {
+				fail("Sync run was not recorded within 5s");
+			}
+			Thread.sleep(10);
+		}
+	}
+
+	private long budget(String key) {
+		String value = budgets.getProperty(key);
+		if (value == null) {
+			fail("No budget for " + key + " in " + BUDGET_FILE + "; run with -PupdateBudgets to add it");
+		}
+		return Long.parseLong(value.trim());
+	}
+
+	private static Properties loadBudgets() throws IOException {
+		Properties properties = new Properties();
+		try (InputStream in = EndpointBudgetTest.class.getClassLoader().getResourceAsStream(BUDGET_FILE)) {
+			if (in != null) {
+				properties.load(in);
+			}
+		}
+		return properties;
+	}
+
+	private static long allocatedBytes() {
+		return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+	}
+
+	private record Endpoint(String key, String description, Supplier<MockHttpServletRequestBuilder> request,
+							boolean recordsSyncRun) {
+		Endpoint(String key, String description, Supplier<MockHttpServletRequestBuilder> request) {
+			this(key, description, request, false);
+		}
+	}
+
+	private record Measurement(long statements, long allocatedBytes) {
+	}
+}
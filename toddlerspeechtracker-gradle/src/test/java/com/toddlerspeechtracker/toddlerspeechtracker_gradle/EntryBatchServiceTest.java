@@ -0,0 +1,114 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle;
+
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.model.EntryType;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.model.User;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.AuthService;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.ChildAccessDeniedException;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.ChildService;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.EntryBatchService;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.EntryBatchService.OperationResult;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.toddlerspeechtracker.toddlerspeechtracker_gradle.BatchOperations.create;
+import static com.toddlerspeechtracker.toddlerspeechtracker_gradle.BatchOperations.delete;
+import static com.toddlerspeechtracker.toddlerspeechtracker_gradle.BatchOperations.update;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks that a batch applies its operations in request order, and how it rejects
+ * bad input and other users' children, against the in-memory H2 database of the
+ * budget profile.
+ */
+@SpringBootTest
+@ActiveProfiles("budget")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EntryBatchServiceTest {
+
+	@Autowired
+	private AuthService authService;
+
+	@Autowired
+	private ChildService childService;
+
+	@Autowired
+	private EntryBatchService entryBatchService;
+
+	private User user;
+	private Long childId;
+
+	@BeforeAll
+	void seed() {
+		user = authService.register("batch-user", "batch-password", "batch-user@example.com");
+		childId = childService.addChild(user.getUserId(), "Batch Child", null).getChildId();
+	}
+
+	@Test
+	void updateThenDeleteOfOneEntryAppliesBoth() {
+		Long id = createEntry(EntryType.WORD, "ball");
+
+		List<OperationResult> results = entryBatchService.apply(childId, user.getUserId(), List.of(
+				update(EntryType.WORD, id, "balls"),
+				delete(EntryType.WORD, id)));
+
+		assertEquals(OperationResult.UPDATED, results.get(0).status);
+		assertEquals(OperationResult.DELETED, results.get(1).status);
+	}
+
+	@Test
+	void deleteThenUpdateOfOneEntryFindsNothingToUpdate() {
+		Long id = createEntry(EntryType.WORD, "cup");
+
+		List<OperationResult> results = entryBatchService.apply(childId, user.getUserId(), List.of(
+				delete(EntryType.WORD, id),
+				update(EntryType.WORD, id, "cups")));
+
+		assertEquals(OperationResult.DELETED, results.get(0).status);
+		assertEquals(OperationResult.NOT_FOUND, results.get(1).status);
+	}
+
+	@Test
+	void interleavedOperationsKeepTheirIndexes() {
+		Long word = createEntry(EntryType.WORD, "dog");
+		Long song = createEntry(EntryType.SONG, "Wheels on the Bus");
+
+		List<OperationResult> results = entryBatchService.apply(childId, user.getUserId(), List.of(
+				create(EntryType.PHRASE, "created"),
+				delete(EntryType.SONG, song),
+				update(EntryType.WORD, word, "doggy"),
+				create(EntryType.PHRASE, "created"),
+				delete(EntryType.SONG, song)));
+
+		assertEquals(List.of(OperationResult.CREATED, OperationResult.DELETED, OperationResult.UPDATED,
+				OperationResult.CREATED, OperationResult.NOT_FOUND), results.stream().map(r -> r.status).toList());
+		for (int i = 0; i < results.size(); i++) {
+			assertEquals(i, results.get(i).index);
+		}
+	}
+
+	@Test
+	void createWithoutDataAsksForItsKey() {
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> entryBatchService.apply(
+				childId, user.getUserId(), List.of(create(EntryType.SONG, Map.of()))));
+		assertEquals("Operation 0: Song is required", e.getMessage());
+	}
+
+	@Test
+	void anotherUsersChildIsDenied() {
+		User other = authService.register("batch-other", "batch-password", "batch-other@example.com");
+		assertThrows(ChildAccessDeniedException.class, () -> entryBatchService.apply(
+				childId, other.getUserId(), List.of(create(EntryType.WORD, "ball"))));
+	}
+
+	private Long createEntry(EntryType type, String key) {
+		return entryBatchService.apply(childId, user.getUserId(), List.of(create(type, key))).get(0).id;
+	}
+}
@@ -0,0 +1,86 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle;
+
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.model.User;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.AuthService;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.ChildService;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.GoogleSheetsService;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.GoogleSheetsService.SyncResult;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.SheetTabReader;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.SyntheticSpreadsheetSource;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Syncs a synthetic spreadsheet many chunks long with an EntityManager bound to the
+ * thread, as open in view binds one for a request, and checks that the rows a sync
+ * writes do not stay in it.
+ */
+@SpringBootTest
+@ActiveProfiles("budget")
+class GoogleSheetsServiceTest {
+
+	private static final int ROWS = 1200;
+	private static final int CHUNK_ROWS = 100;
+
+	@Autowired
+	private GoogleSheetsService sheetsService;
+
+	@Autowired
+	private SyntheticSpreadsheetSource syntheticSource;
+
+	@Autowired
+	private SheetTabReader tabReader;
+
+	@Autowired
+	private AuthService authService;
+
+	@Autowired
+	private ChildService childService;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@AfterEach
+	void restoreSheetSize() {
+		ReflectionTestUtils.setField(syntheticSource, "rows", 25);
+		ReflectionTestUtils.setField(tabReader, "chunkRows", 1000);
+	}
+
+	@Test
+	void syncKeepsTheRequestPersistenceContextBounded() throws Exception {
+		ReflectionTestUtils.setField(syntheticSource, "rows", ROWS);
+		ReflectionTestUtils.setField(tabReader, "chunkRows", CHUNK_ROWS);
+		User user = authService.register("sync-memory-user", "sync-password", "sync-memory-user@example.com");
+		Long childId = childService.addChild(user.getUserId(), "Sync Child", null).getChildId();
+
+		EntityManager requestEntityManager = entityManagerFactory.createEntityManager();
+		TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(requestEntityManager));
+		try {
+			SyncResult result = sheetsService.fetchAndSaveAll(childId);
+
+			int rows = result.wordCount + result.phraseCount + result.songCount + result.letterCount;
+			assertTrue(result.wordCount > 10 * CHUNK_ROWS, "expected a tab of many chunks");
+			assertEquals(0, result.failed);
+			assertEquals(rows, result.inserted);
+
+			int managed = requestEntityManager.unwrap(Session.class).getStatistics().getEntityCount();
+			assertTrue(managed < CHUNK_ROWS, "request persistence context holds " + managed + " entities after "
+					+ rows + " rows");
+		} finally {
+			TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+			requestEntityManager.close();
+		}
+	}
+}
@@ -0,0 +1,107 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Wraps the "dataSource" bean, the same way TracingDataSourcePostProcessor does, and
+ * counts the JDBC statements executed on a thread between {@link #start()} and
+ * {@link #stop()}. Counting at the connection sees Hibernate's statements and the
+ * JdbcTemplate repositories' alike; a batch counts once, as one round trip.
+ */
+class StatementCounter implements BeanPostProcessor {
+
+	private static final ThreadLocal<long[]> COUNT = new ThreadLocal<>();
+
+	static void start() {
+		COUNT.set(new long[1]);
+	}
+
+	/**
+	 * @return statements executed on this thread since {@link #start()}
+	 */
+	static long stop() {
+		long[] count = COUNT.get();
+		COUNT.remove();
+		return count == null ? 0 : count[0];
+	}
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) {
+		if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource
+				&& !(bean instanceof CountingDataSource)) {
+			return new CountingDataSource(dataSource);
+		}
+		return bean;
+	}
+
+	static class CountingDataSource extends DelegatingDataSource {
+
+		CountingDataSource(DataSource target) {
+			super(target);
+		}
+
+		@Override
+		public Connection getConnection() throws SQLException {
+			return wrap(super.getConnection());
+		}
+
+		@Override
+		public Connection getConnection(String username, String password) throws SQLException {
+			return wrap(super.getConnection(username, password));
+		}
+
+		private static Connection wrap(Connection connection) {
+			// Pooled connections outlive a measurement, so every one is wrapped and the thread decides
+			return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+					new Class<?>[]{Connection.class}, new ConnectionHandler(connection));
+		}
+	}
+
+	private record ConnectionHandler(Connection target) implements InvocationHandler {
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			Object result = invokeTarget(target, method, args);
+			if (result instanceof Statement statement) {
+				Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+						: statement instanceof PreparedStatement ? PreparedStatement.class
+						: Statement.class;
+				return Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[]{type},
+						new StatementHandler(statement));
+			}
+			return result;
+		}
+	}
+
+	private record StatementHandler(Statement target) implements InvocationHandler {
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			long[] count = COUNT.get();
+			if (count != null && method.getName().startsWith("execute")) {
+				count[0]++;
+			}
+			return invokeTarget(target, method, args);
+		}
+	}
+
+	private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+}
@@ -0,0 +1,148 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.loadtest;
+
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.BatchOperations;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.model.EntryType;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.model.User;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.AuthService;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.ChildService;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.EntryBatchService;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.EntryBatchService.BatchOperation;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Creates users, each with several children, and fills every child with entry
+ * volumes typical of a toddler tracked for a year or two: a few hundred words, a
+ * smaller number of phrases and songs, and some of the alphabet. Everything is
+ * derived from the seed, so the same seed always produces the same families.
+ * Entries are written through {@link EntryBatchService} to keep setup fast.
+ */
+class FamilyDataGenerator {
+
+	static final String PASSWORD = "load-test-password";
+
+	private static final String[] WORDS = {
+			"mama", "dada", "ball", "dog", "cat", "milk", "more", "up", "down", "bye", "hi", "no",
+			"yes", "car", "truck", "book", "shoe", "hat", "duck", "cow", "moo", "baby", "bath", "bed",
+			"juice", "water", "apple", "banana", "cookie", "cheese", "bird", "fish", "bear", "hot",
+			"all done", "uh oh", "please", "thank you", "night night", "outside", "shoes", "sock",
+			"nose", "eyes", "mouth", "ear", "hand", "feet", "bus", "train", "boat", "moon", "star"};
+
+	private static final String[] PHRASES = {
+			"I want", "more please", "where did it go", "look at that", "me do it", "go outside",
+			"read a book", "all gone", "big truck", "daddy home", "I love you", "what is that"};
+
+	private static final String[] SONGS = {
+			"Twinkle Twinkle", "Wheels on the Bus", "Baby Shark", "Old MacDonald", "Itsy Bitsy Spider",
+			"ABC Song", "Row Row Row Your Boat", "Happy Birthday", "If You're Happy", "Five Little Ducks"};
+
+	private static final String[] SOURCES = {"daycare", "book", "grandma", "tv", "park", "sibling"};
+
+	private final AuthService authService;
+	private final ChildService childService;
+	private final EntryBatchService entryBatchService;
+	private final Random random;
+
+	FamilyDataGenerator(AuthService authService, ChildService childService,
+						EntryBatchService entryBatchService, long seed) {
+		this.authService = authService;
+		this.childService = childService;
+		this.entryBatchService = entryBatchService;
+		this.random = new Random(seed);
+	}
+
+	/**
+	 * @param prefix makes usernames unique across runs against a persistent database
+	 */
+	List<Family> generate(String prefix, int users, int childrenPerUser) {
+		List<Family> families = new ArrayList<>();
+		for (int u = 0; u < users; u++) {
+			String username = prefix + "-user-" + u;
+			User user = authService.register(username, PASSWORD, username + "@example.com");
+
+			List<Long> childIds = new ArrayList<>();
+			for (int c = 0; c < childrenPerUser; c++) {
+				LocalDate birthDate = LocalDate.of(2022, 1, 1).plusDays(random.nextInt(900));
+				Long childId = childService.addChild(user.getUserId(), "Child " + u + "-" + c, birthDate).getChildId();
+				fill(user.getUserId(), childId);
+				childIds.add(childId);
+			}
+			families.add(new Family(user.getUserId(), username, childIds));
+		}
+		return families;
+	}
+
+	private void fill(Long userId, Long childId) {
+		// Volumes cluster around the middle of each range, as real families do
+		int words = volume(40, 700);
+		int phrases = volume(5, 250);
+		int songs = volume(2, 40);
+		int letters = random.nextInt(27);
+
+		List<BatchOperation> operations = new ArrayList<>();
+		for (int i = 0; i < words; i++) {
+			String word = WORDS[i % WORDS.length] + (i < WORDS.length ? "" : " " + (i / WORDS.length));
+			boolean signed = random.nextInt(4) == 0;
+			Map<String, Object> data = new LinkedHashMap<>();
+			data.put("word", word);
+			data.put("verbal", !signed || random.nextBoolean());
+			data.put("verbalDate", date());
+			data.put("signed", signed);
+			data.put("signedDate", signed ? date() : null);
+			data.put("actualPronunciation", random.nextInt(3) == 0 ? word.charAt(0) + "uh" : null);
+			data.put("learningSource", source());
+			operations.add(BatchOperations.create(EntryType.WORD, data));
+		}
+		for (int i = 0; i < phrases; i++) {
+			Map<String, Object> data = new LinkedHashMap<>();
+			data.put("phrase", PHRASES[i % PHRASES.length] + (i < PHRASES.length ? "" : " " + i));
+			data.put("dateSaid", date());
+			data.put("funnyRating", String.valueOf(1 + random.nextInt(5)));
+			data.put("cuteRating", String.valueOf(1 + random.nextInt(5)));
+			data.put("learningSource", source());
+			operations.add(BatchOperations.create(EntryType.PHRASE, data));
+		}
+		for (int i = 0; i < songs; i++) {
+			Map<String, Object> data = new LinkedHashMap<>();
+			data.put("songTitle", SONGS[i % SONGS.length] + (i < SONGS.length ? "" : " (verse " + i + ")"));
+			data.put("dateFirstSang", date());
+			data.put("source", source());
+			operations.add(BatchOperations.create(EntryType.SONG, data));
+		}
+		for (int i = 0; i < letters; i++) {
+			Map<String, Object> data = new LinkedHashMap<>();
+			data.put("letters", String.valueOf((char) ('A' + i)));
+			data.put("recognized", random.nextBoolean() ? "Yes" : "No");
+			data.put("recognizedDate", date());
+			data.put("soundItOut", random.nextInt(3) == 0 ? "Yes" : "No");
+			operations.add(BatchOperations.create(EntryType.LETTER, data));
+		}
+
+		for (int start = 0; start < operations.size(); start += EntryBatchService.MAX_OPERATIONS) {
+			int end = Math.min(start + EntryBatchService.MAX_OPERATIONS, operations.size());
+			entryBatchService.apply(childId, userId, operations.subList(start, end));
+		}
+	}
+
+	private int volume(int min, int max) {
+		double mean = (min + max) / 2.0;
+		double value = mean + random.nextGaussian() * (max - min) / 6.0;
+		return (int) Math.max(min, Math.min(max, Math.round(value)));
+	}
+
+	private String date() {
+		return LocalDate.of(2023, 1, 1).plusDays(random.nextInt(700)).toString();
+	}
+
+	private String source() {
+		return SOURCES[random.nextInt(SOURCES.length)];
+	}
+
+	record Family(Long userId, String username, List<Long> childIds) {
+	}
+}
@@ -0,0 +1,96 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.loadtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps every latency sample per endpoint so percentiles are exact rather than
+ * estimated; a run of a few minutes stays well within memory. Recording is
+ * disabled during warmup.
+ */
+class LatencyRecorder {
+
+	private final Map<String, Samples> samples = new ConcurrentHashMap<>();
+	private volatile boolean recording;
+	private volatile long startNanos;
+	private volatile long stopNanos;
+
+	void start() {
+		startNanos = System.nanoTime();
+		recording = true;
+	}
+
+	void stop() {
+		stopNanos = System.nanoTime();
+		recording = false;
+	}
+
+	void record(String endpoint, long nanos, boolean error) {
+		if (recording) {
+			samples.computeIfAbsent(endpoint, e -> new Samples()).add(nanos, error);
+		}
+	}
+
+	List<String> report() {
+		double seconds = (stopNanos - startNanos) / 1e9;
+		List<String> lines = new ArrayList<>();
+		lines.add(String.format(Locale.ROOT, "%-52s %8s %7s %7s %9s %8s %8s %8s %8s %8s",
+				"endpoint", "count", "errors", "err%", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+
+		long totalCount = 0;
+		long totalErrors = 0;
+		for (Map.Entry<String, Samples> entry : new TreeMap<>(samples).entrySet()) {
+			long[] sorted = entry.getValue().sorted();
+			long errors = entry.getValue().errors();
+			totalCount += sorted.length;
+			totalErrors += errors;
+			lines.add(String.format(Locale.ROOT, "%-52s %8d %7d %7.2f %9.1f %8.1f %8.1f %8.1f %8.1f %8.1f",
+					entry.getKey(), sorted.length, errors, 100.0 * errors / Math.max(1, sorted.length),
+					sorted.length / seconds, millis(sorted, 0.50), millis(sorted, 0.90), millis(sorted, 0.99),
+					millis(sorted, 0.999), millis(sorted, 1.0)));
+		}
+		lines.add(String.format(Locale.ROOT, "%-52s %8d %7d %7.2f %9.1f",
+				"TOTAL (" + String.format(Locale.ROOT, "%.1f", seconds) + "s)", totalCount, totalErrors,
+				100.0 * totalErrors / Math.max(1, totalCount), totalCount / seconds));
+		return lines;
+	}
+
+	private static double millis(long[] sorted, double quantile) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		int index = (int) Math.ceil(quantile * sorted.length) - 1;
+		return sorted[Math.max(0, Math.min(sorted.length - 1, index))] / 1e6;
+	}
+
+	private static class Samples {
+		private long[] nanos = new long[1024];
+		private int size;
+		private long errors;
+
+		synchronized void add(long value, boolean error) {
+			if (size == nanos.length) {
+				nanos = Arrays.copyOf(nanos, size * 2);
+			}
+			nanos[size++] = value;
+			if (error) {
+				errors++;
+			}
+		}
+
+		synchronized long[] sorted() {
+			long[] copy = Arrays.copyOf(nanos, size);
+			Arrays.sort(copy);
+			return copy;
+		}
+
+		synchronized long errors() {
+			return errors;
+		}
+	}
+}
@@ -0,0 +1,297 @@
+package com.toddlerspeechtracker.toddlerspeechtracker_gradle.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.loadtest.FamilyDataGenerator.Family;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.AuthService;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.ChildService;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.EntryBatchService;
+import com.toddlerspeechtracker.toddlerspeechtracker_gradle.service.GoogleSheetsService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Offline load test: starts the application on a random port with the loadtest
+ * profile (in-memory H2 and synthetic sheet tabs unless overridden), generates
+ * families with {@link FamilyDataGenerator}, then drives a mix of login, read,
+ * write and sync traffic from concurrent clients and reports latency percentiles,
+ * throughput and error rates per endpoint.
+ * <p>
+ * Excluded from the normal build; run with {@code ./gradlew loadTest}. Options are
+ * system properties: loadtest.users (20), loadtest.childrenPerUser (2),
+ * loadtest.concurrency (16), loadtest.warmupSeconds (10), loadtest.durationSeconds
+ * (60), loadtest.seed (42) and loadtest.mix ("login=2,read=70,write=25,sync=3").
+ * The same seed gives the same data and the same request sequence per client.
+ * The report is printed and written to build/reports/loadtest.
+ * <p>
+ * /api/sync always syncs sheets.defaultChildId, so sync traffic goes to
+ * {@link ChildSyncController} instead: the same sync, for a child of the client's
+ * family, so concurrent syncs spread across the generated children.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+@Import(LoadTest.ChildSyncController.class)
+class LoadTest {
+
+	private static final String[] ENTRY_PATHS = {"words", "phrases", "songs", "letters"};
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private AuthService authService;
+
+	@Autowired
+	private ChildService childService;
+
+	@Autowired
+	private EntryBatchService entryBatchService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private final int users = Integer.getInteger("loadtest.users", 20);
+	private final int childrenPerUser = Integer.getInteger("loadtest.childrenPerUser", 2);
+	private final int concurrency = Integer.getInteger("loadtest.concurrency", 16);
+	private final int warmupSeconds = Integer.getInteger("loadtest.warmupSeconds", 10);
+	private final int durationSeconds = Integer.getInteger("loadtest.durationSeconds", 60);
+	private final long seed = Long.getLong("loadtest.seed", 42L);
+	private final Map<String, Integer> mix = parseMix(System.getProperty("loadtest.mix", "login=2,read=70,write=25,sync=3"));
+
+	private final LatencyRecorder recorder = new LatencyRecorder();
+
+	@Test
+	void mixedTraffic() throws Exception {
+		long setupStart = System.nanoTime();
+		String prefix = "load-" + Long.toString(System.currentTimeMillis(), 36);
+		List<Family> families = new FamilyDataGenerator(authService, childService, entryBatchService, seed)
+				.generate(prefix, users, childrenPerUser);
+		long setupMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - setupStart);
+
+		ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+		long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+		long end = warmupEnd + TimeUnit.SECONDS.toNanos(durationSeconds);
+		List<Future<?>> clients = new ArrayList<>();
+		for (int i = 0; i < concurrency; i++) {
+			Client client = new Client(families.get(i % families.size()), new Random(seed + i));
+			clients.add(pool.submit(() -> {
+				client.run(end);
+				return null;
+			}));
+		}
+
+		sleepUntil(warmupEnd);
+		recorder.start();
+		sleepUntil(end);
+		recorder.stop();
+		for (Future<?> client : clients) {
+			client.get();
+		}
+		pool.shutdown();
+
+		writeReport(setupMillis);
+	}
+
+	private void writeReport(long setupMillis) throws IOException {
+		List<String> lines = new ArrayList<>();
+		lines.add(String.format("Load test: %d users x %d children, %d clients, %ds warmup, %ds measured, seed %d, mix %s",
+				users, childrenPerUser, concurrency, warmupSeconds, durationSeconds, seed, mix));
+		lines.add("Data generation took " + setupMillis + " ms");
+		lines.add("");
+		lines.addAll(recorder.report());
+		lines.forEach(System.out::println);
+
+		Path dir = Path.of("build", "reports", "loadtest");
+		Files.createDirectories(dir);
+		String stamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+		Files.write(dir.resolve("loadtest-" + stamp + ".txt"), lines, StandardCharsets.UTF_8);
+	}
+
+	private static void sleepUntil(long nanoTime) throws InterruptedException {
+		long remaining = nanoTime - System.nanoTime();
+		if (remaining > 0) {
+			TimeUnit.NANOSECONDS.sleep(remaining);
+		}
+	}
+
+	private static Map<String, Integer> parseMix(String spec) {
+		Map<String, Integer> weights = new LinkedHashMap<>();
+		for (String part : spec.split(",")) {
+			String[] pair = part.trim().split("=");
+			weights.put(pair[0].trim(), Integer.parseInt(pair[1].trim()));
+		}
+		return weights;
+	}
+
+	/**
+	 * One simulated device: its own cookie jar (and so its own session), its own
+	 * random sequence, and the ids of words it created so it can edit and delete them.
+	 */
+	private class Client {
+		private final Family family;
+		private final Random random;
+		private final HttpClient http;
+		private final List<Long> createdWords = new ArrayList<>();
+
+		Client(Family family, Random random) {
+			this.family = family;
+			this.random = random;
+			this.http = HttpClient.newBuilder()
+					.version(HttpClient.Version.HTTP_1_1)
+					.cookieHandler(new CookieManager())
+					.connectTimeout(Duration.ofSeconds(10))
+					.build();
+		}
+
+		void run(long end) throws Exception {
+			HttpResponse<String> login = login();
+			assertEquals(200, login == null ? -1 : login.statusCode(), "Initial login failed");
+
+			while (System.nanoTime() < end) {
+				switch (pick()) {
+					case "login" -> login();
+					case "read" -> read();
+					case "write" -> write();
+					case "sync" -> send("POST /loadtest/sync/{childId}", "POST", "/loadtest/sync/" + child(), null);
+					default -> throw new IllegalArgumentException("Unknown traffic type in loadtest.mix");
+				}
+			}
+		}
+
+		private String pick() {
+			int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+			int roll = random.nextInt(total);
+			for (Map.Entry<String, Integer> weight : mix.entrySet()) {
+				roll -= weight.getValue();
+				if (roll < 0) {
+					return weight.getKey();
+				}
+			}
+			throw new IllegalStateException("Empty loadtest.mix");
+		}
+
+		private HttpResponse<String> login() throws Exception {
+			return send("POST /api/auth/login", "POST", "/api/auth/login",
+					Map.of("username", family.username(), "password", FamilyDataGenerator.PASSWORD));
+		}
+
+		private void read() throws Exception {
+			int roll = random.nextInt(10);
+			if (roll == 0) {
+				send("GET /api/children", "GET", "/api/children", null);
+			} else if (roll == 1) {
+				send("GET /api/auth/me", "GET", "/api/auth/me", null);
+			} else {
+				String entries = ENTRY_PATHS[random.nextInt(ENTRY_PATHS.length)];
+				send("GET /api/data/children/{childId}/" + entries, "GET",
+						"/api/data/children/" + child() + "/" + entries, null);
+			}
+		}
+
+		private void write() throws Exception {
+			int roll = random.nextInt(10);
+			if (roll < 4 || createdWords.isEmpty()) {
+				HttpResponse<String> response = send("POST /api/data/children/{childId}/words", "POST",
+						"/api/data/children/" + family.childIds().get(0) + "/words",
+						Map.of("word", "load word " + random.nextInt(1_000_000), "verbal", true));
+				if (response != null && response.statusCode() == 200) {
+					createdWords.add(objectMapper.readTree(response.body()).path("wordId").asLong());
+				}
+			} else if (roll < 7) {
+				Long wordId = createdWords.get(random.nextInt(createdWords.size()));
+				send("PATCH /api/data/children/{childId}/words/{wordId}", "PATCH",
+						"/api/data/children/" + family.childIds().get(0) + "/words/" + wordId,
+						Map.of("notes", "edited " + random.nextInt(1000)));
+			} else if (roll < 9) {
+				Long wordId = createdWords.remove(random.nextInt(createdWords.size()));
+				send("DELETE /api/data/children/{childId}/words/{wordId}", "DELETE",
+						"/api/data/children/" + family.childIds().get(0) + "/words/" + wordId, null);
+			} else {
+				List<Map<String, Object>> operations = new ArrayList<>();
+				for (int i = 0; i < 5; i++) {
+					operations.add(Map.of("op", "create", "type", "phrase",
+							"data", Map.of("phrase", "load phrase " + random.nextInt(1_000_000))));
+				}
+				send("POST /api/data/children/{childId}/batch", "POST",
+						"/api/data/children/" + child() + "/batch", operations);
+			}
+		}
+
+		private Long child() {
+			return family.childIds().get(random.nextInt(family.childIds().size()));
+		}
+
+		private HttpResponse<String> send(String endpoint, String method, String path, Object body) throws Exception {
+			HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+					.timeout(Duration.ofSeconds(60));
+			if (body == null) {
+				request.method(method, HttpRequest.BodyPublishers.noBody());
+			} else {
+				request.header("Content-Type", "application/json")
+						.method(method, HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)));
+			}
+
+			long start = System.nanoTime();
+			try {
+				HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+				recorder.record(endpoint, System.nanoTime() - start, response.statusCode() >= 400);
+				return response;
+			} catch (IOException e) {
+				// Count it and carry on, as a real client would retry later
+				recorder.record(endpoint, System.nanoTime() - start, true);
+				return null;
+			}
+		}
+	}
+
+	/**
+	 * What /api/sync does for the configured child, for any child.
+	 */
+	@RestController
+	static class ChildSyncController {
+
+		private final GoogleSheetsService sheetsService;
+
+		ChildSyncController(GoogleSheetsService sheetsService) {
+			this.sheetsService = sheetsService;
+		}
+
+		@PostMapping("/loadtest/sync/{childId}")
+		ResponseEntity<?> sync(@PathVariable Long childId) throws Exception {
+			return ResponseEntity.ok(sheetsService.fetchAndSaveAll(childId));
+		}
+	}
+}